@@ -0,0 +1,29 @@
+#!/bin/sh
+# 컨테이너 진입점 (Dockerfile 참고)
+# FAST_STARTUP=true: AOT 처리된 빈 정의 + CDS 아카이브 사용, Vision 클라이언트 지연 생성
+#   AOT 빌드 시점의 프로파일(AOT_PROFILES)과 실행 프로파일(SPRING_PROFILES_ACTIVE)이 다르거나
+#   조건부 빈 속성(file.reactive.enabled)을 실행 시점에 바꾸면 반영되지 않으므로 기동하지 않음
+# JAVA_OPTS: 추가 JVM 옵션
+set -e
+
+fail() {
+    echo "docker-entrypoint: $1 (FAST_STARTUP=false로 실행하거나 해당 설정으로 다시 빌드하세요)" >&2
+    exit 1
+}
+
+if [ "$FAST_STARTUP" = "true" ]; then
+    if [ "${SPRING_PROFILES_ACTIVE:-}" != "${AOT_PROFILES:-}" ]; then
+        fail "실행 프로파일(${SPRING_PROFILES_ACTIVE:-없음})이 AOT 빌드 프로파일(${AOT_PROFILES:-없음})과 다릅니다"
+    fi
+    if [ -n "${FILE_REACTIVE_ENABLED:-}" ]; then
+        fail "FILE_REACTIVE_ENABLED는 AOT 빌드 시점에 확정되어 실행 시점에 바꿀 수 없습니다"
+    fi
+    case " $* $JAVA_OPTS " in
+        *spring.profiles.active*|*file.reactive.enabled*)
+            fail "프로파일/조건부 빈 속성은 인자로 바꿀 수 없습니다 (SPRING_PROFILES_ACTIVE 사용)" ;;
+    esac
+    set -- -XX:SharedArchiveFile=/app/app.jsa -Xshare:auto -Dspring.aot.enabled=true "$@"
+fi
+
+# shellcheck disable=SC2086
+exec java "$@" $JAVA_OPTS @/app/classpath.args com.codism.FileStorageApplication
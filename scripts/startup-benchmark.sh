@@ -0,0 +1,58 @@
+#!/bin/bash
+# 컨테이너 기동 시간 비교 (FAST_STARTUP=false vs true)
+# docker run 시점부터 liveness(/actuator/health/liveness)와 readiness(워밍업 완료)가 UP이 될 때까지의 시간을 잰다.
+#
+# 사용법: scripts/startup-benchmark.sh <image> [runs]
+#   DOCKER_RUN_ARGS: 컨테이너에 넘길 추가 인자 (예: "--network host -e DISCOVERY_URL=... -e SPRING_REDIS_HOST=...")
+#   결과: build/reports/startup/results.csv, 요약은 표준 출력
+set -euo pipefail
+
+IMAGE=${1:?image 이름이 필요합니다}
+RUNS=${2:-5}
+PORT=${PORT:-18080}
+TIMEOUT_SECONDS=${TIMEOUT_SECONDS:-300}
+REPORT_DIR=${REPORT_DIR:-build/reports/startup}
+DOCKER_RUN_ARGS=${DOCKER_RUN_ARGS:-}
+
+mkdir -p "$REPORT_DIR"
+RESULTS="$REPORT_DIR/results.csv"
+echo "mode,run,liveness_ms,readiness_ms" > "$RESULTS"
+
+now_ms() {
+    date +%s%3N
+}
+
+# 지정한 health 그룹이 UP이 될 때까지 대기하고 경과 시간(ms)을 출력
+wait_for() {
+    local path=$1 start=$2
+    local deadline=$(( start + TIMEOUT_SECONDS * 1000 ))
+    while [ "$(now_ms)" -lt "$deadline" ]; do
+        if curl -fs "http://localhost:${PORT}${path}" 2>/dev/null | grep -q '"status":"UP"'; then
+            echo $(( $(now_ms) - start ))
+            return 0
+        fi
+        sleep 0.05
+    done
+    echo -1
+}
+
+for mode in false true; do
+    for run in $(seq 1 "$RUNS"); do
+        name="startup-bench-$$-$mode-$run"
+        start=$(now_ms)
+        # shellcheck disable=SC2086
+        docker run -d --rm --name "$name" -p "${PORT}:8080" -e FAST_STARTUP=$mode $DOCKER_RUN_ARGS "$IMAGE" > /dev/null
+        liveness=$(wait_for /actuator/health/liveness "$start")
+        readiness=$(wait_for /actuator/health/readiness "$start")
+        docker stop "$name" > /dev/null
+        echo "$mode,$run,$liveness,$readiness" >> "$RESULTS"
+        echo "FAST_STARTUP=$mode run $run: liveness ${liveness}ms, readiness ${readiness}ms"
+    done
+done
+
+echo
+echo "평균 (실패한 실행 제외)"
+awk -F, 'NR > 1 && $3 >= 0 { n[$1]++; l[$1] += $3; if ($4 >= 0) { rn[$1]++; r[$1] += $4 } }
+    END { for (m in n) printf "FAST_STARTUP=%s: liveness %.0fms, readiness %.0fms (%d runs)\n",
+        m, l[m] / n[m], (rn[m] ? r[m] / rn[m] : -1), n[m] }' "$RESULTS"
+echo "결과 파일: $RESULTS"
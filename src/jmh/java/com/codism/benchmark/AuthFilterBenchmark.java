@@ -0,0 +1,84 @@
+package com.codism.benchmark;
+
+import com.codism.security.JwtAuthenticationFilter;
+import com.codism.service.JwtService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter 전체 경로 (토큰 추출, 파싱, Redis 검증, SecurityContext 설정)
+ * Redis는 메모리 맵 기반 RedisAuthService로 대체해 네트워크 왕복을 제외한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AuthFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Param({"0", "10000"})
+    public long principalCacheSize;
+
+    private JwtAuthenticationFilter filter;
+    private String validToken;
+    private String blacklistedToken;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtService jwtService = BenchmarkFixtures.jwtService(principalCacheSize);
+        BenchmarkFixtures.InMemoryRedisAuthService redisAuthService = new BenchmarkFixtures.InMemoryRedisAuthService();
+
+        validToken = jwtService.generateAccessToken("bench-user", "bench@codism.com", Boolean.TRUE);
+        redisAuthService.storeAccessToken("bench-user", validToken, 3_600_000);
+        blacklistedToken = jwtService.generateAccessToken("bench-blocked", "blocked@codism.com", Boolean.FALSE);
+        redisAuthService.addToBlacklist(blacklistedToken, 3_600_000);
+
+        filter = new JwtAuthenticationFilter(jwtService, redisAuthService, BenchmarkFixtures.storageMetrics());
+        ReflectionTestUtils.setField(filter, "degradedMode", JwtAuthenticationFilter.DegradedMode.JWT_ONLY);
+    }
+
+    @Benchmark
+    public Object authenticated() throws ServletException, IOException {
+        return doFilter(validToken);
+    }
+
+    @Benchmark
+    public Object blacklisted() throws ServletException, IOException {
+        return doFilter(blacklistedToken);
+    }
+
+    @Benchmark
+    public Object anonymous() throws ServletException, IOException {
+        return doFilter(null);
+    }
+
+    private Object doFilter(String token) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/display");
+        if (token != null) {
+            request.addHeader("Authorization", "Bearer " + token);
+        }
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
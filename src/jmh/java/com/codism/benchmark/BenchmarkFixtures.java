@@ -0,0 +1,210 @@
+package com.codism.benchmark;
+
+import com.codism.metrics.StorageMetrics;
+import com.codism.security.TokenDigest;
+import com.codism.service.BandwidthThrottleService;
+import com.codism.service.ClusterRing;
+import com.codism.service.ContentCompressionService;
+import com.codism.service.FileEventLog;
+import com.codism.service.FileStorageService;
+import com.codism.service.JwtService;
+import com.codism.service.MissingFileCache;
+import com.codism.service.NSFWDetectionService;
+import com.codism.service.PerceptualHashIndex;
+import com.codism.service.RedisAuthService;
+import com.codism.service.ReplicationService;
+import com.codism.service.StorageReservationLedger;
+import com.codism.service.UploadAdmissionService;
+import com.codism.service.UploadProgressPublisher;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutures;
+import com.google.api.gax.rpc.ApiCallContext;
+import com.google.api.gax.rpc.UnaryCallable;
+import com.google.cloud.vision.v1.AnnotateImageResponse;
+import com.google.cloud.vision.v1.BatchAnnotateImagesRequest;
+import com.google.cloud.vision.v1.BatchAnnotateImagesResponse;
+import com.google.cloud.vision.v1.ImageAnnotatorClient;
+import com.google.cloud.vision.v1.Likelihood;
+import com.google.cloud.vision.v1.SafeSearchAnnotation;
+import com.google.cloud.vision.v1.stub.ImageAnnotatorStub;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 벤치마크용 서비스 조립 (Spring 컨텍스트 없이 외부 의존성은 메모리 대역으로 대체)
+ */
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "benchmarkSecretKeyForJmhOnlyNotForProductionUse";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtService jwtService(long principalCacheSize) {
+        return new JwtService(JWT_SECRET, 3_600_000, 604_800_000, principalCacheSize);
+    }
+
+    /**
+     * 클러스터/복제/Redis 없이 단일 노드로 동작하는 FileStorageService
+     */
+    static FileStorageService fileStorageService(Path uploadPath, MeterRegistry meterRegistry) {
+        StorageMetrics storageMetrics = new StorageMetrics(meterRegistry);
+        ClusterRing clusterRing = new ClusterRing(null, null, meterRegistry, false, "file-storage", 128, "");
+        ContentCompressionService contentCompressionService = new ContentCompressionService(meterRegistry, true, 1,
+                DataSize.ofKilobytes(1), new String[]{"txt", "json", "csv", "log"});
+        // 진입 제어는 끄고 단계 집계만 유지
+        UploadAdmissionService uploadAdmissionService = new UploadAdmissionService(storageMetrics, meterRegistry, false,
+                DataSize.ofMegabytes(512), 16, 32, 1, 30, 0);
+        ReplicationService replicationService = new ReplicationService(clusterRing, null, null, meterRegistry,
+                contentCompressionService, uploadAdmissionService, null, uploadPath.toString(), 1, 1, 16, 3_600_000);
+
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((message, timeout) -> true);
+        messagingTemplate.setMessageConverter(new MappingJackson2MessageConverter());
+
+        FileStorageService service = new FileStorageService(
+                jwtService(10_000),
+                nsfwDetectionService(storageMetrics, null),
+                null,
+                new BandwidthThrottleService(0, 0, 1.0),
+                storageMetrics,
+                new UploadProgressPublisher(messagingTemplate),
+                new FileEventLog(null, meterRegistry, "file:events", 100_000, 10_000),
+                clusterRing,
+                replicationService,
+                contentCompressionService,
+                uploadAdmissionService,
+                // 예약/선할당은 끄고 FileChannel 쓰기 경로만 측정
+                new StorageReservationLedger(meterRegistry, uploadPath.toString(), false,
+                        DataSize.ofGigabytes(1), false, DataSize.ofMegabytes(8)),
+                new MissingFileCache(meterRegistry, true, 100_000, 60_000));
+        ReflectionTestUtils.setField(service, "uploadPath", uploadPath.toString());
+        ReflectionTestUtils.setField(service, "placementAttemptsPerNode", 16);
+        return service;
+    }
+
+    /**
+     * Vision 클라이언트를 stub으로 바꾼 NSFWDetectionService (client가 null이면 검수 비활성화)
+     */
+    static NSFWDetectionService nsfwDetectionService(StorageMetrics storageMetrics, ImageAnnotatorClient client) {
+        // 지각 해시 색인은 끄고 Vision 요청 준비 비용만 측정
+        PerceptualHashIndex perceptualHashIndex = new PerceptualHashIndex(new SimpleMeterRegistry(), false, 6, 3, 1000, "");
+        NSFWDetectionService service = new NSFWDetectionService(storageMetrics, perceptualHashIndex);
+        ReflectionTestUtils.setField(service, "visionApiEnabled", client != null);
+        ReflectionTestUtils.setField(service, "thresholdString", "LIKELY");
+        ReflectionTestUtils.setField(service, "threshold", Likelihood.LIKELY);
+        ReflectionTestUtils.setField(service, "visionClient", client);
+        return service;
+    }
+
+    static StorageMetrics storageMetrics() {
+        return new StorageMetrics(new SimpleMeterRegistry());
+    }
+
+    static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 네트워크 없이 고정된 SafeSearch 결과를 즉시 돌려주는 Vision 클라이언트
+     */
+    static ImageAnnotatorClient stubVisionClient(Likelihood adult) {
+        BatchAnnotateImagesResponse response = BatchAnnotateImagesResponse.newBuilder()
+                .addResponses(AnnotateImageResponse.newBuilder()
+                        .setSafeSearchAnnotation(SafeSearchAnnotation.newBuilder()
+                                .setAdult(adult)
+                                .setRacy(Likelihood.VERY_UNLIKELY)
+                                .setViolence(Likelihood.VERY_UNLIKELY)
+                                .setMedical(Likelihood.VERY_UNLIKELY)
+                                .setSpoof(Likelihood.VERY_UNLIKELY)))
+                .build();
+
+        UnaryCallable<BatchAnnotateImagesRequest, BatchAnnotateImagesResponse> callable = new UnaryCallable<>() {
+            @Override
+            public ApiFuture<BatchAnnotateImagesResponse> futureCall(BatchAnnotateImagesRequest request, ApiCallContext context) {
+                // 요청 직렬화 비용은 실제 호출과 같게 유지
+                request.toByteString();
+                return ApiFutures.immediateFuture(response);
+            }
+        };
+
+        return ImageAnnotatorClient.create(new ImageAnnotatorStub() {
+            @Override
+            public UnaryCallable<BatchAnnotateImagesRequest, BatchAnnotateImagesResponse> batchAnnotateImagesCallable() {
+                return callable;
+            }
+
+            @Override
+            public void close() {
+            }
+
+            @Override
+            public void shutdown() {
+            }
+
+            @Override
+            public boolean isShutdown() {
+                return false;
+            }
+
+            @Override
+            public boolean isTerminated() {
+                return false;
+            }
+
+            @Override
+            public void shutdownNow() {
+            }
+
+            @Override
+            public boolean awaitTermination(long duration, TimeUnit unit) {
+                return true;
+            }
+        });
+    }
+
+    /**
+     * Redis 대신 메모리 맵을 조회하는 RedisAuthService (near-cache 적중과 같은 조건)
+     */
+    static final class InMemoryRedisAuthService extends RedisAuthService {
+
+        private final Map<String, String> accessTokens = new ConcurrentHashMap<>();
+        private final Set<String> blacklist = ConcurrentHashMap.newKeySet();
+
+        InMemoryRedisAuthService() {
+            super(null, null, null, null, null, null);
+        }
+
+        @Override
+        public void storeAccessToken(String userCd, String accessToken, long expirationMs) {
+            accessTokens.put(userCd, accessToken);
+        }
+
+        @Override
+        public void addToBlacklist(String token, long expirationMs) {
+            blacklist.add(TokenDigest.of(token));
+        }
+
+        @Override
+        public AccessTokenStatus checkAccessToken(String userCd, String token) {
+            boolean blacklisted = blacklist.contains(TokenDigest.of(token));
+            return new AccessTokenStatus(blacklisted, accessTokens.get(userCd), true);
+        }
+    }
+}
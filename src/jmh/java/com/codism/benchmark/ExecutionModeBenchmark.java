@@ -0,0 +1,117 @@
+package com.codism.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 플랫폼 스레드 풀(Tomcat 기본 200개)과 가상 스레드의 업로드 처리량 비교
+ * 요청 하나는 Redis 인증 조회, Vision 호출 대기, 디스크 쓰기를 흉내 낸다.
+ * 메모리 사용량은 gc 프로파일러(gc.alloc.rate.norm) 결과로 비교한다.
+ * VIRTUAL 모드는 JDK 21 이상에서만 실행된다 (build.gradle의 jmhJvm 참고).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ExecutionModeBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    public String mode;
+
+    // 동시에 진행 중인 업로드 요청 수
+    @Param({"1000"})
+    public int concurrentRequests;
+
+    // Vision API 왕복 시간 (ms)
+    @Param({"50"})
+    public int moderationLatencyMs;
+
+    @Param({"65536"})
+    public int fileSize;
+
+    private ExecutorService executor;
+    private Path directory;
+    private byte[] content;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        executor = "VIRTUAL".equals(mode) ? newVirtualThreadExecutor() : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        directory = Files.createTempDirectory("execution-mode-bench");
+        content = new byte[fileSize];
+        ThreadLocalRandom.current().nextBytes(content);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        executor.shutdownNow();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    /**
+     * 동시 업로드 요청 묶음 하나를 처리 (ops/s x concurrentRequests = 초당 요청 수)
+     */
+    @Benchmark
+    public int uploadBurst() throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            futures.add(executor.submit(this::handleUpload));
+        }
+        int written = 0;
+        for (Future<Integer> future : futures) {
+            written += future.get();
+        }
+        return written;
+    }
+
+    private int handleUpload() throws InterruptedException {
+        // Redis 인증 조회
+        Thread.sleep(1);
+        // Vision SafeSearch 호출
+        Thread.sleep(moderationLatencyMs);
+        // 디스크 쓰기
+        Path file = directory.resolve(Thread.currentThread().getId() + "-" + System.nanoTime());
+        try {
+            Files.write(file, content);
+            Files.delete(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return content.length;
+    }
+
+    /**
+     * Java 17로 컴파일하므로 Executors.newVirtualThreadPerTaskExecutor를 리플렉션으로 호출
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new UnsupportedOperationException("가상 스레드는 JDK 21 이상에서만 지원됩니다: " + Runtime.version(), e);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.codism.benchmark;
+
+import com.codism.service.FileStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.Resource;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * 파일 저장/조회 경로 (FileStorageService.saveFile, loadFileAsResource) 파일 크기별 측정
+ * Vision 검수와 Redis 이벤트 기록은 끈 상태로 디스크 쓰기/읽기와 서비스 오버헤드만 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FileStorageBenchmark {
+
+    private static final String USER_CD = "bench-user";
+    private static final String DIVISION = "bench";
+    private static final String UPLOAD_ID = "bench-upload";
+
+    @Param({"4096", "262144", "4194304"})
+    public int fileSize;
+
+    private Path directory;
+    private FileStorageService fileStorageService;
+    private MockMultipartFile file;
+    private String storedLocation;
+    private byte[] readBuffer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("jmh-storage");
+        fileStorageService = BenchmarkFixtures.fileStorageService(directory, new SimpleMeterRegistry());
+
+        byte[] content = new byte[fileSize];
+        ThreadLocalRandom.current().nextBytes(content);
+        file = new MockMultipartFile("file", "bench.bin", "application/octet-stream", content);
+        storedLocation = fileStorageService.saveFile(USER_CD, UPLOAD_ID, DIVISION, file);
+        readBuffer = new byte[64 * 1024];
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        deleteRecursively(directory);
+    }
+
+    /**
+     * 반복마다 저장된 파일을 비워 디스크 사용량이 측정 중에 계속 늘지 않게 한다 (조회용 파일은 유지)
+     */
+    @TearDown(Level.Iteration)
+    public void cleanUpIteration() throws IOException {
+        Path kept = fileStorageService.storedPath(storedLocation);
+        try (Stream<Path> walk = Files.walk(directory)) {
+            walk.filter(Files::isRegularFile)
+                    .filter(path -> !path.equals(kept))
+                    .forEach(BenchmarkFixtures::deleteQuietly);
+        }
+    }
+
+    @Benchmark
+    public String saveFile() throws IOException {
+        return fileStorageService.saveFile(USER_CD, UPLOAD_ID, DIVISION, file);
+    }
+
+    @Benchmark
+    public Resource loadFileAsResource() throws IOException {
+        return fileStorageService.loadFileAsResource(storedLocation);
+    }
+
+    @Benchmark
+    public void loadAndRead(Blackhole blackhole) throws IOException {
+        Resource resource = fileStorageService.loadFileAsResource(storedLocation);
+        try (InputStream in = resource.getInputStream()) {
+            int read;
+            while ((read = in.read(readBuffer)) != -1) {
+                blackhole.consume(read);
+            }
+        }
+    }
+
+    private static void deleteRecursively(Path root) {
+        if (root == null || !Files.exists(root)) {
+            return;
+        }
+        try (Stream<Path> walk = Files.walk(root)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(BenchmarkFixtures::deleteQuietly);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.codism.benchmark;
+
+import com.codism.security.JwtPrincipal;
+import com.codism.service.JwtService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtService 클레임 추출 비용 (principalCacheSize=0이면 매번 서명 검증, 그 외에는 캐시 적중)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtBenchmark {
+
+    @Param({"0", "10000"})
+    public long principalCacheSize;
+
+    private JwtService jwtService;
+    private String accessToken;
+    private MockHttpServletRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = BenchmarkFixtures.jwtService(principalCacheSize);
+        accessToken = jwtService.generateAccessToken("bench-user", "bench@codism.com", Boolean.FALSE);
+        request = new MockHttpServletRequest("GET", "/api/v1/display");
+        request.addHeader("Authorization", "Bearer " + accessToken);
+    }
+
+    @Benchmark
+    public JwtPrincipal parsePrincipal() {
+        return jwtService.parsePrincipal(accessToken);
+    }
+
+    @Benchmark
+    public String getUserCdFromToken() {
+        return jwtService.getUserCdFromToken(accessToken);
+    }
+
+    /**
+     * 필터를 거치지 않은 요청에서 헤더로 사용자 코드를 꺼내는 경로
+     */
+    @Benchmark
+    public String getUserCd() {
+        return jwtService.getUserCd(request);
+    }
+}
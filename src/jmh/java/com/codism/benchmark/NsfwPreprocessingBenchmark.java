@@ -0,0 +1,61 @@
+package com.codism.benchmark;
+
+import com.codism.service.NSFWDetectionService;
+import com.google.cloud.vision.v1.ImageAnnotatorClient;
+import com.google.cloud.vision.v1.Likelihood;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * NSFWDetectionService.isNSFW의 로컬 처리 비용 (바이트 복사, 요청 생성/직렬화, 결과 판정)
+ * Vision 클라이언트는 즉시 응답하는 stub이라 네트워크 왕복은 포함하지 않는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NsfwPreprocessingBenchmark {
+
+    @Param({"16384", "262144", "2097152"})
+    public int imageSize;
+
+    private ImageAnnotatorClient visionClient;
+    private NSFWDetectionService nsfwDetectionService;
+    private MockMultipartFile image;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        visionClient = BenchmarkFixtures.stubVisionClient(Likelihood.VERY_UNLIKELY);
+        nsfwDetectionService = BenchmarkFixtures.nsfwDetectionService(BenchmarkFixtures.storageMetrics(), visionClient);
+
+        byte[] content = new byte[imageSize];
+        ThreadLocalRandom.current().nextBytes(content);
+        // JPEG 시그니처
+        content[0] = (byte) 0xFF;
+        content[1] = (byte) 0xD8;
+        content[2] = (byte) 0xFF;
+        image = new MockMultipartFile("file", "bench.jpg", "image/jpeg", content);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        visionClient.close();
+    }
+
+    @Benchmark
+    public boolean isNSFW() throws IOException {
+        return nsfwDetectionService.isNSFW(image);
+    }
+}
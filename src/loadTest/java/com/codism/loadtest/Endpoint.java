@@ -0,0 +1,8 @@
+package com.codism.loadtest;
+
+/**
+ * 부하 테스트 대상 엔드포인트
+ */
+enum Endpoint {
+    UPLOAD, DISPLAY, DELETE
+}
@@ -0,0 +1,61 @@
+package com.codism.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 엔드포인트별 지연 분포(마이크로초)와 상태 코드별 건수
+ */
+final class EndpointStats {
+
+    // 1µs ~ 10분, 유효 숫자 3자리
+    private final Histogram latency = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(10), 3);
+    private final Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+
+    void record(long elapsedNanos, String outcome, boolean success, long transferredBytes) {
+        latency.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)));
+        outcomes.computeIfAbsent(outcome, key -> new LongAdder()).increment();
+        if (!success) {
+            errors.increment();
+        }
+        bytes.add(transferredBytes);
+    }
+
+    long count() {
+        return latency.getTotalCount();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long bytes() {
+        return bytes.sum();
+    }
+
+    double percentileMillis(double percentile) {
+        return latency.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    double meanMillis() {
+        return latency.getMean() / 1000.0;
+    }
+
+    double maxMillis() {
+        return latency.getMaxValue() / 1000.0;
+    }
+
+    Map<String, Long> outcomes() {
+        Map<String, Long> snapshot = new TreeMap<>();
+        outcomes.forEach((key, value) -> snapshot.put(key, value.sum()));
+        return snapshot;
+    }
+}
@@ -0,0 +1,62 @@
+package com.codism.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 업로드된 파일 위치 목록 (사용자별, display는 전체에서 무작위, delete는 자기 파일만)
+ */
+final class FilePool {
+
+    private final List<List<String>> byUser = new ArrayList<>();
+
+    FilePool(int users) {
+        for (int i = 0; i < users; i++) {
+            byUser.add(new ArrayList<>());
+        }
+    }
+
+    void add(int user, String fileLocation) {
+        List<String> files = byUser.get(user);
+        synchronized (files) {
+            files.add(fileLocation);
+        }
+    }
+
+    String any() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<String> files = byUser.get(random.nextInt(byUser.size()));
+        synchronized (files) {
+            return files.isEmpty() ? null : files.get(random.nextInt(files.size()));
+        }
+    }
+
+    /**
+     * 삭제 대상으로 하나를 꺼낸다 (이후 display 대상에서도 빠짐)
+     */
+    String takeOwn(int user) {
+        List<String> files = byUser.get(user);
+        synchronized (files) {
+            if (files.isEmpty()) {
+                return null;
+            }
+            int index = ThreadLocalRandom.current().nextInt(files.size());
+            String last = files.remove(files.size() - 1);
+            if (index == files.size()) {
+                return last;
+            }
+            return files.set(index, last);
+        }
+    }
+
+    int size() {
+        int size = 0;
+        for (List<String> files : byUser) {
+            synchronized (files) {
+                size += files.size();
+            }
+        }
+        return size;
+    }
+}
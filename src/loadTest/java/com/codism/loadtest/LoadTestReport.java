@@ -0,0 +1,125 @@
+package com.codism.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 엔드포인트별 처리량/지연 백분위/오류율 요약 (콘솔 표 + JSON 파일)
+ * 서버 쪽 단계별 소요시간(storage.stage.duration)도 함께 남겨 병목 단계를 비교할 수 있게 한다.
+ */
+final class LoadTestReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final LoadTestSettings settings;
+    private final Map<Endpoint, EndpointStats> stats;
+    private final double seconds;
+    private final MeterRegistry meterRegistry;
+
+    LoadTestReport(LoadTestSettings settings, Map<Endpoint, EndpointStats> stats, double seconds, MeterRegistry meterRegistry) {
+        this.settings = settings;
+        this.stats = stats;
+        this.seconds = seconds;
+        this.meterRegistry = meterRegistry;
+    }
+
+    void print(PrintStream out) {
+        out.printf("%n부하 테스트 결과 - clients: %d, users: %d, 측정: %ds (워밍업 %ds 제외)%n",
+                settings.clients(), settings.users(), settings.durationSeconds(), settings.warmupSeconds());
+        out.printf("%-8s %10s %10s %9s %9s %9s %9s %9s %9s %8s%n",
+                "endpoint", "requests", "req/s", "mean(ms)", "p50", "p90", "p99", "p99.9", "max", "error%");
+        stats.forEach((endpoint, endpointStats) -> {
+            if (endpointStats.count() == 0) {
+                return;
+            }
+            out.printf("%-8s %10d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f %9.1f %7.2f%%%n",
+                    endpoint.name().toLowerCase(),
+                    endpointStats.count(),
+                    endpointStats.count() / seconds,
+                    endpointStats.meanMillis(),
+                    endpointStats.percentileMillis(50),
+                    endpointStats.percentileMillis(90),
+                    endpointStats.percentileMillis(99),
+                    endpointStats.percentileMillis(99.9),
+                    endpointStats.maxMillis(),
+                    errorRate(endpointStats) * 100);
+            out.printf("         상태: %s%n", endpointStats.outcomes());
+        });
+    }
+
+    void write() throws IOException {
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("settings", settings());
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        stats.forEach((endpoint, endpointStats) -> endpoints.put(endpoint.name().toLowerCase(), endpoint(endpointStats)));
+        root.put("endpoints", endpoints);
+        root.put("serverStages", serverStages());
+
+        Files.createDirectories(settings.report().toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(settings.report().toFile(), root);
+    }
+
+    private Map<String, Object> settings() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("clients", settings.clients());
+        values.put("users", settings.users());
+        values.put("warmupSeconds", settings.warmupSeconds());
+        values.put("durationSeconds", settings.durationSeconds());
+        values.put("mix", settings.mix());
+        values.put("sizeMedian", settings.sizeMedian());
+        values.put("sizeSigma", settings.sizeSigma());
+        values.put("sizeMax", settings.sizeMax());
+        values.put("visionLatencyMs", settings.visionLatencyMs());
+        values.put("visionJitterMs", settings.visionJitterMs());
+        values.put("visionFlaggedRatio", settings.visionFlaggedRatio());
+        return values;
+    }
+
+    private Map<String, Object> endpoint(EndpointStats endpointStats) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("requests", endpointStats.count());
+        values.put("throughputPerSec", endpointStats.count() / seconds);
+        values.put("errorRate", errorRate(endpointStats));
+        values.put("bytesPerSec", endpointStats.bytes() / seconds);
+        values.put("meanMs", endpointStats.meanMillis());
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            percentiles.put("p" + (percentile % 1 == 0 ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                    endpointStats.percentileMillis(percentile));
+        }
+        values.put("latencyMs", percentiles);
+        values.put("maxMs", endpointStats.maxMillis());
+        values.put("outcomes", endpointStats.outcomes());
+        return values;
+    }
+
+    /**
+     * 서버 단계별 소요시간 (워밍업/사전 업로드 포함 누적값)
+     */
+    private Map<String, Object> serverStages() {
+        Map<String, Object> stages = new LinkedHashMap<>();
+        for (Timer timer : meterRegistry.find("storage.stage.duration").timers()) {
+            String key = timer.getId().getTag("stage") + "/" + timer.getId().getTag("outcome");
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", timer.count());
+            values.put("meanMs", timer.mean(TimeUnit.MILLISECONDS));
+            values.put("maxMs", timer.max(TimeUnit.MILLISECONDS));
+            stages.put(key, values);
+        }
+        return stages;
+    }
+
+    private static double errorRate(EndpointStats endpointStats) {
+        return endpointStats.count() == 0 ? 0 : (double) endpointStats.errors() / endpointStats.count();
+    }
+}
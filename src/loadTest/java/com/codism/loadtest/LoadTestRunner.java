@@ -0,0 +1,138 @@
+package com.codism.loadtest;
+
+import com.codism.FileStorageApplication;
+import com.codism.service.JwtService;
+import com.codism.service.NSFWDetectionService;
+import com.codism.service.RedisAuthService;
+import com.codism.service.WarmUpService;
+import com.google.cloud.vision.v1.ImageAnnotatorClient;
+import com.google.cloud.vision.v1.Likelihood;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.FileSystemUtils;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 외부 의존성 없이 앱을 띄워 부하를 거는 진입점 (./gradlew loadTest)
+ * - Eureka 비활성화, Redis는 내장 Redis 서버(임의 포트), Vision API는 지연을 주입하는 stub
+ * - 요청 제한/전송 속도 제한은 끄고 서버 자체 처리량을 측정한다.
+ */
+public final class LoadTestRunner {
+
+    private static final long TOKEN_EXPIRATION_MS = 24 * 60 * 60 * 1000L;
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        // devtools가 메인 스레드 실행을 감지해 재시작 클래스로더를 띄우지 않도록 끈다
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        int redisPort = freePort();
+        RedisServer redisServer = new RedisServer(redisPort);
+        redisServer.start();
+
+        Path uploadPath = Files.createTempDirectory("loadtest-images");
+        ImageAnnotatorClient visionClient = VisionStub.client(settings);
+        ConfigurableApplicationContext context = null;
+        try {
+            context = new SpringApplicationBuilder(FileStorageApplication.class)
+                    .run(applicationArgs(redisPort, uploadPath));
+            installVisionStub(context, visionClient);
+            awaitWarmUp(context);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            WorkloadDriver driver = new WorkloadDriver(settings, "http://localhost:" + port, issueTokens(context, settings.users()));
+
+            driver.seed();
+            double seconds = driver.run();
+
+            LoadTestReport report = new LoadTestReport(settings, driver.stats(), seconds, context.getBean(MeterRegistry.class));
+            report.print(System.out);
+            report.write();
+            System.out.println("결과 파일: " + settings.report().toAbsolutePath());
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            visionClient.close();
+            redisServer.stop();
+            FileSystemUtils.deleteRecursively(uploadPath);
+        }
+        System.exit(0);
+    }
+
+    private static String[] applicationArgs(int redisPort, Path uploadPath) {
+        return new String[]{
+                "--spring.profiles.active=local",
+                "--server.port=0",
+                "--cloud.gateway.uri=http://localhost",
+                "--eureka.client.enabled=false",
+                "--eureka.client.service-url.defaultZone=http://localhost:8761/eureka",
+                "--spring.redis.host=localhost",
+                "--spring.redis.port=" + redisPort,
+                "--file.upload-path=" + uploadPath,
+                // stub은 기동 후 주입 (기동 시 실제 클라이언트 생성 방지)
+                "--google.vision.api.enabled=false",
+                // 지각 해시 색인은 메모리에만 유지
+                "--google.vision.phash.persist-path=",
+                "--rate-limit.enabled=false",
+                "--rate-limit.bandwidth.upload-bytes-per-sec=0",
+                "--rate-limit.bandwidth.download-bytes-per-sec=0",
+                "--logging.access.sample-rate=0.0",
+                "--jwt.secret=loadTestSecretKeyForLocalCapacityBaselineOnly"
+        };
+    }
+
+    private static void installVisionStub(ConfigurableApplicationContext context, ImageAnnotatorClient visionClient) {
+        NSFWDetectionService nsfwDetectionService = AopTestUtils.getUltimateTargetObject(context.getBean(NSFWDetectionService.class));
+        ReflectionTestUtils.setField(nsfwDetectionService, "threshold", Likelihood.LIKELY);
+        ReflectionTestUtils.setField(nsfwDetectionService, "visionClient", visionClient);
+        ReflectionTestUtils.setField(nsfwDetectionService, "visionApiEnabled", true);
+    }
+
+    /**
+     * 사용자별 Access Token 발급 및 Redis 저장 (필터의 Redis 검증 경로까지 타게 함)
+     */
+    private static List<String> issueTokens(ConfigurableApplicationContext context, int users) {
+        JwtService jwtService = context.getBean(JwtService.class);
+        RedisAuthService redisAuthService = context.getBean(RedisAuthService.class);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            String userCd = "loadtest-user-" + i;
+            String token = jwtService.generateAccessToken(userCd, userCd + "@loadtest.local", Boolean.FALSE);
+            redisAuthService.storeAccessToken(userCd, token, TOKEN_EXPIRATION_MS);
+            tokens.add(token);
+        }
+        return tokens;
+    }
+
+    /**
+     * 서버 워밍업이 끝난 뒤부터 측정 (운영에서 Eureka UP 전환 이후 트래픽을 받는 것과 동일)
+     */
+    private static void awaitWarmUp(ConfigurableApplicationContext context) throws InterruptedException {
+        WarmUpService warmUpService = context.getBean(WarmUpService.class);
+        while (warmUpService.getState() == WarmUpService.State.PENDING
+                || warmUpService.getState() == WarmUpService.State.RUNNING) {
+            Thread.sleep(200);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
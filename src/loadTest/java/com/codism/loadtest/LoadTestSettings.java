@@ -0,0 +1,72 @@
+package com.codism.loadtest;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 부하 테스트 설정 (시스템 프로퍼티 loadTest.*, gradle에서는 -PloadTest.clients=128 형태로 전달)
+ *
+ * @param clients       동시 클라이언트 수 (클라이언트마다 스레드 하나, 요청 사이 대기 없음)
+ * @param users         토큰을 나눠 쓰는 사용자 수
+ * @param warmupSeconds 측정에서 제외하는 초기 구간
+ * @param durationSeconds 측정 구간
+ * @param seedFiles     측정 전 사용자마다 미리 올려 두는 파일 수 (display/delete 대상)
+ * @param mix           요청 비율 (upload/display/delete)
+ * @param sizeMedian    업로드 크기 로그정규분포 중앙값 (bytes)
+ * @param sizeSigma     업로드 크기 로그정규분포 sigma
+ * @param sizeMax       업로드 크기 상한 (bytes)
+ * @param visionLatencyMs Vision stub 응답 지연 중앙값
+ * @param visionJitterMs  Vision stub 응답 지연 편차 (균등 분포 ±)
+ * @param visionFlaggedRatio 성인 이미지로 판정하는 비율
+ * @param report        JSON 결과 파일
+ */
+record LoadTestSettings(
+        int clients,
+        int users,
+        int warmupSeconds,
+        int durationSeconds,
+        int seedFiles,
+        Map<Endpoint, Integer> mix,
+        long sizeMedian,
+        double sizeSigma,
+        long sizeMax,
+        long visionLatencyMs,
+        long visionJitterMs,
+        double visionFlaggedRatio,
+        Path report
+) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadTest.clients", 64),
+                Integer.getInteger("loadTest.users", 16),
+                Integer.getInteger("loadTest.warmupSeconds", 10),
+                Integer.getInteger("loadTest.durationSeconds", 60),
+                Integer.getInteger("loadTest.seedFiles", 20),
+                parseMix(System.getProperty("loadTest.mix", "upload=30,display=60,delete=10")),
+                Long.getLong("loadTest.size.median", 200 * 1024L),
+                Double.parseDouble(System.getProperty("loadTest.size.sigma", "1.2")),
+                Long.getLong("loadTest.size.max", 20 * 1024 * 1024L),
+                Long.getLong("loadTest.vision.latencyMs", 150L),
+                Long.getLong("loadTest.vision.jitterMs", 100L),
+                Double.parseDouble(System.getProperty("loadTest.vision.flaggedRatio", "0.0")),
+                Path.of(System.getProperty("loadTest.report", "build/reports/load-test/results.json"))
+        );
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new LinkedHashMap<>();
+        for (String entry : value.split(",")) {
+            String[] pair = entry.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("loadTest.mix 형식 오류: " + value);
+            }
+            mix.put(Endpoint.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("loadTest.mix 비율 합이 0입니다: " + value);
+        }
+        return mix;
+    }
+}
@@ -0,0 +1,112 @@
+package com.codism.loadtest;
+
+import com.google.api.core.ApiFuture;
+import com.google.api.core.SettableApiFuture;
+import com.google.api.gax.rpc.ApiCallContext;
+import com.google.api.gax.rpc.UnaryCallable;
+import com.google.cloud.vision.v1.AnnotateImageResponse;
+import com.google.cloud.vision.v1.BatchAnnotateImagesRequest;
+import com.google.cloud.vision.v1.BatchAnnotateImagesResponse;
+import com.google.cloud.vision.v1.ImageAnnotatorClient;
+import com.google.cloud.vision.v1.Likelihood;
+import com.google.cloud.vision.v1.SafeSearchAnnotation;
+import com.google.cloud.vision.v1.stub.ImageAnnotatorStub;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 지연을 주입하는 Vision API stub (실제 호출처럼 응답은 별도 스레드에서 완료된다)
+ */
+final class VisionStub extends ImageAnnotatorStub {
+
+    private final long latencyMs;
+    private final long jitterMs;
+    private final double flaggedRatio;
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "vision-stub");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final UnaryCallable<BatchAnnotateImagesRequest, BatchAnnotateImagesResponse> callable = new UnaryCallable<>() {
+        @Override
+        public ApiFuture<BatchAnnotateImagesResponse> futureCall(BatchAnnotateImagesRequest request, ApiCallContext context) {
+            // 요청 직렬화 비용은 실제 호출과 같게 유지
+            request.toByteString();
+            SettableApiFuture<BatchAnnotateImagesResponse> future = SettableApiFuture.create();
+            scheduler.schedule(() -> future.set(respond(request.getRequestsCount())), nextLatency(), TimeUnit.MILLISECONDS);
+            return future;
+        }
+    };
+
+    private VisionStub(long latencyMs, long jitterMs, double flaggedRatio) {
+        this.latencyMs = latencyMs;
+        this.jitterMs = jitterMs;
+        this.flaggedRatio = flaggedRatio;
+    }
+
+    static ImageAnnotatorClient client(LoadTestSettings settings) {
+        return ImageAnnotatorClient.create(new VisionStub(
+                settings.visionLatencyMs(), settings.visionJitterMs(), settings.visionFlaggedRatio()));
+    }
+
+    private long nextLatency() {
+        if (jitterMs <= 0) {
+            return latencyMs;
+        }
+        return Math.max(0, latencyMs + ThreadLocalRandom.current().nextLong(-jitterMs, jitterMs + 1));
+    }
+
+    private BatchAnnotateImagesResponse respond(int count) {
+        BatchAnnotateImagesResponse.Builder builder = BatchAnnotateImagesResponse.newBuilder();
+        for (int i = 0; i < count; i++) {
+            boolean flagged = ThreadLocalRandom.current().nextDouble() < flaggedRatio;
+            builder.addResponses(AnnotateImageResponse.newBuilder()
+                    .setSafeSearchAnnotation(SafeSearchAnnotation.newBuilder()
+                            .setAdult(flagged ? Likelihood.VERY_LIKELY : Likelihood.VERY_UNLIKELY)
+                            .setRacy(Likelihood.VERY_UNLIKELY)
+                            .setViolence(Likelihood.VERY_UNLIKELY)
+                            .setMedical(Likelihood.VERY_UNLIKELY)
+                            .setSpoof(Likelihood.VERY_UNLIKELY)));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public UnaryCallable<BatchAnnotateImagesRequest, BatchAnnotateImagesResponse> batchAnnotateImagesCallable() {
+        return callable;
+    }
+
+    @Override
+    public void close() {
+        shutdown();
+    }
+
+    @Override
+    public void shutdown() {
+        scheduler.shutdown();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return scheduler.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return scheduler.isTerminated();
+    }
+
+    @Override
+    public void shutdownNow() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public boolean awaitTermination(long duration, TimeUnit unit) throws InterruptedException {
+        return scheduler.awaitTermination(duration, unit);
+    }
+}
@@ -0,0 +1,237 @@
+package com.codism.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 여러 클라이언트가 쉬지 않고 upload/display/delete를 섞어 보내는 폐쇄형(closed-loop) 부하 발생기
+ * 업로드 크기는 로그정규분포를 따르고, display/delete 대상은 지금까지 업로드된 파일 중에서 고른다.
+ */
+@Slf4j
+final class WorkloadDriver {
+
+    private static final String DIVISION = "loadtest";
+    private static final String BOUNDARY = "----loadtest-boundary";
+
+    private final LoadTestSettings settings;
+    private final String baseUrl;
+    private final List<String> tokens;
+    private final HttpClient httpClient;
+    private final FilePool filePool;
+    private final byte[] payload;
+    private final Endpoint[] schedule;
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+
+    // 이 시각(nanoTime) 이후 시작한 요청만 집계
+    private volatile long measureFrom = Long.MAX_VALUE;
+
+    WorkloadDriver(LoadTestSettings settings, String baseUrl, List<String> tokens) {
+        this.settings = settings;
+        this.baseUrl = baseUrl;
+        this.tokens = tokens;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(Executors.newFixedThreadPool(Math.max(4, settings.clients() / 8)))
+                .build();
+        this.filePool = new FilePool(tokens.size());
+        this.payload = jpegLikePayload((int) settings.sizeMax());
+        this.schedule = schedule(settings.mix());
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    /**
+     * 사용자마다 seedFiles개씩 미리 업로드 (측정에 포함하지 않음)
+     */
+    void seed() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(settings.clients(), 32));
+        AtomicInteger failed = new AtomicInteger();
+        for (int user = 0; user < tokens.size(); user++) {
+            for (int i = 0; i < settings.seedFiles(); i++) {
+                int owner = user;
+                executor.execute(() -> {
+                    if (!upload(owner)) {
+                        failed.incrementAndGet();
+                    }
+                });
+            }
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.MINUTES);
+        log.warn("사전 업로드 완료 - 파일: {}, 실패: {}", filePool.size(), failed.get());
+    }
+
+    /**
+     * 워밍업 후 측정 구간 동안 부하를 걸고 측정 시간(초)을 반환
+     */
+    double run() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(settings.clients());
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(settings.warmupSeconds());
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(settings.durationSeconds());
+        measureFrom = warmupEnd;
+
+        List<Future<?>> clients = new ArrayList<>();
+        for (int i = 0; i < settings.clients(); i++) {
+            int user = i % tokens.size();
+            clients.add(executor.submit(() -> {
+                while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                    execute(user);
+                }
+            }));
+        }
+
+        executor.shutdown();
+        if (!executor.awaitTermination(settings.warmupSeconds() + settings.durationSeconds() + 120L, TimeUnit.SECONDS)) {
+            executor.shutdownNow();
+        }
+        for (Future<?> client : clients) {
+            try {
+                client.get(0, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                log.warn("부하 클라이언트 비정상 종료: {}", e.toString());
+            }
+        }
+        return settings.durationSeconds();
+    }
+
+    Map<Endpoint, EndpointStats> stats() {
+        return stats;
+    }
+
+    private void execute(int user) {
+        Endpoint endpoint = schedule[ThreadLocalRandom.current().nextInt(schedule.length)];
+        switch (endpoint) {
+            case UPLOAD -> upload(user);
+            case DISPLAY -> display(user);
+            case DELETE -> delete(user);
+        }
+    }
+
+    private boolean upload(int user) {
+        int size = nextSize();
+        String fileName = "load-" + UUID.randomUUID() + ".jpg";
+        byte[] head = ("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: image/jpeg\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        byte[] tail = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8);
+
+        HttpRequest request = authorized(user, "/api/v1/upload?division=" + DIVISION)
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.concat(
+                        HttpRequest.BodyPublishers.ofByteArray(head),
+                        HttpRequest.BodyPublishers.ofByteArray(payload, 0, size),
+                        HttpRequest.BodyPublishers.ofByteArray(tail)))
+                .build();
+
+        HttpResponse<String> response = send(Endpoint.UPLOAD, request, HttpResponse.BodyHandlers.ofString(), size);
+        if (response != null && response.statusCode() == 200) {
+            filePool.add(user, response.body());
+            return true;
+        }
+        return false;
+    }
+
+    private void display(int user) {
+        String fileLocation = filePool.any();
+        if (fileLocation == null) {
+            upload(user);
+            return;
+        }
+        HttpRequest request = authorized(user, "/api/v1/display?fileLocation=" + encode(fileLocation)).GET().build();
+        send(Endpoint.DISPLAY, request, HttpResponse.BodyHandlers.discarding(), 0);
+    }
+
+    private void delete(int user) {
+        String fileLocation = filePool.takeOwn(user);
+        if (fileLocation == null) {
+            upload(user);
+            return;
+        }
+        HttpRequest request = authorized(user, "/api/v1/delete?fileLocation=" + encode(fileLocation)).DELETE().build();
+        send(Endpoint.DELETE, request, HttpResponse.BodyHandlers.discarding(), 0);
+    }
+
+    private HttpRequest.Builder authorized(int user, String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Authorization", "Bearer " + tokens.get(user));
+    }
+
+    private <T> HttpResponse<T> send(Endpoint endpoint, HttpRequest request, HttpResponse.BodyHandler<T> handler, long sentBytes) {
+        long start = System.nanoTime();
+        boolean record = start >= measureFrom;
+        try {
+            HttpResponse<T> response = httpClient.send(request, handler);
+            if (record) {
+                long receivedBytes = response.headers().firstValueAsLong("Content-Length").orElse(0);
+                int status = response.statusCode();
+                stats.get(endpoint).record(System.nanoTime() - start, String.valueOf(status), status < 400,
+                        sentBytes + receivedBytes);
+            }
+            return response;
+        } catch (IOException e) {
+            if (record) {
+                stats.get(endpoint).record(System.nanoTime() - start, e.getClass().getSimpleName(), false, 0);
+            }
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * 로그정규분포 업로드 크기 (median * e^(sigma * N(0,1)), 1KB ~ sizeMax)
+     */
+    private int nextSize() {
+        double gaussian = ThreadLocalRandom.current().nextGaussian();
+        double size = settings.sizeMedian() * Math.exp(settings.sizeSigma() * gaussian);
+        return (int) Math.max(1024, Math.min(settings.sizeMax(), size));
+    }
+
+    private static Endpoint[] schedule(Map<Endpoint, Integer> mix) {
+        List<Endpoint> slots = new ArrayList<>();
+        mix.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                slots.add(endpoint);
+            }
+        });
+        return slots.toArray(Endpoint[]::new);
+    }
+
+    private static byte[] jpegLikePayload(int size) {
+        byte[] payload = new byte[size];
+        ThreadLocalRandom.current().nextBytes(payload);
+        // JPEG 시그니처 (SOI + APP0)
+        payload[0] = (byte) 0xFF;
+        payload[1] = (byte) 0xD8;
+        payload[2] = (byte) 0xFF;
+        payload[3] = (byte) 0xE0;
+        return payload;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,194 @@
+package com.codism.config;
+
+import com.codism.security.ClientIpResolver;
+import com.codism.security.JwtPrincipal;
+import com.codism.security.TokenDigest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 요청당 한 줄의 구조화된 접근 로그 (logback-spring.xml에서 비동기 appender로 분리)
+ * 보안 필터 체인보다 먼저 실행되므로 RateLimitFilter(429), AdmissionControlFilter(503), 인증 실패(401/403)처럼
+ * 컨트롤러까지 가지 않은 요청도 기록된다. ContentCachingFilter 다음에 실행되어 캐싱한 본문을 읽을 수 있다.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class AccessLogFilter extends OncePerRequestFilter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("ACCESS_LOG");
+
+    private static final List<String> EXCLUDED_PATHS = List.of(
+            "/css/**", "/images/**", "/js/**", "/swagger-ui/**", "/actuator/**", "/v3/api-docs/**");
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final ObjectMapper objectMapper;
+    private final ClientIpResolver clientIpResolver;
+
+    // 정상 응답 접근 로그 샘플링 비율 (0.0 ~ 1.0, 오류 응답은 항상 기록)
+    @Value("${logging.access.sample-rate:1.0}")
+    private double sampleRate;
+
+    @Value("${logging.access.include-body:false}")
+    private boolean includeBody;
+
+    public AccessLogFilter(ObjectMapper objectMapper, ClientIpResolver clientIpResolver) {
+        this.objectMapper = objectMapper;
+        this.clientIpResolver = clientIpResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long startTime = System.nanoTime();
+        Exception error = null;
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            error = e;
+            throw e;
+        } finally {
+            if (error == null && request.isAsyncStarted()) {
+                // 비동기 처리는 응답이 끝난 뒤에 기록
+                request.getAsyncContext().addListener(new CompletionListener(request, response, startTime));
+            } else {
+                write(request, response, startTime, error);
+            }
+        }
+    }
+
+    private void write(HttpServletRequest request, HttpServletResponse response, long startTime, Throwable error) {
+        // 처리되지 않은 예외는 컨테이너가 500으로 응답
+        int status = error != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+        boolean failed = status >= 400;
+
+        // 오류 응답은 항상, 정상 응답은 샘플링 비율만큼만 기록
+        if (!accessLog.isInfoEnabled() || (!failed && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+
+        try {
+            ObjectNode line = objectMapper.createObjectNode();
+            line.put("method", request.getMethod());
+            line.put("uri", request.getRequestURI());
+            line.put("query", request.getQueryString());
+            line.put("status", status);
+            line.put("durationMs", (System.nanoTime() - startTime) / 1_000_000);
+            line.put("ip", clientIpResolver.resolve(request));
+            line.put("device", determineDeviceType(request));
+            line.put("deviceId", request.getHeader("X-Device-ID"));
+            line.put("forwardedHost", request.getHeader("x-forwarded-host"));
+            line.put("contentLength", request.getContentLengthLong());
+
+            // 사용자 식별값은 원문 대신 해시로 기록
+            Object principal = request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+            if (principal instanceof JwtPrincipal jwtPrincipal && jwtPrincipal.getUserCd() != null) {
+                line.put("userHash", TokenDigest.of(jwtPrincipal.getUserCd()).substring(0, 12));
+            }
+            if (error != null) {
+                line.put("error", error.getClass().getSimpleName());
+            }
+            if (includeBody) {
+                line.put("body", extractCapturedBody(request));
+            }
+
+            accessLog.info(objectMapper.writeValueAsString(line));
+        } catch (Exception e) {
+            log.warn("접근 로그 기록 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * ContentCachingFilter가 캐싱한 본문 (JSON 요청만, 캐싱 상한까지)
+     */
+    private String extractCapturedBody(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        if (contentType == null || !contentType.contains("application/json")) {
+            return null;
+        }
+        ContentCachingRequestWrapper wrapper = WebUtils.getNativeRequest(request, ContentCachingRequestWrapper.class);
+        if (wrapper == null) {
+            return null;
+        }
+        byte[] buf = wrapper.getContentAsByteArray();
+        return buf.length > 0 ? new String(buf, StandardCharsets.UTF_8) : null;
+    }
+
+    // 디바이스 타입 결정
+    private String determineDeviceType(HttpServletRequest request) {
+        String userAgent = request.getHeader("User-Agent");
+        if (userAgent == null) return "UNKNOWN";
+
+        userAgent = userAgent.toLowerCase();
+        if (userAgent.contains("mobile") || userAgent.contains("android") || userAgent.contains("iphone")) {
+            return "MOBILE";
+        } else {
+            return "WEB";
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
+        String uri = request.getRequestURI();
+        return EXCLUDED_PATHS.stream().anyMatch(pattern -> PATH_MATCHER.match(pattern, uri));
+    }
+
+    /**
+     * 비동기 요청이 끝났을 때 한 번만 기록
+     */
+    private final class CompletionListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long startTime;
+        private Throwable error;
+
+        CompletionListener(HttpServletRequest request, HttpServletResponse response, long startTime) {
+            this.request = request;
+            this.response = response;
+            this.startTime = startTime;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            write(request, response, startTime, error);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            error = event.getThrowable();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // 다시 비동기로 전환되면 새 AsyncContext에 다시 등록
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
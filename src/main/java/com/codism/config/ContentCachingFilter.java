@@ -4,6 +4,7 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.Ordered;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
@@ -16,13 +17,32 @@ import java.io.IOException;
 @Order(Ordered.HIGHEST_PRECEDENCE)
 public class ContentCachingFilter extends OncePerRequestFilter {
 
+    // 접근 로그용으로 캐싱할 최대 본문 크기 (초과분은 캐싱하지 않음)
+    @Value("${logging.access.body-capture-limit:4096}")
+    private int bodyCaptureLimit;
+
+    @Value("${logging.access.include-body:false}")
+    private boolean includeBody;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
-        // 요청을 캐싱 래퍼로 감싸기
-        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request);
+        // 멀티파트/바이너리 요청은 캐싱하지 않음 (대용량 업로드가 메모리에 복사되는 것을 방지)
+        if (!includeBody || !isTextRequest(request)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        // 요청을 캐싱 래퍼로 감싸기 (상한까지만 캐싱)
+        ContentCachingRequestWrapper wrappedRequest = new ContentCachingRequestWrapper(request, bodyCaptureLimit);
 
         // 래핑된 요청으로 필터 체인 실행
         filterChain.doFilter(wrappedRequest, response);
     }
-}
\ No newline at end of file
+
+    private boolean isTextRequest(HttpServletRequest request) {
+        String contentType = request.getContentType();
+        return contentType != null
+                && (contentType.contains("application/json") || contentType.startsWith("text/"));
+    }
+}
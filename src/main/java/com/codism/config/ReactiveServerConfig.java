@@ -0,0 +1,80 @@
+package com.codism.config;
+
+import com.codism.controller.ReactiveFileStorageHandler;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+
+/**
+ * 논블로킹 업로드/디스플레이 전용 보조 서버 (Reactor Netty)
+ * 기존 Tomcat(서블릿) 서버는 그대로 두고 별도 포트에서 /api/v2 엔드포인트를 제공한다.
+ * 고정된 소수의 이벤트 루프 스레드로 느린 클라이언트의 대량 동시 전송을 처리한다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "file.reactive.enabled", havingValue = "true")
+public class ReactiveServerConfig implements SmartLifecycle {
+
+    private final ReactiveFileStorageHandler handler;
+
+    @Value("${file.reactive.port:8081}")
+    private int port;
+
+    @Value("${file.reactive.worker-threads:4}")
+    private int workerThreads;
+
+    private volatile LoopResources loopResources;
+    private volatile DisposableServer server;
+
+    public ReactiveServerConfig(ReactiveFileStorageHandler handler) {
+        this.handler = handler;
+    }
+
+    private RouterFunction<ServerResponse> routes() {
+        return RouterFunctions.route()
+                .POST("/api/v2/upload", handler::upload)
+                .GET("/api/v2/display", handler::display)
+                .build();
+    }
+
+    @Override
+    public void start() {
+        HttpHandler httpHandler = RouterFunctions.toHttpHandler(routes());
+        loopResources = LoopResources.create("reactive-storage", 1, workerThreads, true);
+        server = HttpServer.create()
+                .port(port)
+                .runOn(loopResources)
+                .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                .bindNow();
+        log.info("리액티브 파일 서버 시작 - port: {}, workerThreads: {}", server.port(), workerThreads);
+    }
+
+    @Override
+    public void stop() {
+        if (server != null) {
+            server.disposeNow(Duration.ofSeconds(10));
+            server = null;
+        }
+        if (loopResources != null) {
+            loopResources.disposeLater().block(Duration.ofSeconds(10));
+            loopResources = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+}
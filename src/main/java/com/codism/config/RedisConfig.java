@@ -1,22 +1,43 @@
 package com.codism.config;
 
+import com.codism.service.RedisCircuitBreaker;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.protocol.ProtocolVersion;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 import java.time.Duration;
 
+/**
+ * 공용 Redis 연결(스트림, 복제, 요청 제한 등)은 고정 명령 타임아웃을 사용하고,
+ * 인증 조회(RedisAuthService)만 별도 연결에서 적응형 타임아웃을 사용한다.
+ */
 @Configuration
 public class RedisConfig {
 
+    public static final String AUTH = "auth";
+
     @Value("${spring.redis.host:localhost}")
     private String redisHost;
 
@@ -35,8 +56,39 @@ public class RedisConfig {
     @Value("${spring.redis.retry.min-backoff:1000}")
     private long minBackoff;
 
+    /**
+     * 공용 연결 (명령 타임아웃 고정: connection-timeout)
+     */
+    @Bean
+    @Primary
+    public LettuceConnectionFactory redisConnectionFactory() {
+        LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
+                .commandTimeout(Duration.ofMillis(connectionTimeout))
+                .build();
+
+        return new LettuceConnectionFactory(standaloneConfiguration(), clientConfig);
+    }
+
+    /**
+     * 인증 조회 전용 연결
+     * 명령 타임아웃은 connection-timeout을 상한으로 관측된 p99 지연시간에 맞춰 조정됨
+     */
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
+    @Qualifier(AUTH)
+    public LettuceConnectionFactory authRedisConnectionFactory(RedisCircuitBreaker redisCircuitBreaker) {
+        LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
+                .commandTimeout(Duration.ofMillis(connectionTimeout))
+                .clientOptions(ClientOptions.builder()
+                        .timeoutOptions(TimeoutOptions.builder()
+                                .timeoutSource(redisCircuitBreaker.timeoutSource())
+                                .build())
+                        .build())
+                .build();
+
+        return new LettuceConnectionFactory(standaloneConfiguration(), clientConfig);
+    }
+
+    private RedisStandaloneConfiguration standaloneConfiguration() {
         RedisStandaloneConfiguration redisConfig = new RedisStandaloneConfiguration();
         redisConfig.setHostName(redisHost);
         redisConfig.setPort(redisPort);
@@ -44,16 +96,11 @@ public class RedisConfig {
         if (redisPassword != null && !redisPassword.isEmpty()) {
             redisConfig.setPassword(redisPassword);
         }
-
-        // Lettuce 클라이언트 설정으로 복원력 추가
-        LettuceClientConfiguration clientConfig = LettuceClientConfiguration.builder()
-                .commandTimeout(Duration.ofMillis(connectionTimeout))
-                .build();
-
-        return new LettuceConnectionFactory(redisConfig, clientConfig);
+        return redisConfig;
     }
 
     @Bean
+    @Primary
     public StringRedisTemplate stringRedisTemplate(RedisConnectionFactory connectionFactory) {
         StringRedisTemplate template = new StringRedisTemplate();
         template.setConnectionFactory(connectionFactory);
@@ -61,7 +108,26 @@ public class RedisConfig {
     }
 
     @Bean
+    @Qualifier(AUTH)
+    public StringRedisTemplate authStringRedisTemplate(@Qualifier(AUTH) LettuceConnectionFactory connectionFactory) {
+        StringRedisTemplate template = new StringRedisTemplate();
+        template.setConnectionFactory(connectionFactory);
+        return template;
+    }
+
+    @Bean
+    @Primary
     public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory connectionFactory) {
+        return jsonRedisTemplate(connectionFactory);
+    }
+
+    @Bean
+    @Qualifier(AUTH)
+    public RedisTemplate<String, Object> authRedisTemplate(@Qualifier(AUTH) LettuceConnectionFactory connectionFactory) {
+        return jsonRedisTemplate(connectionFactory);
+    }
+
+    private RedisTemplate<String, Object> jsonRedisTemplate(RedisConnectionFactory connectionFactory) {
         RedisTemplate<String, Object> template = new RedisTemplate<>();
         template.setConnectionFactory(connectionFactory);
 
@@ -76,4 +142,63 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    /**
+     * 논블로킹 조회용 템플릿 (RedisTemplate과 같은 직렬화 설정)
+     */
+    @Bean
+    @Primary
+    public ReactiveRedisTemplate<String, Object> reactiveRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+        return jsonReactiveRedisTemplate(connectionFactory);
+    }
+
+    @Bean
+    @Qualifier(AUTH)
+    public ReactiveRedisTemplate<String, Object> authReactiveRedisTemplate(
+            @Qualifier(AUTH) LettuceConnectionFactory connectionFactory) {
+        return jsonReactiveRedisTemplate(connectionFactory);
+    }
+
+    private ReactiveRedisTemplate<String, Object> jsonReactiveRedisTemplate(ReactiveRedisConnectionFactory connectionFactory) {
+        RedisSerializationContext<String, Object> serializationContext = RedisSerializationContext
+                .<String, Object>newSerializationContext(new StringRedisSerializer())
+                .value(new Jackson2JsonRedisSerializer<>(Object.class))
+                .hashKey(new StringRedisSerializer())
+                .hashValue(new Jackson2JsonRedisSerializer<>(Object.class))
+                .build();
+        return new ReactiveRedisTemplate<>(connectionFactory, serializationContext);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory, Environment environment) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        // 가상 스레드 모드에서는 메시지 리스너도 가상 스레드에서 실행
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("redis-listener-");
+        taskExecutor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        container.setTaskExecutor(taskExecutor);
+        return container;
+    }
+
+    /**
+     * 클라이언트 사이드 캐싱(CLIENT TRACKING) 무효화 메시지 수신 전용 클라이언트
+     * 무효화 push 메시지를 받기 위해 RESP3 프로토콜을 사용한다.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public RedisClient trackingRedisClient() {
+        RedisURI.Builder uriBuilder = RedisURI.builder()
+                .withHost(redisHost)
+                .withPort(redisPort)
+                .withTimeout(Duration.ofMillis(connectionTimeout));
+
+        if (redisPassword != null && !redisPassword.isEmpty()) {
+            uriBuilder.withPassword(redisPassword.toCharArray());
+        }
+
+        RedisClient client = RedisClient.create(uriBuilder.build());
+        client.setOptions(ClientOptions.builder()
+                .protocolVersion(ProtocolVersion.RESP3)
+                .build());
+        return client;
+    }
 }
\ No newline at end of file
@@ -1,10 +1,14 @@
 package com.codism.config;
 
+import com.codism.security.AdmissionControlFilter;
 import com.codism.security.JwtAuthenticationFilter;
+import com.codism.security.RateLimitFilter;
+import com.codism.service.ClusterRing;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -28,6 +32,9 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final AdmissionControlFilter admissionControlFilter;
+    private final ClusterRing clusterRing;
 
     @Bean
     public PasswordEncoder passwordEncoder() {
@@ -47,11 +54,22 @@ public class SecurityConfig {
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 
                 // 요청 권한 설정 - 모든 요청 허용 (서비스 레벨에서 인증 처리)
-                .authorizeHttpRequests(auth -> auth.anyRequest().permitAll())
+                // 단, JFR 레코딩(프로세스 내부 정보 덤프)은 노드 간 비밀 헤더를 가진 요청만 허용 (비밀이 없으면 모두 거부)
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/jfr", "/actuator/jfr/**")
+                        .access((authentication, context) ->
+                                new AuthorizationDecision(clusterRing.isTrustedPeer(context.getRequest())))
+                        .anyRequest().permitAll())
 
                 // JWT 필터 추가
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
 
+                // 요청 제한 필터 추가 (JWT 인증 이후, 본문을 읽기 전)
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class)
+
+                // 업로드 진입 제어 필터 추가 (요청 제한 이후, 본문을 읽기 전)
+                .addFilterAfter(admissionControlFilter, RateLimitFilter.class)
+
                 // 예외 처리
                 .exceptionHandling(exception -> exception
                         .authenticationEntryPoint((request, response, authException) -> {
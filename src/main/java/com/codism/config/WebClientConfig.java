@@ -1,5 +1,6 @@
 package com.codism.config;
 
+import com.codism.service.PublicAddressResolverGroup;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
@@ -17,15 +18,28 @@ public class WebClientConfig {
 
     @Bean
     public WebClient webClient() {
-        HttpClient httpClient = HttpClient.create()
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(withTimeouts(HttpClient.create())))
+                .build();
+    }
+
+    /**
+     * 연결/응답/읽기/쓰기 타임아웃 적용 (HttpClient를 새로 만들어 커넥터를 바꾸는 곳도 같은 설정을 쓰도록)
+     */
+    public static HttpClient withTimeouts(HttpClient httpClient) {
+        return httpClient
                 .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
                 .responseTimeout(Duration.ofSeconds(10))
                 .doOnConnected(conn ->
                         conn.addHandlerLast(new ReadTimeoutHandler(10, TimeUnit.SECONDS))
                                 .addHandlerLast(new WriteTimeoutHandler(10, TimeUnit.SECONDS)));
+    }
 
-        return WebClient.builder()
-                .clientConnector(new ReactorClientHttpConnector(httpClient))
-                .build();
+    /**
+     * 원격 URL 가져오기용 주소 해석기 (연결 시점에 내부 주소 거부)
+     */
+    @Bean
+    public PublicAddressResolverGroup publicAddressResolverGroup() {
+        return new PublicAddressResolverGroup();
     }
 }
\ No newline at end of file
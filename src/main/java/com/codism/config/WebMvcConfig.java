@@ -1,9 +1,11 @@
 package com.codism.config;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.beans.factory.annotation.Autowired;
+import com.codism.metrics.StorageMetrics;
+import com.codism.metrics.TimedMultipartResolver;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.multipart.MultipartResolver;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
@@ -15,16 +17,20 @@ public class WebMvcConfig implements WebMvcConfigurer {
 	@Value("${spring.profiles.active}")
 	String ACTIVE_PROFILE;
 
-	private final ObjectMapper objectMapper;
-
-	@Autowired
-	public WebMvcConfig(ObjectMapper objectMapper) {
-		this.objectMapper = objectMapper;
+	/**
+	 * 멀티파트 파싱 시간을 기록하는 리졸버 (기본 StandardServletMultipartResolver 대체)
+	 */
+	@Bean
+	public MultipartResolver multipartResolver(StorageMetrics storageMetrics,
+											   @Value("${spring.servlet.multipart.resolve-lazily:false}") boolean resolveLazily) {
+		TimedMultipartResolver multipartResolver = new TimedMultipartResolver(storageMetrics);
+		multipartResolver.setResolveLazily(resolveLazily);
+		return multipartResolver;
 	}
 
 	@Override
 	public void addInterceptors(InterceptorRegistry reg) {
-		reg.addInterceptor(new MyInterceptor(GATEWAY_URI, ACTIVE_PROFILE, objectMapper))
+		reg.addInterceptor(new MyInterceptor(GATEWAY_URI, ACTIVE_PROFILE))
 				.addPathPatterns("/**")
 				.excludePathPatterns(
 						"/css/**", "/images/**", "/js/**", "/swagger-ui/**",
@@ -0,0 +1,37 @@
+package com.codism.config.error;
+
+import com.codism.config.error.entity.ErrorEntityBody;
+import com.codism.metrics.StorageMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * 오류 응답 본문이 기록될 때 ErrorCode별 오류 카운터 증가
+ */
+@RestControllerAdvice
+@RequiredArgsConstructor
+public class ErrorMetricsAdvice implements ResponseBodyAdvice<Object> {
+
+    private final StorageMetrics storageMetrics;
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body instanceof ErrorEntityBody errorEntityBody && errorEntityBody.getCode() != null) {
+            storageMetrics.recordError(errorEntityBody.getCode());
+        }
+        return body;
+    }
+}
@@ -22,6 +22,8 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.io.FileNotFoundException;
+
 /**
  * 전역 예외 처리 클래스
  * 모든 예외는 여기서 처리됨
@@ -53,7 +55,10 @@ public class GlobalExceptionHandler {
             case FORBIDDEN -> ErrorCode.FORBIDDEN;        // 403 처리 추가
             case NOT_FOUND -> ErrorCode.NOT_FOUND;
             case CONFLICT -> ErrorCode.DUPLICATE_KEY;
+            case GONE -> ErrorCode.GONE;
             case REQUEST_TIMEOUT -> ErrorCode.TIME_OUT;
+            case SERVICE_UNAVAILABLE -> ErrorCode.SERVICE_UNAVAILABLE;
+            case INSUFFICIENT_STORAGE -> ErrorCode.INSUFFICIENT_STORAGE;
             default -> ErrorCode.INTERNAL_SERVER_ERROR;
         };
     }
@@ -160,6 +165,13 @@ public class GlobalExceptionHandler {
         return ErrorEntity.status(ErrorCode.JSON_PARSE_ERROR).body(null);
     }
 
+    /* 파일 없음 처리 - 삭제된 파일을 반복 조회하는 요청이 많으므로 스택 트레이스 없이 404 */
+    @ExceptionHandler(FileNotFoundException.class)
+    protected ResponseEntity<ErrorEntityBody> handleFileNotFoundException(FileNotFoundException e) {
+        log.debug("파일 없음: {}", e.getMessage());
+        return ErrorEntity.status(ErrorCode.NOT_FOUND).body(e.getMessage());
+    }
+
     /* 전역 예외 처리 */
     @ExceptionHandler(Exception.class)
     protected ResponseEntity<ErrorEntityBody> handleGlobalException(Exception e) {
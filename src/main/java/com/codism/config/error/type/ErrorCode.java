@@ -28,12 +28,31 @@ public enum ErrorCode {
     FORBIDDEN(403, HttpStatus.FORBIDDEN, "접근 권한이 없습니다."),
 
 
+    // 410: 삭제 기록이 있는 파일의 복제본 수신 거부
+    GONE(410, HttpStatus.GONE, "삭제된 파일입니다"),
+
     // 408: Time Out
     TIME_OUT(408, HttpStatus.REQUEST_TIMEOUT, "요청 시간이 초과되었습니다"),
 
+    // 413/415: 원격 파일 가져오기
+    PAYLOAD_TOO_LARGE(413, HttpStatus.PAYLOAD_TOO_LARGE, "파일 크기가 허용 범위를 초과했습니다"),
+    UNSUPPORTED_MEDIA_TYPE(415, HttpStatus.UNSUPPORTED_MEDIA_TYPE, "지원하지 않는 파일 형식입니다"),
+
+    // 429: Too Many Requests
+    TOO_MANY_REQUESTS(429, HttpStatus.TOO_MANY_REQUESTS, "요청이 너무 많습니다. 잠시 후 다시 시도해주세요"),
+
     // 500: Internal Server Error
     INTERNAL_SERVER_ERROR(500, HttpStatus.INTERNAL_SERVER_ERROR, "서버 내부 오류가 발생했습니다"),
 
+    // 502: Bad Gateway
+    BAD_GATEWAY(502, HttpStatus.BAD_GATEWAY, "원격 파일을 가져오지 못했습니다"),
+
+    // 503: Service Unavailable
+    SERVICE_UNAVAILABLE(503, HttpStatus.SERVICE_UNAVAILABLE, "일시적으로 서비스를 사용할 수 없습니다"),
+
+    // 507: Insufficient Storage
+    INSUFFICIENT_STORAGE(507, HttpStatus.INSUFFICIENT_STORAGE, "저장 공간이 부족합니다"),
+
     ;
 
     private final int code;
@@ -1,7 +1,18 @@
 package com.codism.controller;
 
+import com.codism.metrics.StorageMetrics;
+import com.codism.model.dto.BulkDeleteRequest;
 import com.codism.model.dto.Response;
+import com.codism.security.ClientIpResolver;
+import com.codism.security.JwtPrincipal;
+import com.codism.io.CompressedFileResource;
+import com.codism.io.PeerFileResource;
+import com.codism.service.BandwidthThrottleService;
+import com.codism.service.ClusterRing;
+import com.codism.service.ContentCompressionService;
 import com.codism.service.FileStorageService;
+import com.codism.service.PeerFileClient;
+import com.codism.service.RemoteFileImportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -16,12 +27,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 
 @Slf4j
@@ -32,6 +46,12 @@ import java.util.Map;
 public class FileStorageController {
 
     private final FileStorageService fileStorageService;
+    private final BandwidthThrottleService bandwidthThrottleService;
+    private final StorageMetrics storageMetrics;
+    private final ClusterRing clusterRing;
+    private final PeerFileClient peerFileClient;
+    private final RemoteFileImportService remoteFileImportService;
+    private final ClientIpResolver clientIpResolver;
 
     @Operation(summary = "파일 업로드", description = "파일 업로드 합니다.")
     @ApiResponses({
@@ -46,6 +66,21 @@ public class FileStorageController {
         return ResponseEntity.ok(fileStorageService.saveFile(request, division, file));
     }
 
+    @Operation(summary = "URL 파일 가져오기", description = "원격 URL의 파일을 서버에서 받아 업로드 합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "파일 가져오기 성공"),
+            @ApiResponse(responseCode = "400", description = "잘못된 URL"),
+            @ApiResponse(responseCode = "401", description = "인증되지 않은 사용자"),
+            @ApiResponse(responseCode = "413", description = "허용 크기 초과"),
+            @ApiResponse(responseCode = "415", description = "지원하지 않는 파일 형식"),
+            @ApiResponse(responseCode = "502", description = "원격 서버 오류")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/upload/url")
+    public ResponseEntity<Map<String, Object>> uploadFromUrl(HttpServletRequest request, @RequestParam String division, @RequestParam String url) throws IOException {
+        return ResponseEntity.ok(remoteFileImportService.importFromUrl(request, division, url));
+    }
+
     @Operation(summary = "파일 삭제", description = "파일 삭제 합니다.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "파일 삭제 성공"),
@@ -59,6 +94,19 @@ public class FileStorageController {
         return ResponseEntity.ok(fileStorageService.deleteFile(request, fileLocation));
     }
 
+    @Operation(summary = "파일 일괄 삭제", description = "여러 파일 또는 division 전체를 삭제 합니다.")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "파일 일괄 삭제 성공"),
+            @ApiResponse(responseCode = "401", description = "인증되지 않은 사용자"),
+            @ApiResponse(responseCode = "403", description = "다른 사용자의 파일"),
+            @ApiResponse(responseCode = "500", description = "서버 오류")
+    })
+    @SecurityRequirement(name = "bearerAuth")
+    @PostMapping("/delete/bulk")
+    public ResponseEntity<Map<String, Object>> deleteBulk(HttpServletRequest request, @RequestBody BulkDeleteRequest bulkDeleteRequest) throws Exception {
+        return ResponseEntity.ok(fileStorageService.deleteFiles(request, bulkDeleteRequest.getFileLocations(), bulkDeleteRequest.getDivision()));
+    }
+
     @Operation(summary = "파일 디스플레이", description = "파일 디스플레이 합니다.")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "파일 디스플레이 성공"),
@@ -69,15 +117,61 @@ public class FileStorageController {
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping("/display")
     public ResponseEntity<Resource> display(HttpServletRequest request, @RequestParam String fileLocation) throws Exception {
+        AtomicInteger displaysInFlight = storageMetrics.inFlight(StorageMetrics.OP_DISPLAY);
+        displaysInFlight.incrementAndGet();
+        try {
+            return doDisplay(request, fileLocation);
+        } finally {
+            displaysInFlight.decrementAndGet();
+        }
+    }
+
+    private ResponseEntity<Resource> doDisplay(HttpServletRequest request, String fileLocation) throws Exception {
         // Load file as Resource
-        Resource resource = fileStorageService.loadFileAsResource(fileLocation);
+        Resource resource;
+        try {
+            resource = fileStorageService.loadFileAsResource(fileLocation);
+        } catch (FileNotFoundException e) {
+            // 다른 노드가 소유한 파일이면 소유 노드에서 가져옴 (노드 간 요청은 다시 전달하지 않음)
+            if (!clusterRing.isEnabled() || clusterRing.isPeerRequest(request)) {
+                throw e;
+            }
+            resource = peerFileClient.fetch(fileLocation);
+        }
+
+        // 압축 저장된 파일은 gzip을 받는 클라이언트에 그대로 보내고, 그 밖에는 풀어서 보냄
+        // Range 요청은 원래 바이트 기준으로 처리되도록 항상 풀어서 보냄
+        String contentEncoding = null;
+        boolean storedCompressed = resource instanceof CompressedFileResource;
+        if (resource instanceof CompressedFileResource compressed) {
+            if (ContentCompressionService.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))
+                    && request.getHeader(HttpHeaders.RANGE) == null) {
+                contentEncoding = ContentCompressionService.GZIP_ENCODING;
+            } else {
+                resource = compressed.decoded();
+            }
+        }
+        if (resource.contentLength() >= 0) {
+            storageMetrics.recordBytesOut(resource.contentLength());
+        }
 
         // Try to determine file's content type
         String contentType = null;
-        try {
-            contentType = request.getServletContext().getMimeType(resource.getFile().getAbsolutePath());
-        } catch (IOException ex) {
-            log.info("Could not determine file type.");
+        if (storedCompressed) {
+            contentType = request.getServletContext().getMimeType(resource.getFilename());
+        } else {
+            try {
+                contentType = request.getServletContext().getMimeType(resource.getFile().getAbsolutePath());
+            } catch (IOException ex) {
+                log.info("Could not determine file type.");
+            }
+        }
+
+        if (contentType == null && resource instanceof PeerFileResource peerFileResource) {
+            contentType = peerFileResource.getContentType();
+        }
+        if (contentType == null) {
+            contentType = MediaTypeFactory.getMediaType(resource.getFilename()).map(MediaType::toString).orElse(null);
         }
 
         // Fallback to the default content type if type could not be determined
@@ -85,9 +179,23 @@ public class FileStorageController {
             contentType = "application/octet-stream";
         }
 
-        return ResponseEntity.ok()
+        // 사용자(비로그인은 IP)별 전송 속도 제한 (노드 간 요청은 최종 클라이언트를 받은 노드에서 제한)
+        Object principal = request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+        String clientKey = clusterRing.isTrustedPeer(request) ? null
+                : principal instanceof JwtPrincipal jwtPrincipal
+                ? "user:" + jwtPrincipal.getUserCd()
+                : "ip:" + clientIpResolver.resolve(request);
+        resource = bandwidthThrottleService.throttleDownload(clientKey, resource);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
                 .contentType(MediaType.parseMediaType(contentType))
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getFilename() + "\"")
-                .body(resource);
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getFilename() + "\"");
+        if (contentEncoding != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, contentEncoding);
+        }
+        if (storedCompressed) {
+            response.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        return response.body(resource);
     }
 }
\ No newline at end of file
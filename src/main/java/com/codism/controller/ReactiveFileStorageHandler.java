@@ -0,0 +1,487 @@
+package com.codism.controller;
+
+import com.codism.config.error.entity.ErrorEntityBody;
+import com.codism.config.error.type.ErrorCode;
+import com.codism.exception.AdultContentException;
+import com.codism.exception.CustomException;
+import com.codism.io.CompressedFileResource;
+import com.codism.metrics.StorageMetrics;
+import com.codism.security.ClientIpResolver;
+import com.codism.security.JwtAuthenticationFilter;
+import com.codism.security.JwtPrincipal;
+import com.codism.security.RateLimitFilter;
+import com.codism.service.BandwidthThrottleService;
+import com.codism.service.ContentCompressionService;
+import com.codism.service.FileEventLog;
+import com.codism.service.FileStorageService;
+import com.codism.service.JwtService;
+import com.codism.service.NSFWDetectionService;
+import com.codism.service.RedisAuthService;
+import com.codism.service.ReplicationService;
+import com.codism.service.StorageReservationLedger;
+import com.codism.service.UploadAdmissionService;
+import com.codism.service.UploadProgressPublisher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.codec.multipart.FilePartEvent;
+import org.springframework.http.codec.multipart.FormPartEvent;
+import org.springframework.http.codec.multipart.PartEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 논블로킹 업로드/디스플레이 핸들러 (ReactiveServerConfig의 보조 Netty 서버에서 동작)
+ * 파일 내용은 DataBuffer 단위로 AsynchronousFileChannel을 통해 읽고 쓰며,
+ * 느린 클라이언트는 backpressure로 처리되어 스레드를 점유하지 않는다.
+ * 디렉토리 생성/이동 같은 짧은 파일시스템 호출만 boundedElastic에서 수행한다.
+ * 서블릿 필터를 거치지 않으므로 요청 제한(RateLimitFilter), 진입 제어, 대역폭 제한, 저장 공간 예약을 여기서 직접 적용한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "file.reactive.enabled", havingValue = "true")
+public class ReactiveFileStorageHandler {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileStorageService fileStorageService;
+    private final NSFWDetectionService nsfwDetectionService;
+    private final JwtService jwtService;
+    private final RedisAuthService redisAuthService;
+    private final StorageMetrics storageMetrics;
+    private final UploadProgressPublisher uploadProgressPublisher;
+    private final FileEventLog fileEventLog;
+    private final ReplicationService replicationService;
+    private final UploadAdmissionService uploadAdmissionService;
+    private final RateLimitFilter rateLimitFilter;
+    private final ClientIpResolver clientIpResolver;
+    private final BandwidthThrottleService bandwidthThrottleService;
+    private final StorageReservationLedger storageReservationLedger;
+    private final JwtAuthenticationFilter.DegradedMode degradedMode;
+    private final long maxFileSize;
+
+    public ReactiveFileStorageHandler(
+            FileStorageService fileStorageService,
+            NSFWDetectionService nsfwDetectionService,
+            JwtService jwtService,
+            RedisAuthService redisAuthService,
+            StorageMetrics storageMetrics,
+            UploadProgressPublisher uploadProgressPublisher,
+            FileEventLog fileEventLog,
+            ReplicationService replicationService,
+            UploadAdmissionService uploadAdmissionService,
+            RateLimitFilter rateLimitFilter,
+            ClientIpResolver clientIpResolver,
+            BandwidthThrottleService bandwidthThrottleService,
+            StorageReservationLedger storageReservationLedger,
+            @Value("${auth.redis.degraded-mode:JWT_ONLY}") JwtAuthenticationFilter.DegradedMode degradedMode,
+            @Value("${spring.servlet.multipart.max-file-size:200MB}") DataSize maxFileSize
+    ) {
+        this.fileStorageService = fileStorageService;
+        this.nsfwDetectionService = nsfwDetectionService;
+        this.jwtService = jwtService;
+        this.redisAuthService = redisAuthService;
+        this.storageMetrics = storageMetrics;
+        this.uploadProgressPublisher = uploadProgressPublisher;
+        this.fileEventLog = fileEventLog;
+        this.replicationService = replicationService;
+        this.uploadAdmissionService = uploadAdmissionService;
+        this.rateLimitFilter = rateLimitFilter;
+        this.clientIpResolver = clientIpResolver;
+        this.bandwidthThrottleService = bandwidthThrottleService;
+        this.storageReservationLedger = storageReservationLedger;
+        this.degradedMode = degradedMode;
+        this.maxFileSize = maxFileSize.toBytes();
+    }
+
+    /**
+     * POST /api/v2/upload (multipart: file, division)
+     */
+    public Mono<ServerResponse> upload(ServerRequest request) {
+        return authenticate(request)
+                .flatMap(principal -> rateLimit(request, principal.getUserCd(),
+                        () -> admit(request, () -> receive(request, principal.getUserCd()))))
+                .switchIfEmpty(Mono.defer(() -> error(ErrorCode.UNAUTHORIZED, ErrorCode.UNAUTHORIZED.getMessage())))
+                .onErrorResume(AdultContentException.class, e -> error(ErrorCode.ADULT_CONTENT, e.getMessage()))
+                .onErrorResume(CustomException.class, e -> error(e.getCode(), e.getStatus().value(), e.getMessage()))
+                .onErrorResume(e -> {
+                    log.error("리액티브 업로드 처리 중 오류 발생: {}", e.getMessage(), e);
+                    return error(ErrorCode.INTERNAL_SERVER_ERROR, null);
+                });
+    }
+
+    /**
+     * 요청 제한 (RateLimitFilter와 같은 한도, 초과 시 본문을 읽지 않고 429)
+     * Redis 호출은 이벤트 루프를 막지 않도록 boundedElastic에서 수행한다.
+     */
+    private Mono<ServerResponse> rateLimit(ServerRequest request, String userCd, Supplier<Mono<ServerResponse>> upload) {
+        String remoteAddr = request.remoteAddress()
+                .map(InetSocketAddress::getAddress)
+                .map(InetAddress::getHostAddress)
+                .orElse(null);
+        String clientIp = clientIpResolver.resolve(remoteAddr, request.headers().firstHeader(ClientIpResolver.FORWARDED_FOR_HEADER));
+        return Mono.fromCallable(() -> rateLimitFilter.acquire(clientIp, userCd, true))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(retryAfterMs -> {
+                    if (retryAfterMs == 0) {
+                        return upload.get();
+                    }
+                    storageMetrics.recordError(ErrorCode.TOO_MANY_REQUESTS.name());
+                    return ServerResponse.status(ErrorCode.TOO_MANY_REQUESTS.getCode())
+                            .header(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMs + 999) / 1000))
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(new ErrorEntityBody(ErrorCode.TOO_MANY_REQUESTS.name(), ErrorCode.TOO_MANY_REQUESTS.getMessage()));
+                });
+    }
+
+    /**
+     * 업로드 진입 제어 (AdmissionControlFilter와 같은 규칙, 거부 시 본문을 읽지 않고 503)
+     */
+    private Mono<ServerResponse> admit(ServerRequest request, Supplier<Mono<ServerResponse>> upload) {
+        if (!uploadAdmissionService.isEnabled()) {
+            return upload.get();
+        }
+        long contentLength = request.headers().contentLength().orElse(-1);
+        UploadAdmissionService.Admission admission = uploadAdmissionService.tryAdmit(contentLength);
+        if (!admission.admitted()) {
+            storageMetrics.recordError(ErrorCode.SERVICE_UNAVAILABLE.name());
+            return ServerResponse.status(ErrorCode.SERVICE_UNAVAILABLE.getCode())
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(admission.retryAfterSeconds()))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(new ErrorEntityBody(ErrorCode.SERVICE_UNAVAILABLE.name(), "업로드 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요"));
+        }
+        long startedAt = System.nanoTime();
+        return Mono.defer(upload)
+                .doFinally(signal -> uploadAdmissionService.release(contentLength, System.nanoTime() - startedAt));
+    }
+
+    /**
+     * GET /api/v2/display?fileLocation=
+     */
+    public Mono<ServerResponse> display(ServerRequest request) {
+        String fileLocation = request.queryParam("fileLocation").orElse(null);
+        if (!StringUtils.hasText(fileLocation)) {
+            return error(ErrorCode.BAD_REQUEST, "fileLocation이 필요합니다.");
+        }
+
+        Path filePath;
+        try {
+            filePath = fileStorageService.resolveLocation(fileLocation);
+        } catch (CustomException e) {
+            return error(e.getCode(), e.getStatus().value(), e.getMessage());
+        }
+
+        StorageMetrics.StageSample loadSample = storageMetrics.start(StorageMetrics.STAGE_LOAD);
+        // 최근 없었던 위치는 boundedElastic으로 넘기지 않고 바로 404
+        if (fileStorageService.isKnownMissing(fileLocation)) {
+            loadSample.stop("not_found");
+            return error(ErrorCode.NOT_FOUND, "File not found " + fileLocation);
+        }
+        DataBufferFactory bufferFactory = request.exchange().getResponse().bufferFactory();
+        String fileName = filePath.getFileName().toString();
+        // 압축 저장된 파일은 gzip을 받는 클라이언트에 그대로 보내고, 그 밖(Range 요청 포함)에는 풀어서 보냄
+        boolean sendEncoded = ContentCompressionService.acceptsGzip(request.headers().firstHeader(HttpHeaders.ACCEPT_ENCODING))
+                && request.headers().firstHeader(HttpHeaders.RANGE) == null;
+
+        return Mono.fromCallable(() -> storedFile(fileLocation, filePath, sendEncoded))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(stored -> {
+                    if (stored.size() < 0) {
+                        loadSample.stop("not_found");
+                        return error(ErrorCode.NOT_FOUND, "File not found " + fileLocation);
+                    }
+                    loadSample.fileSize(stored.size()).stop("found");
+
+                    // 전송이 끝날 때까지 처리 중으로 집계
+                    AtomicInteger displaysInFlight = storageMetrics.inFlight(StorageMetrics.OP_DISPLAY);
+                    Flux<DataBuffer> body = Flux.defer(() -> {
+                        displaysInFlight.incrementAndGet();
+                        // 압축을 풀어 읽는 경우는 블로킹 스트림이므로 boundedElastic에서 구독
+                        return DataBufferUtils.read(stored.resource(), bufferFactory, BUFFER_SIZE)
+                                .subscribeOn(Schedulers.boundedElastic())
+                                .doOnNext(buffer -> storageMetrics.recordBytesOut(buffer.readableByteCount()))
+                                .doFinally(signal -> displaysInFlight.decrementAndGet());
+                    });
+
+                    MediaType mediaType = MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+                    return ServerResponse.ok()
+                            .contentType(mediaType)
+                            .contentLength(stored.size())
+                            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                            .headers(headers -> {
+                                if (stored.compressed()) {
+                                    headers.set(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                                    if (sendEncoded) {
+                                        headers.set(HttpHeaders.CONTENT_ENCODING, ContentCompressionService.GZIP_ENCODING);
+                                    }
+                                }
+                            })
+                            .body(BodyInserters.fromDataBuffers(body));
+                });
+    }
+
+    /**
+     * 전송할 파일 (없으면 size -1, 압축 저장된 파일은 sendEncoded가 아니면 풀어서 읽는 Resource)
+     */
+    private StoredFile storedFile(String fileLocation, Path filePath, boolean sendEncoded) throws IOException {
+        Path storedPath = fileStorageService.existingStoredPath(fileLocation);
+        if (storedPath == null) {
+            return new StoredFile(null, -1, false);
+        }
+        if (storedPath.equals(filePath)) {
+            return new StoredFile(new FileSystemResource(storedPath), Files.size(storedPath), false);
+        }
+        CompressedFileResource compressed = new CompressedFileResource(storedPath, filePath.getFileName().toString());
+        Resource resource = sendEncoded ? compressed : compressed.decoded();
+        return new StoredFile(resource, resource.contentLength(), true);
+    }
+
+    /**
+     * Access Token 검증 (JwtAuthenticationFilter와 같은 규칙, Redis 조회는 논블로킹)
+     *
+     * @return 인증 실패 시 empty
+     */
+    private Mono<JwtPrincipal> authenticate(ServerRequest request) {
+        String bearerToken = request.headers().firstHeader(HttpHeaders.AUTHORIZATION);
+        if (bearerToken == null || !bearerToken.startsWith("Bearer ")) {
+            return Mono.empty();
+        }
+        String token = bearerToken.substring(7).trim();
+
+        JwtPrincipal principal;
+        try {
+            principal = jwtService.parsePrincipal(token);
+        } catch (Exception e) {
+            log.debug("유효하지 않은 토큰: {}", e.getMessage());
+            return Mono.empty();
+        }
+        String userCd = principal.getUserCd();
+        if (!principal.isAccessToken() || !JwtPrincipal.isValidUserCd(userCd)) {
+            return Mono.empty();
+        }
+
+        StorageMetrics.StageSample redisSample = storageMetrics.start(StorageMetrics.STAGE_REDIS).user(userCd);
+        return redisAuthService.checkAccessTokenReactive(userCd, token)
+                .doOnNext(status -> redisSample.stop(!status.verified() ? "unverified"
+                        : status.blacklisted() ? "blacklisted" : "verified"))
+                .filter(status -> {
+                    if (!status.verified()) {
+                        return degradedMode != JwtAuthenticationFilter.DegradedMode.REJECT;
+                    }
+                    return !status.blacklisted() && (status.storedToken() == null || token.equals(status.storedToken()));
+                })
+                .map(status -> principal);
+    }
+
+    /**
+     * 멀티파트 본문을 PartEvent 단위로 읽어 file 파트를 디스크로 스트리밍
+     */
+    private Mono<ServerResponse> receive(ServerRequest request, String userCd) {
+        AtomicReference<String> division = new AtomicReference<>(request.queryParam("division").orElse(null));
+        AtomicInteger uploadsInFlight = storageMetrics.inFlight(StorageMetrics.OP_UPLOAD);
+        UploadContext context = new UploadContext(userCd,
+                request.headers().header(UploadProgressPublisher.UPLOAD_ID_HEADER).stream()
+                        .filter(StringUtils::hasText).findFirst().orElseGet(() -> UUID.randomUUID().toString()),
+                request.headers().contentLength().orElse(-1));
+
+        return request.bodyToFlux(PartEvent.class)
+                .windowUntil(PartEvent::isLast)
+                .concatMap(partEvents -> partEvents.switchOnFirst((signal, events) -> {
+                    PartEvent first = signal.get();
+                    if (first instanceof FilePartEvent filePartEvent && "file".equals(filePartEvent.name())) {
+                        if (!StringUtils.hasText(division.get())) {
+                            return events.doOnNext(event -> DataBufferUtils.release(event.content()))
+                                    .thenMany(Mono.<String>error(CustomException.badRequest("division이 필요합니다.")));
+                        }
+                        // 한 단계 디렉토리 이름이고 본인 경로 안인지 기록 전에 확인
+                        try {
+                            fileStorageService.divisionLocation(userCd, division.get());
+                        } catch (CustomException e) {
+                            return events.doOnNext(event -> DataBufferUtils.release(event.content()))
+                                    .thenMany(Mono.<String>error(e));
+                        }
+                        return store(filePartEvent, events, context, division.get()).flux();
+                    }
+                    if (first instanceof FormPartEvent formPartEvent && "division".equals(formPartEvent.name())) {
+                        division.set(formPartEvent.value());
+                    }
+                    // 파일 외 파트는 버퍼만 해제
+                    return events.doOnNext(event -> DataBufferUtils.release(event.content())).thenMany(Flux.<String>empty());
+                }))
+                .next()
+                .doOnSubscribe(subscription -> uploadsInFlight.incrementAndGet())
+                .doFinally(signal -> uploadsInFlight.decrementAndGet())
+                .flatMap(fileLocation -> ServerResponse.ok().contentType(MediaType.TEXT_PLAIN).bodyValue(fileLocation))
+                .switchIfEmpty(Mono.defer(() -> error(ErrorCode.BAD_REQUEST, "file 파트가 없습니다.")));
+    }
+
+    /**
+     * 공간 예약 -> 임시 파일에 기록 (대역폭 제한) -> (이미지인 경우) 검수 -> 최종 위치로 원자적 이동
+     */
+    private Mono<String> store(FilePartEvent filePartEvent, Flux<PartEvent> events, UploadContext context, String division) {
+        String userCd = context.userCd();
+        String fileName = filePartEvent.filename();
+        MediaType contentType = filePartEvent.headers().getContentType();
+        String fileLocation = fileStorageService.newFileLocation(userCd, division, fileName);
+        Path target = fileStorageService.resolveLocation(fileLocation);
+        Path temp = target.resolveSibling("." + target.getFileName() + ".part");
+
+        // 설정된 최대 파일 크기를 넘으면 중단
+        AtomicLong received = new AtomicLong();
+        Flux<DataBuffer> content = bandwidthThrottleService.throttleUpload(userCd, events.map(PartEvent::content))
+                .handle((buffer, sink) -> {
+                    if (received.addAndGet(buffer.readableByteCount()) > maxFileSize) {
+                        DataBufferUtils.release(buffer);
+                        sink.error(CustomException.badRequest("최대 파일 크기를 초과했습니다."));
+                    } else {
+                        // 실제 수신 바이트 기준 진행률 (요청 Content-Length를 전체 크기로 사용)
+                        uploadProgressPublisher.progress(userCd, context.uploadId(), fileName, received.get(), context.contentLength());
+                        sink.next(buffer);
+                    }
+                });
+
+        StorageMetrics.StageSample writeSample = storageMetrics.start(StorageMetrics.STAGE_DISK_WRITE)
+                .division(division).user(userCd);
+        AtomicBoolean written = new AtomicBoolean();
+        // 파트 크기는 미리 알 수 없으므로 요청 크기(없으면 최대 파일 크기)만큼 예약
+        long expected = context.contentLength() > 0 ? Math.min(context.contentLength(), maxFileSize) : maxFileSize;
+
+        return Mono.fromCallable(() -> {
+                    Files.createDirectories(target.getParent());
+                    // 부족하면 본문을 받기 전에 507
+                    return storageReservationLedger.reserve(expected);
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(reservation -> Mono.defer(() -> {
+                            // 동시 디스크 쓰기 수와 평균 쓰기 시간 (Retry-After 계산용, 취소/오류 시에도 반영)
+                            long writeStartedAt = System.nanoTime();
+                            uploadAdmissionService.diskWriteStarted();
+                            // 기록한 만큼 예약에서 빼고, 끝나면(취소/오류 포함) 남은 예약 해제
+                            Flux<DataBuffer> reserved = content.doOnNext(buffer -> reservation.consume(buffer.readableByteCount()));
+                            return DataBufferUtils.write(reserved, temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)
+                                    .doFinally(signal -> uploadAdmissionService.diskWriteFinished(System.nanoTime() - writeStartedAt));
+                        })
+                        .doFinally(signal -> reservation.close()))
+                .then(Mono.fromSupplier(received::get))
+                .doOnNext(size -> {
+                    written.set(true);
+                    writeSample.fileSize(size).stop("success");
+                    storageMetrics.recordBytesIn(size);
+                })
+                .flatMap(size -> moderate(temp, contentType, fileName, size, division, context))
+                .then(Mono.fromCallable(() -> Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .thenReturn(fileLocation)
+                .doOnNext(location -> {
+                    fileStorageService.fileStored(location);
+                    uploadProgressPublisher.stored(userCd, context.uploadId(), fileName, location, received.get());
+                    fileEventLog.created(userCd, location, received.get(), contentType != null ? contentType.toString() : null);
+                    replicationService.replicateAsync(location, target);
+                })
+                .doOnError(e -> {
+                    if (!written.get()) {
+                        writeSample.stop("error");
+                    }
+                    if (e instanceof AdultContentException) {
+                        uploadProgressPublisher.rejected(userCd, context.uploadId(), fileName, e.getMessage());
+                    } else {
+                        uploadProgressPublisher.failed(userCd, context.uploadId(), fileName, "파일 저장에 실패했습니다.");
+                    }
+                    deleteQuietly(temp);
+                })
+                .doOnCancel(() -> deleteQuietly(temp));
+    }
+
+    /**
+     * 이미지 파일이면 임시 파일을 비동기로 읽어 Vision API로 검수 (성인 이미지는 AdultContentException)
+     */
+    private Mono<Void> moderate(Path temp, MediaType contentType, String fileName, long size, String division, UploadContext context) {
+        if (contentType == null || !"image".equals(contentType.getType())) {
+            return Mono.empty();
+        }
+
+        StorageMetrics.StageSample moderationSample = storageMetrics.start(StorageMetrics.STAGE_MODERATION)
+                .fileSize(size).division(division).user(context.userCd());
+        long moderationStartedAt = System.nanoTime();
+        uploadAdmissionService.moderationStarted();
+
+        return DataBufferUtils.join(DataBufferUtils.read(temp, DefaultDataBufferFactory.sharedInstance, BUFFER_SIZE))
+                .map(buffer -> {
+                    byte[] bytes = new byte[buffer.readableByteCount()];
+                    buffer.read(bytes);
+                    DataBufferUtils.release(buffer);
+                    return bytes;
+                })
+                .flatMap(bytes -> nsfwDetectionService.isNSFWAsync(bytes, fileName))
+                .flatMap(nsfw -> {
+                    if (nsfw) {
+                        moderationSample.stop("rejected");
+                        return Mono.<Void>error(new AdultContentException("성인 이미지는 업로드할 수 없습니다."));
+                    }
+                    moderationSample.stop("passed");
+                    uploadProgressPublisher.moderated(context.userCd(), context.uploadId(), fileName, "APPROVED");
+                    return Mono.<Void>empty();
+                })
+                .doFinally(signal -> uploadAdmissionService.moderationFinished(System.nanoTime() - moderationStartedAt));
+    }
+
+    private record StoredFile(Resource resource, long size, boolean compressed) {
+    }
+
+    /**
+     * 업로드 요청 단위 정보 (진행 알림용)
+     */
+    private record UploadContext(String userCd, String uploadId, long contentLength) {
+    }
+
+    private void deleteQuietly(Path path) {
+        Schedulers.boundedElastic().schedule(() -> {
+            try {
+                Files.deleteIfExists(path);
+            } catch (Exception e) {
+                log.warn("임시 파일 삭제 실패 - {}: {}", path, e.getMessage());
+            }
+        });
+    }
+
+    private Mono<ServerResponse> error(ErrorCode errorCode, Object body) {
+        return error(errorCode.name(), errorCode.getCode(), body);
+    }
+
+    private Mono<ServerResponse> error(String code, int status, Object body) {
+        storageMetrics.recordError(code);
+        return ServerResponse.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new ErrorEntityBody(code, body));
+    }
+}
@@ -0,0 +1,63 @@
+package com.codism.controller;
+
+import com.codism.exception.CustomException;
+import com.codism.service.ClusterRing;
+import com.codism.service.ContentCompressionService;
+import com.codism.service.FileStorageService;
+import com.codism.service.ReplicationService;
+import io.swagger.v3.oas.annotations.Hidden;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+/**
+ * 노드 간 복제본 수신/삭제 (내부용, 노드 간 비밀값이 일치하는 요청만 허용)
+ */
+@Slf4j
+@Hidden
+@RestController
+@RequestMapping(ReplicationService.REPLICA_PATH)
+@RequiredArgsConstructor
+public class ReplicaController {
+
+    private final FileStorageService fileStorageService;
+    private final ClusterRing clusterRing;
+
+    @PutMapping
+    public ResponseEntity<Void> store(HttpServletRequest request, @RequestParam String fileLocation) throws IOException {
+        verifyPeer(request);
+        // 압축 저장된 파일의 복제본은 gzip 바이트 그대로 받아 .gz 경로에 저장
+        boolean compressed = ContentCompressionService.GZIP_ENCODING.equalsIgnoreCase(request.getHeader(HttpHeaders.CONTENT_ENCODING));
+        // 원본 수정 시각이 없으면(이전 버전 노드) 지금 만들어진 파일로 본다
+        fileStorageService.storeReplica(fileLocation, request.getInputStream(), request.getContentLengthLong(), compressed,
+                modifiedAt(request.getHeader(ReplicationService.MODIFIED_HEADER)));
+        log.debug("복제본 저장 - fileLocation: {}, from: {}", fileLocation, request.getHeader(ClusterRing.PEER_HEADER));
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> delete(HttpServletRequest request, @RequestParam String fileLocation) throws IOException {
+        verifyPeer(request);
+        fileStorageService.deleteReplica(fileLocation);
+        return ResponseEntity.noContent().build();
+    }
+
+    private long modifiedAt(String header) {
+        try {
+            return header != null ? Long.parseLong(header) : System.currentTimeMillis();
+        } catch (NumberFormatException e) {
+            return System.currentTimeMillis();
+        }
+    }
+
+    private void verifyPeer(HttpServletRequest request) {
+        if (!clusterRing.isTrustedPeer(request)) {
+            throw CustomException.forbidden("허용되지 않은 노드 간 요청입니다.");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.codism.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * 업로드 볼륨의 여유 공간이 부족해 저장할 수 없을 때 발생하는 예외 (507)
+ */
+public class InsufficientStorageException extends CustomException {
+
+    private static final String CODE = "INSUFFICIENT_STORAGE";
+
+    public InsufficientStorageException(String message) {
+        super(message, HttpStatus.INSUFFICIENT_STORAGE, CODE);
+    }
+
+    public InsufficientStorageException(String message, Throwable cause) {
+        super(message, HttpStatus.INSUFFICIENT_STORAGE, CODE);
+        initCause(cause);
+    }
+}
@@ -0,0 +1,23 @@
+package com.codism.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Redis 서킷이 열려 있어 호출하지 않고 즉시 실패할 때 발생하는 예외
+ */
+public class RedisUnavailableException extends CustomException {
+
+    private static final String CODE = "REDIS_UNAVAILABLE";
+
+    public RedisUnavailableException() {
+        super("Redis를 일시적으로 사용할 수 없습니다.", HttpStatus.SERVICE_UNAVAILABLE, CODE);
+    }
+
+    /**
+     * 서킷 OPEN 상태에서는 호출마다 발생하므로 스택 트레이스를 생성하지 않음
+     */
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,20 @@
+package com.codism.exception;
+
+import java.io.FileNotFoundException;
+
+/**
+ * 저장된 파일이 없을 때 발생하는 예외
+ * 삭제된 파일을 반복 조회하는 요청마다 발생하므로 스택 트레이스를 생성하지 않음
+ * (FileNotFoundException을 상속해 기존 호출부의 다른 노드 조회 전환은 그대로 동작)
+ */
+public class StoredFileNotFoundException extends FileNotFoundException {
+
+    public StoredFileNotFoundException(String fileLocation) {
+        super("File not found " + fileLocation);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,62 @@
+package com.codism.io;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 초당 바이트 수를 제한하는 토큰 버킷 (락 없이 예약 시각을 CAS로 갱신)
+ * 호출자는 자신이 예약한 전송 시각까지 대기한 뒤 진행한다.
+ */
+public class ByteRateLimiter {
+
+    private final double nanosPerByte;
+    private final long burstNanos;
+    private final AtomicLong nextFreeNanos;
+
+    /**
+     * @param bytesPerSecond 초당 허용 바이트 수
+     * @param burstSeconds 유휴 상태에서 누적 가능한 전송량 (초 단위)
+     */
+    public ByteRateLimiter(long bytesPerSecond, double burstSeconds) {
+        this.nanosPerByte = (double) TimeUnit.SECONDS.toNanos(1) / bytesPerSecond;
+        this.burstNanos = (long) (TimeUnit.SECONDS.toNanos(1) * burstSeconds);
+        this.nextFreeNanos = new AtomicLong(System.nanoTime() - burstNanos);
+    }
+
+    /**
+     * 지정한 바이트 수만큼 전송 권한을 얻을 때까지 대기
+     * parkNanos는 시간이 되기 전에 깨어날 수 있으므로(spurious wakeup, unpark) 예약 시각이 지날 때까지 반복한다.
+     * 인터럽트되면 인터럽트 상태를 유지한 채 대기를 멈춘다.
+     */
+    public void acquire(int bytes) {
+        long waitNanos = reserve(bytes);
+        if (waitNanos <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + waitNanos;
+        while (waitNanos > 0 && !Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(this, waitNanos);
+            waitNanos = deadline - System.nanoTime();
+        }
+    }
+
+    /**
+     * 지정한 바이트 수만큼 전송 시각만 예약 (대기는 호출자가 함, 논블로킹 경로용)
+     *
+     * @return 예약한 전송 시각까지 남은 시간 (ns, 0 이하면 바로 전송 가능)
+     */
+    public long reserve(int bytes) {
+        long cost = (long) (bytes * nanosPerByte);
+        long now;
+        long start;
+        long current;
+        do {
+            now = System.nanoTime();
+            current = nextFreeNanos.get();
+            start = Math.max(current, now - burstNanos);
+        } while (!nextFreeNanos.compareAndSet(current, start + cost));
+
+        return start + cost - now;
+    }
+}
@@ -0,0 +1,95 @@
+package com.codism.io;
+
+import org.springframework.core.io.AbstractResource;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * gzip으로 압축 저장된 파일 Resource (파일 이름은 압축 전 이름)
+ * 기본은 압축된 바이트를 그대로 내보내고, decoded()는 읽으면서 압축을 푼다.
+ */
+public class CompressedFileResource extends AbstractResource {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path file;
+    private final String filename;
+    private final boolean decode;
+
+    public CompressedFileResource(Path file, String filename) {
+        this(file, filename, false);
+    }
+
+    private CompressedFileResource(Path file, String filename, boolean decode) {
+        this.file = file;
+        this.filename = filename;
+        this.decode = decode;
+    }
+
+    /**
+     * 압축을 풀어 읽는 Resource (gzip을 받지 않는 클라이언트, Range 요청용)
+     */
+    public CompressedFileResource decoded() {
+        return decode ? this : new CompressedFileResource(file, filename, true);
+    }
+
+    /**
+     * 압축된 바이트를 그대로 내보내는지 (Content-Encoding: gzip 응답)
+     */
+    public boolean isEncoded() {
+        return !decode;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        InputStream in = Files.newInputStream(file);
+        return decode ? new GZIPInputStream(in, BUFFER_SIZE) : new BufferedInputStream(in, BUFFER_SIZE);
+    }
+
+    @Override
+    public boolean exists() {
+        return Files.isRegularFile(file);
+    }
+
+    /**
+     * 압축된 크기 (decoded면 gzip trailer에 기록된 원래 크기, 본문을 읽어 계산하지 않음)
+     */
+    @Override
+    public long contentLength() throws IOException {
+        return decode ? originalSize(file) : Files.size(file);
+    }
+
+    /**
+     * gzip 파일의 원래 크기 (trailer의 ISIZE, 4GB 미만 파일만 정확)
+     */
+    private static long originalSize(Path gzipFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(gzipFile)) {
+            ByteBuffer trailer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(trailer, channel.size() - 4);
+            return Integer.toUnsignedLong(trailer.getInt(0));
+        }
+    }
+
+    @Override
+    public long lastModified() throws IOException {
+        return Files.getLastModifiedTime(file).toMillis();
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Compressed file [" + file + (decode ? ", decoded" : "") + "]";
+    }
+}
@@ -0,0 +1,164 @@
+package com.codism.io;
+
+import org.reactivestreams.Subscription;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 다른 노드에서 스트리밍으로 받아오는 파일 Resource (한 번만 읽을 수 있음)
+ * 응답 본문을 파이프로 연결하여 전체를 메모리에 올리지 않고 그대로 흘려보낸다.
+ * 읽는 쪽이 스트림을 닫으면 파이프가 끊겨 원격 응답 구독도 취소된다.
+ * 원격 응답이 중간에 끊기면 읽는 쪽에서 EOF 대신 IOException이 발생한다.
+ * 일정 시간 안에 읽지 않으면(HEAD 요청, 응답 전 연결 종료 등) 원격 응답을 취소해 연결을 돌려준다.
+ */
+public class PeerFileResource extends AbstractResource {
+
+    private static final int PIPE_BUFFER_SIZE = 64 * 1024;
+    private static final Duration UNCONSUMED_RELEASE_DELAY = Duration.ofSeconds(30);
+
+    private final String filename;
+    private final long contentLength;
+    private final String contentType;
+    private final String source;
+    private final Flux<DataBuffer> body;
+    private final AtomicBoolean consumed = new AtomicBoolean();
+    private final Disposable unconsumedRelease;
+
+    public PeerFileResource(String filename, long contentLength, String contentType, String source, Flux<DataBuffer> body) {
+        this.filename = filename;
+        this.contentLength = contentLength;
+        this.contentType = contentType;
+        this.source = source;
+        this.body = body;
+        this.unconsumedRelease = Schedulers.parallel().schedule(this::discard,
+                UNCONSUMED_RELEASE_DELAY.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        if (!consumed.compareAndSet(false, true)) {
+            throw new IllegalStateException("PeerFileResource는 한 번만 읽을 수 있습니다: " + getDescription());
+        }
+        unconsumedRelease.dispose();
+        FailurePropagatingInputStream in = new FailurePropagatingInputStream(PIPE_BUFFER_SIZE);
+        PipedOutputStream out = new PipedOutputStream(in);
+        // 파이프 쓰기는 버퍼가 찰 때 블로킹되므로 본문 emit 자체를 이벤트 루프에서 boundedElastic으로 옮김
+        // (subscribeOn은 구독 시점만 옮기고, Netty는 여전히 이벤트 루프에서 emit함)
+        DataBufferUtils.write(body.publishOn(Schedulers.boundedElastic()), out)
+                .doFinally(signal -> {
+                    try {
+                        out.close();
+                    } catch (IOException ignored) {
+                    }
+                })
+                .subscribe(DataBufferUtils.releaseConsumer(), in::fail);
+        return in;
+    }
+
+    /**
+     * 읽지 않은 원격 응답 취소 (이미 읽기 시작했으면 아무것도 하지 않음)
+     */
+    public void discard() {
+        if (!consumed.compareAndSet(false, true)) {
+            return;
+        }
+        unconsumedRelease.dispose();
+        body.subscribe(new BaseSubscriber<>() {
+            @Override
+            protected void hookOnSubscribe(Subscription subscription) {
+                cancel();
+            }
+
+            @Override
+            protected void hookOnNext(DataBuffer buffer) {
+                DataBufferUtils.release(buffer);
+            }
+        });
+    }
+
+    @Override
+    public boolean exists() {
+        return true;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return true;
+    }
+
+    /**
+     * 원격 응답의 Content-Length (알 수 없으면 -1, 본문을 읽어 계산하지 않음)
+     */
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public String getFilename() {
+        return filename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Peer file [" + source + "/" + filename + "]";
+    }
+
+    /**
+     * 원격 응답 오류를 읽는 쪽에 전달하는 파이프 (오류 후에는 EOF 대신 IOException)
+     */
+    private static final class FailurePropagatingInputStream extends PipedInputStream {
+
+        private volatile Throwable failure;
+
+        FailurePropagatingInputStream(int pipeSize) {
+            super(pipeSize);
+        }
+
+        void fail(Throwable error) {
+            failure = error;
+        }
+
+        @Override
+        public synchronized int read() throws IOException {
+            int b = super.read();
+            if (b == -1) {
+                checkFailure();
+            }
+            return b;
+        }
+
+        @Override
+        public synchronized int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n == -1) {
+                checkFailure();
+            }
+            return n;
+        }
+
+        private void checkFailure() throws IOException {
+            Throwable error = failure;
+            if (error != null) {
+                throw new IOException("원격 응답이 중간에 끊겼습니다: " + error.getMessage(), error);
+            }
+        }
+    }
+}
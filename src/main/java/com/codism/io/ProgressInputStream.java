@@ -0,0 +1,49 @@
+package com.codism.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.LongConsumer;
+
+/**
+ * 읽은 누적 바이트 수를 콜백으로 알리는 입력 스트림
+ */
+public class ProgressInputStream extends FilterInputStream {
+
+    private final LongConsumer listener;
+    private long bytesRead;
+
+    public ProgressInputStream(InputStream in, LongConsumer listener) {
+        super(in);
+        this.listener = listener;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            listener.accept(++bytesRead);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, len);
+        if (n > 0) {
+            bytesRead += n;
+            listener.accept(bytesRead);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        if (skipped > 0) {
+            bytesRead += skipped;
+            listener.accept(bytesRead);
+        }
+        return skipped;
+    }
+}
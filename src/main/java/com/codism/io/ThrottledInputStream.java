@@ -0,0 +1,51 @@
+package com.codism.io;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 읽은 바이트 수만큼 ByteRateLimiter에서 전송 권한을 얻는 입력 스트림
+ */
+public class ThrottledInputStream extends FilterInputStream {
+
+    // 한 번에 너무 큰 버퍼를 읽어 장시간 대기하지 않도록 읽기 단위를 제한
+    private static final int MAX_CHUNK = 64 * 1024;
+
+    private final ByteRateLimiter limiter;
+
+    public ThrottledInputStream(InputStream in, ByteRateLimiter limiter) {
+        super(in);
+        this.limiter = limiter;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            limiter.acquire(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        int n = super.read(b, off, Math.min(len, MAX_CHUNK));
+        if (n > 0) {
+            limiter.acquire(n);
+        }
+        return n;
+    }
+
+    /**
+     * 건너뛴 바이트도 원본에서 읽은 것이므로 같은 한도로 제한 (Range 요청 등이 제한을 우회하지 않도록)
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(Math.min(n, MAX_CHUNK));
+        if (skipped > 0) {
+            limiter.acquire((int) skipped);
+        }
+        return skipped;
+    }
+}
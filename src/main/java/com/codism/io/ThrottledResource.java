@@ -0,0 +1,57 @@
+package com.codism.io;
+
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 응답 전송 속도를 제한하는 Resource 래퍼 (파일 정보는 원본에 위임)
+ */
+public class ThrottledResource extends AbstractResource {
+
+    private final Resource delegate;
+    private final ByteRateLimiter limiter;
+
+    public ThrottledResource(Resource delegate, ByteRateLimiter limiter) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        return new ThrottledInputStream(delegate.getInputStream(), limiter);
+    }
+
+    @Override
+    public boolean exists() {
+        return delegate.exists();
+    }
+
+    @Override
+    public long contentLength() throws IOException {
+        return delegate.contentLength();
+    }
+
+    @Override
+    public long lastModified() throws IOException {
+        return delegate.lastModified();
+    }
+
+    @Override
+    public File getFile() throws IOException {
+        return delegate.getFile();
+    }
+
+    @Override
+    public String getFilename() {
+        return delegate.getFilename();
+    }
+
+    @Override
+    public String getDescription() {
+        return "Throttled [" + delegate.getDescription() + "]";
+    }
+}
@@ -0,0 +1,171 @@
+package com.codism.metrics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 운영 중 JFR 레코딩을 시작/덤프/중지하는 actuator 엔드포인트 (/actuator/jfr)
+ * - POST /actuator/jfr : 레코딩 시작 (maxAge/maxSize로 크기 제한)
+ * - GET /actuator/jfr : 레코딩 상태
+ * - GET /actuator/jfr/dump : 현재까지의 레코딩을 .jfr 파일로 다운로드
+ * - DELETE /actuator/jfr : 레코딩 중지
+ * 기본 비활성화 상태이며 management.endpoint.jfr.enabled=true로 켠다.
+ * 노드 간 비밀 헤더(X-Cluster-Secret)가 있는 요청만 허용하며(SecurityConfig),
+ * 환경 변수/시스템 프로퍼티/JVM 인자처럼 비밀 값이 담길 수 있는 이벤트는 기록하지 않는다.
+ */
+@Slf4j
+@Component
+@WebEndpoint(id = "jfr", enableByDefault = false)
+public class JfrRecordingEndpoint {
+
+    private final long defaultMaxAgeSeconds;
+    private final long defaultMaxSizeMb;
+    private final String defaultSettings;
+
+    // JWT 비밀 키, Redis 비밀번호, 노드 간 비밀 등이 그대로 담기는 이벤트
+    private static final List<String> SENSITIVE_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty",
+            "jdk.InitialSecurityProperty",
+            "jdk.JVMInformation");
+
+    private Recording recording;
+
+    public JfrRecordingEndpoint(
+            @Value("${jfr.recording.max-age-seconds:300}") long defaultMaxAgeSeconds,
+            @Value("${jfr.recording.max-size-mb:100}") long defaultMaxSizeMb,
+            @Value("${jfr.recording.settings:default}") String defaultSettings
+    ) {
+        this.defaultMaxAgeSeconds = defaultMaxAgeSeconds;
+        this.defaultMaxSizeMb = defaultMaxSizeMb;
+        this.defaultSettings = defaultSettings;
+    }
+
+    @ReadOperation
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        if (recording == null) {
+            result.put("state", "NONE");
+            return result;
+        }
+        result.put("state", recording.getState().name());
+        result.put("name", recording.getName());
+        result.put("startTime", recording.getStartTime());
+        result.put("maxAgeSeconds", recording.getMaxAge() != null ? recording.getMaxAge().toSeconds() : null);
+        result.put("maxSizeBytes", recording.getMaxSize());
+        return result;
+    }
+
+    /**
+     * 레코딩 시작 (이미 실행 중이면 기존 레코딩 유지)
+     *
+     * @param maxAgeSeconds 보관 기간 상한 (기본 jfr.recording.max-age-seconds)
+     * @param maxSizeMb 디스크 사용량 상한 (기본 jfr.recording.max-size-mb)
+     * @param settings JFR 설정 이름 (default: 오버헤드 1% 미만, profile: 상세 샘플링)
+     */
+    @WriteOperation
+    public synchronized Map<String, Object> start(@Nullable Long maxAgeSeconds, @Nullable Long maxSizeMb,
+                                                  @Nullable String settings) throws Exception {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            return status();
+        }
+        closeRecording();
+
+        Recording newRecording = new Recording(Configuration.getConfiguration(settings != null ? settings : defaultSettings));
+        newRecording.setName("file-storage-on-demand");
+        newRecording.setToDisk(true);
+        newRecording.setMaxAge(Duration.ofSeconds(maxAgeSeconds != null ? maxAgeSeconds : defaultMaxAgeSeconds));
+        newRecording.setMaxSize((maxSizeMb != null ? maxSizeMb : defaultMaxSizeMb) * 1024 * 1024);
+        newRecording.enable(StorageStageEvent.class).withoutThreshold();
+        SENSITIVE_EVENTS.forEach(newRecording::disable);
+        newRecording.start();
+        recording = newRecording;
+
+        log.info("JFR 레코딩 시작 - maxAge: {}s, maxSize: {}MB", newRecording.getMaxAge().toSeconds(),
+                newRecording.getMaxSize() / 1024 / 1024);
+        return status();
+    }
+
+    /**
+     * 현재까지 기록된 내용을 파일로 덤프하여 반환 (레코딩은 계속 진행)
+     */
+    @ReadOperation(produces = "application/octet-stream")
+    public synchronized WebEndpointResponse<Resource> dump(@Selector String action) throws IOException {
+        if (!"dump".equals(action)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (recording == null || recording.getState() != RecordingState.RUNNING) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        Path file = Files.createTempFile("file-storage-", ".jfr");
+        recording.dump(file);
+        return new WebEndpointResponse<>(new TemporaryFileResource(file), WebEndpointResponse.STATUS_OK);
+    }
+
+    @DeleteOperation
+    public synchronized Map<String, Object> stop() {
+        closeRecording();
+        log.info("JFR 레코딩 중지");
+        return status();
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+
+    /**
+     * 전송이 끝나면 삭제되는 덤프 파일
+     * isFile()이 false여야 zero-copy 전송 대신 getInputStream()을 거쳐 close 시점에 삭제할 수 있다.
+     */
+    private static class TemporaryFileResource extends FileSystemResource {
+
+        TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public boolean isFile() {
+            return false;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.codism.metrics;
+
+import com.codism.security.TokenDigest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 파일 저장 파이프라인 Micrometer 지표
+ * - storage.stage.duration: 단계별(auth, multipart, moderation, vision, disk_write, load) 처리 시간
+ * - storage.bytes: 업로드/다운로드 바이트 수
+ * - storage.inflight: 처리 중인 업로드/디스플레이 요청 수
+ * - storage.errors: ErrorCode별 오류 응답 수
+ * 각 단계는 JFR StorageStageEvent로도 기록되어 레코딩에서 GC/I/O 이벤트와 함께 볼 수 있다.
+ */
+@Component
+public class StorageMetrics {
+
+    public static final String STAGE_AUTH = "auth";
+    public static final String STAGE_REDIS = "redis";
+    public static final String STAGE_MULTIPART = "multipart";
+    public static final String STAGE_MODERATION = "moderation";
+    public static final String STAGE_VISION = "vision";
+    public static final String STAGE_DISK_WRITE = "disk_write";
+    public static final String STAGE_LOAD = "load";
+
+    public static final String OP_UPLOAD = "upload";
+    public static final String OP_DISPLAY = "display";
+
+    private final MeterRegistry meterRegistry;
+
+    // 태그 조합별 미터 캐시 (요청마다 빌더로 조회하지 않도록)
+    private final Map<String, Timer> stageTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+    private final Counter bytesIn;
+    private final Counter bytesOut;
+    private final AtomicInteger uploadsInFlight = new AtomicInteger();
+    private final AtomicInteger displaysInFlight = new AtomicInteger();
+
+    public StorageMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.bytesIn = Counter.builder("storage.bytes")
+                .tag("direction", "in")
+                .baseUnit("bytes")
+                .description("업로드되어 디스크에 기록된 바이트 수")
+                .register(meterRegistry);
+        this.bytesOut = Counter.builder("storage.bytes")
+                .tag("direction", "out")
+                .baseUnit("bytes")
+                .description("디스플레이로 전송된 바이트 수")
+                .register(meterRegistry);
+        Gauge.builder("storage.inflight", uploadsInFlight, AtomicInteger::get)
+                .tag("operation", OP_UPLOAD)
+                .description("처리 중인 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("storage.inflight", displaysInFlight, AtomicInteger::get)
+                .tag("operation", OP_DISPLAY)
+                .description("처리 중인 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 단계 시간 측정 시작
+     */
+    public StageSample start(String stage) {
+        return new StageSample(stage, System.nanoTime());
+    }
+
+    public void recordBytesIn(long bytes) {
+        bytesIn.increment(bytes);
+    }
+
+    public void recordBytesOut(long bytes) {
+        bytesOut.increment(bytes);
+    }
+
+    public AtomicInteger inFlight(String operation) {
+        return OP_UPLOAD.equals(operation) ? uploadsInFlight : displaysInFlight;
+    }
+
+    public void recordError(String errorCode) {
+        errorCounters.computeIfAbsent(errorCode, code -> Counter.builder("storage.errors")
+                .tag("code", code)
+                .description("ErrorCode별 오류 응답 수")
+                .register(meterRegistry)).increment();
+    }
+
+    private Timer stageTimer(String stage, String outcome) {
+        return stageTimers.computeIfAbsent(stage + ":" + outcome, key -> Timer.builder("storage.stage.duration")
+                .tag("stage", stage)
+                .tag("outcome", outcome)
+                .description("저장 파이프라인 단계별 처리 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+
+    /**
+     * 진행 중인 단계 측정 (stop 호출 시 결과 태그와 함께 기록)
+     */
+    public class StageSample {
+        private final String stage;
+        private final long startNanos;
+        private final StorageStageEvent event;
+        private long fileSize = -1;
+        private String division;
+        private String userCd;
+
+        private StageSample(String stage, long startNanos) {
+            this.stage = stage;
+            this.startNanos = startNanos;
+            this.event = new StorageStageEvent();
+            this.event.begin();
+        }
+
+        public StageSample fileSize(long fileSize) {
+            this.fileSize = fileSize;
+            return this;
+        }
+
+        public StageSample division(String division) {
+            this.division = division;
+            return this;
+        }
+
+        public StageSample user(String userCd) {
+            this.userCd = userCd;
+            return this;
+        }
+
+        public long stop(String outcome) {
+            long elapsed = System.nanoTime() - startNanos;
+            stageTimer(stage, outcome).record(elapsed, TimeUnit.NANOSECONDS);
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.stage = stage;
+                event.outcome = outcome;
+                event.fileSize = fileSize;
+                event.division = division;
+                // 사용자 식별값은 원문 대신 해시로 기록 (접근 로그와 같은 형식)
+                event.userHash = userCd != null ? TokenDigest.of(userCd).substring(0, 12) : null;
+                event.commit();
+            }
+            return elapsed;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.codism.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 저장 파이프라인 단계별 JFR 이벤트
+ * 레코딩이 꺼져 있으면 commit 여부 확인만 하고 필드를 채우지 않는다.
+ */
+@Name("com.codism.StorageStage")
+@Label("Storage Stage")
+@Category({"Codism", "Storage"})
+@Description("파일 업로드/디스플레이 파이프라인의 단계 처리 구간")
+@StackTrace(false)
+public class StorageStageEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("File Size")
+    @DataAmount
+    long fileSize;
+
+    @Label("Division")
+    String division;
+
+    @Label("User Hash")
+    String userHash;
+}
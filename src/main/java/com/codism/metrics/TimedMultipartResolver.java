@@ -0,0 +1,32 @@
+package com.codism.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.multipart.MultipartException;
+import org.springframework.web.multipart.MultipartHttpServletRequest;
+import org.springframework.web.multipart.support.StandardServletMultipartResolver;
+
+/**
+ * 멀티파트 본문 파싱(스풀링) 시간을 storage.stage.duration{stage=multipart}로 기록
+ */
+public class TimedMultipartResolver extends StandardServletMultipartResolver {
+
+    private final StorageMetrics storageMetrics;
+
+    public TimedMultipartResolver(StorageMetrics storageMetrics) {
+        this.storageMetrics = storageMetrics;
+    }
+
+    @Override
+    public MultipartHttpServletRequest resolveMultipart(HttpServletRequest request) throws MultipartException {
+        StorageMetrics.StageSample sample = storageMetrics.start(StorageMetrics.STAGE_MULTIPART)
+                .fileSize(request.getContentLengthLong());
+        try {
+            MultipartHttpServletRequest resolved = super.resolveMultipart(request);
+            sample.stop("success");
+            return resolved;
+        } catch (MultipartException e) {
+            sample.stop("error");
+            throw e;
+        }
+    }
+}
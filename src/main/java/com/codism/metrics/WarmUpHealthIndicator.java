@@ -0,0 +1,30 @@
+package com.codism.metrics;
+
+import com.codism.service.WarmUpService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 워밍업 진행 상태 (/actuator/health의 warmUp, readiness 그룹에 포함)
+ * 워밍업이 끝나기 전에는 OUT_OF_SERVICE로 보고해 readiness 프로브가 트래픽을 보내지 않게 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmUpHealthIndicator implements HealthIndicator {
+
+    private final WarmUpService warmUpService;
+
+    @Override
+    public Health health() {
+        WarmUpService.State state = warmUpService.getState();
+        Health.Builder builder = switch (state) {
+            case COMPLETED, SKIPPED -> Health.up();
+            case PENDING, RUNNING -> Health.outOfService();
+        };
+        return builder.withDetail("state", state)
+                .withDetail("steps", warmUpService.getSteps())
+                .build();
+    }
+}
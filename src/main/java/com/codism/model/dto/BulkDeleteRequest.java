@@ -0,0 +1,13 @@
+package com.codism.model.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkDeleteRequest {
+    // 삭제할 파일 위치 목록 (userCd/division/파일명)
+    private List<String> fileLocations;
+    // 지정 시 userCd/division 하위 전체 삭제
+    private String division;
+}
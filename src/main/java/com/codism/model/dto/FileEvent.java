@@ -0,0 +1,61 @@
+package com.codism.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 파일 생명주기 이벤트 (Redis Stream 레코드 한 건)
+ * 스트림 용량을 줄이기 위해 필드 이름은 짧게 저장한다.
+ */
+@Data
+@Builder
+public class FileEvent {
+
+    public enum Type {
+        CREATED, DELETED, MODERATED
+    }
+
+    private Type type;
+    private String userCd;
+    private String fileLocation;
+    private long size;
+    private String contentType;
+    // MODERATED 이벤트의 검수 결과 (APPROVED, REJECTED)
+    private String verdict;
+    private long timestamp;
+
+    public Map<String, String> toFields() {
+        Map<String, String> fields = new HashMap<>();
+        fields.put("t", type.name());
+        fields.put("u", userCd);
+        fields.put("ts", String.valueOf(timestamp));
+        if (fileLocation != null) {
+            fields.put("loc", fileLocation);
+        }
+        if (size > 0) {
+            fields.put("sz", String.valueOf(size));
+        }
+        if (contentType != null) {
+            fields.put("ct", contentType);
+        }
+        if (verdict != null) {
+            fields.put("v", verdict);
+        }
+        return fields;
+    }
+
+    public static FileEvent fromFields(Map<String, String> fields) {
+        return FileEvent.builder()
+                .type(Type.valueOf(fields.get("t")))
+                .userCd(fields.get("u"))
+                .fileLocation(fields.get("loc"))
+                .size(fields.containsKey("sz") ? Long.parseLong(fields.get("sz")) : 0)
+                .contentType(fields.get("ct"))
+                .verdict(fields.get("v"))
+                .timestamp(fields.containsKey("ts") ? Long.parseLong(fields.get("ts")) : 0)
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.codism.model.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class UploadProgressEvent {
+
+    public enum Status {
+        RECEIVING,  // 전송 중 (bytesTransferred 갱신)
+        MODERATED,  // 검수 완료 (verdict)
+        STORED,     // 저장 완료 (fileLocation)
+        REJECTED,   // 성인 이미지 등으로 거부
+        FAILED      // 처리 중 오류
+    }
+
+    // 클라이언트가 X-Upload-Id 헤더로 지정한 업로드 식별자 (없으면 서버에서 생성)
+    private String uploadId;
+    private String fileName;
+    private Status status;
+    private long bytesTransferred;
+    private long totalBytes;
+    private String fileLocation;
+    // 검수 결과 (APPROVED, REJECTED, SKIPPED)
+    private String verdict;
+    private String message;
+    private long timestamp;
+}
@@ -0,0 +1,74 @@
+package com.codism.security;
+
+import com.codism.config.error.entity.ErrorEntityBody;
+import com.codism.config.error.type.ErrorCode;
+import com.codism.metrics.StorageMetrics;
+import com.codism.service.UploadAdmissionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 업로드 진입 제어 필터
+ * RateLimitFilter 다음, 멀티파트 본문을 읽기 전에 실행되어 과부하 시 503과 Retry-After로 거부한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private final UploadAdmissionService uploadAdmissionService;
+    private final ObjectMapper objectMapper;
+    private final StorageMetrics storageMetrics;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long contentLength = request.getContentLengthLong();
+        UploadAdmissionService.Admission admission = uploadAdmissionService.tryAdmit(contentLength);
+        if (!admission.admitted()) {
+            log.debug("업로드 진입 거부 - URI: {}, reason: {}, RetryAfter: {}s",
+                    request.getRequestURI(), admission.reason(), admission.retryAfterSeconds());
+            writeServiceUnavailable(response, admission.retryAfterSeconds());
+            return;
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            uploadAdmissionService.release(contentLength, System.nanoTime() - startedAt);
+        }
+    }
+
+    private void writeServiceUnavailable(HttpServletResponse response, long retryAfterSeconds) throws IOException {
+        // 필터에서 직접 응답하므로 ErrorMetricsAdvice를 거치지 않음
+        storageMetrics.recordError(ErrorCode.SERVICE_UNAVAILABLE.name());
+        response.setStatus(ErrorCode.SERVICE_UNAVAILABLE.getCode());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        // 본문을 읽지 않고 응답하므로 연결은 닫음 (남은 업로드 본문을 받지 않도록)
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(),
+                new ErrorEntityBody(ErrorCode.SERVICE_UNAVAILABLE.name(), "업로드 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요"));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
+        // 업로드만 제어 (디스플레이와 노드 간 요청은 항상 통과)
+        String uri = request.getRequestURI();
+        return !uploadAdmissionService.isEnabled() || !"POST".equals(request.getMethod())
+                || !uri.startsWith("/api/") || !uri.contains("/upload");
+    }
+}
@@ -0,0 +1,99 @@
+package com.codism.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 요청 제한용 클라이언트 IP 결정
+ * X-Forwarded-For는 클라이언트가 임의로 넣을 수 있으므로, 직접 연결한 주소가 신뢰하는 프록시일 때만 사용한다.
+ * 헤더의 오른쪽(가장 가까운 프록시)부터 신뢰하는 프록시를 건너뛰고 처음 만나는 주소를 클라이언트로 본다.
+ */
+@Slf4j
+@Component
+public class ClientIpResolver {
+
+    public static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private final List<IpAddressMatcher> trustedProxies;
+
+    public ClientIpResolver(
+            @Value("${rate-limit.trusted-proxies:127.0.0.0/8,::1/128,10.0.0.0/8,172.16.0.0/12,192.168.0.0/16}") String[] trustedProxies
+    ) {
+        this.trustedProxies = Arrays.stream(trustedProxies)
+                .map(String::trim)
+                .filter(StringUtils::hasText)
+                .map(IpAddressMatcher::new)
+                .toList();
+    }
+
+    public String resolve(HttpServletRequest request) {
+        return resolve(request.getRemoteAddr(), request.getHeader(FORWARDED_FOR_HEADER));
+    }
+
+    /**
+     * @param remoteAddr 직접 연결한 주소
+     * @param forwardedFor X-Forwarded-For 헤더 값 (없으면 null)
+     */
+    public String resolve(String remoteAddr, String forwardedFor) {
+        if (!isTrusted(remoteAddr)) {
+            return remoteAddr;
+        }
+        if (!StringUtils.hasText(forwardedFor)) {
+            return remoteAddr;
+        }
+        String[] hops = forwardedFor.split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (!isIpLiteral(hop)) {
+                // 형식이 잘못된 값부터는 신뢰할 수 없으므로 마지막으로 확인한 주소 사용
+                log.debug("잘못된 X-Forwarded-For 항목 무시: {}", hop);
+                return i == hops.length - 1 ? remoteAddr : hops[i + 1].trim();
+            }
+            if (!isTrusted(hop)) {
+                return hop;
+            }
+        }
+        // 모든 항목이 신뢰하는 프록시면 가장 바깥 주소
+        return hops[0].trim();
+    }
+
+    private boolean isTrusted(String address) {
+        if (!isIpLiteral(address)) {
+            return false;
+        }
+        for (IpAddressMatcher matcher : trustedProxies) {
+            if (matcher.matches(address)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * IP 주소 형식인지 (호스트 이름은 DNS 조회를 일으키므로 비교하지 않음)
+     */
+    private static boolean isIpLiteral(String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        // IPv4는 숫자와 '.', IPv6는 16진수와 ':' (IPv4 표기 포함)
+        boolean ipv6 = value.indexOf(':') >= 0;
+        if (!ipv6 && value.indexOf('.') < 0) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c != '.' && c != ':' && Character.digit(c, ipv6 ? 16 : 10) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -1,5 +1,6 @@
 package com.codism.security;
 
+import com.codism.metrics.StorageMetrics;
 import com.codism.service.JwtService;
 import com.codism.service.RedisAuthService;
 import jakarta.servlet.FilterChain;
@@ -8,6 +9,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -26,6 +28,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
     private final RedisAuthService redisAuthService;
+    private final StorageMetrics storageMetrics;
+
+    /**
+     * Redis를 사용할 수 없을 때의 인증 정책
+     * JWT_ONLY: 로컬 JWT 서명/만료 검증만으로 인증, REJECT: 인증하지 않음
+     */
+    public enum DegradedMode {
+        JWT_ONLY, REJECT
+    }
+
+    @Value("${auth.redis.degraded-mode:JWT_ONLY}")
+    private DegradedMode degradedMode;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
@@ -35,8 +49,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = extractTokenFromRequest(request);
 
             if (token != null) {
-                // 토큰이 있을 때만 인증 시도
+                // 토큰이 있을 때만 인증 시도 (인증 단계 소요시간 기록)
+                StorageMetrics.StageSample sample = storageMetrics.start(StorageMetrics.STAGE_AUTH);
                 authenticateUser(request, token);
+                sample.stop(request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE) != null ? "authenticated" : "rejected");
             }
         } catch (Exception e) {
             log.warn("JWT 인증 처리 중 오류 발생 - URI: {}, Method: {}, Error: {}",
@@ -70,48 +86,53 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     private void authenticateUser(HttpServletRequest request, String token) {
         try {
-            // 1. 토큰 유효성 검사
-            if (!jwtService.isTokenValid(token)) {
-                log.debug("유효하지 않은 토큰");
+            // 1. 토큰 유효성 검사 (요청당 한 번만 파싱, 검증된 토큰은 캐시에서 재사용)
+            JwtPrincipal principal;
+            try {
+                principal = jwtService.parsePrincipal(token);
+            } catch (Exception e) {
+                log.debug("유효하지 않은 토큰: {}", e.getMessage());
                 return;
             }
 
             // 2. 토큰 타입 확인 (Access Token만 허용)
-            if (!jwtService.isAccessToken(token)) {
+            if (!principal.isAccessToken()) {
                 log.debug("Access Token이 아닌 토큰으로 인증 시도");
                 return;
             }
 
             // 3. 토큰에서 사용자 정보 추출
-            String userCd = null;
-            String email = null;
-            Boolean isPremium = null;
-
-            try {
-                userCd = jwtService.getUserCdFromToken(token);
-                email = jwtService.getEmailFromToken(token);
-                isPremium = jwtService.getIsPremiumFromToken(token);
-            } catch (Exception e) {
-                log.debug("토큰에서 사용자 정보 추출 실패: {}", e.getMessage());
-                return;
-            }
+            String userCd = principal.getUserCd();
+            String email = principal.getEmail();
+            Boolean isPremium = principal.getIsPremium();
 
             // 4. 필수 정보 검증
-            if (userCd == null || userCd.trim().isEmpty()) {
+            if (!JwtPrincipal.isValidUserCd(userCd)) {
                 log.debug("토큰에서 유효한 사용자 ID를 추출할 수 없음");
                 return;
             }
 
             // 5. Redis 관련 검증 (Redis 오류는 무시하고 진행)
             try {
-                // 블랙리스트 확인
-                if (redisAuthService.isTokenBlacklisted(token)) {
+                // 블랙리스트 확인과 저장된 토큰 조회를 한 번에 수행 (near-cache 적중 시 네트워크 호출 없음)
+                StorageMetrics.StageSample redisSample = storageMetrics.start(StorageMetrics.STAGE_REDIS).user(userCd);
+                RedisAuthService.AccessTokenStatus status = redisAuthService.checkAccessToken(userCd, token);
+                redisSample.stop(!status.verified() ? "unverified" : status.blacklisted() ? "blacklisted" : "verified");
+                if (!status.verified()) {
+                    // Redis 장애 시 설정된 degraded 모드에 따라 JWT 검증만으로 인증하거나 거부
+                    if (degradedMode == DegradedMode.REJECT) {
+                        log.warn("Redis 검증 불가, degraded 모드 REJECT로 인증 거부 - UserCd: {}", userCd);
+                        return;
+                    }
+                    log.debug("Redis 검증 불가, JWT 검증만으로 인증 진행 - UserCd: {}", userCd);
+                }
+                if (status.blacklisted()) {
                     log.debug("블랙리스트에 등록된 토큰 - UserCd: {}", userCd);
                     return;
                 }
 
                 // Redis에 저장된 토큰과 비교
-                String storedToken = redisAuthService.getAccessToken(userCd);
+                String storedToken = status.storedToken();
                 if (storedToken != null && !token.equals(storedToken)) {
                     log.debug("Redis에 저장된 토큰과 불일치 - UserCd: {}", userCd);
                     return;
@@ -134,6 +155,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
             // 8. SecurityContext에 인증 정보 설정
             SecurityContextHolder.getContext().setAuthentication(authentication);
+            request.setAttribute(JwtPrincipal.REQUEST_ATTRIBUTE, principal);
 
             log.debug("JWT 인증 성공 - UserCd: {}, Email: {}, IsPremium: {}", userCd, email, isPremium);
 
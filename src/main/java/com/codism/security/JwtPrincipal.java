@@ -0,0 +1,46 @@
+package com.codism.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+
+/**
+ * 서명 검증이 끝난 JWT에서 추출한 사용자 정보
+ * 요청당 한 번만 파싱하여 request attribute로 공유한다.
+ */
+@Getter
+@AllArgsConstructor
+public class JwtPrincipal {
+    public static final String REQUEST_ATTRIBUTE = JwtPrincipal.class.getName();
+
+    private final String tokenDigest;
+    private final String userCd;
+    private final String email;
+    private final Boolean isPremium;
+    private final String tokenType;
+    private final Date expiration;
+
+    public boolean isAccessToken() {
+        return "ACCESS".equals(tokenType);
+    }
+
+    public boolean isRefreshToken() {
+        return "REFRESH".equals(tokenType);
+    }
+
+    public boolean isExpired() {
+        return expiration != null && expiration.before(new Date());
+    }
+
+    /**
+     * 사용자 코드로 쓸 수 있는 값인지 (사용자 디렉토리 이름으로 쓰이므로 경로 구분자, "..", "."으로 시작하는 값은 거부)
+     * "."으로 시작하는 값은 워밍업 등 내부 용도로 예약되어 있다.
+     */
+    public static boolean isValidUserCd(String userCd) {
+        return userCd != null && !userCd.isBlank()
+                && !userCd.startsWith(".")
+                && userCd.indexOf('/') < 0 && userCd.indexOf('\\') < 0
+                && !userCd.contains("..");
+    }
+}
@@ -0,0 +1,119 @@
+package com.codism.security;
+
+import com.codism.config.error.entity.ErrorEntityBody;
+import com.codism.config.error.type.ErrorCode;
+import com.codism.metrics.StorageMetrics;
+import com.codism.service.ClusterRing;
+import com.codism.service.RateLimitService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 사용자(userCd) 및 클라이언트 IP 단위 요청 제한 필터
+ * JwtAuthenticationFilter 다음, 멀티파트 본문을 읽기 전에 실행되어 초과 요청을 429로 거부한다.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitService rateLimitService;
+    private final ObjectMapper objectMapper;
+    private final StorageMetrics storageMetrics;
+    private final ClusterRing clusterRing;
+    private final ClientIpResolver clientIpResolver;
+
+    @Value("${rate-limit.enabled:true}")
+    private boolean enabled;
+
+    @Value("${rate-limit.user.rate-per-sec:10}")
+    private double userRatePerSecond;
+
+    @Value("${rate-limit.user.capacity:40}")
+    private long userCapacity;
+
+    @Value("${rate-limit.ip.rate-per-sec:30}")
+    private double ipRatePerSecond;
+
+    @Value("${rate-limit.ip.capacity:100}")
+    private long ipCapacity;
+
+    // 업로드는 디스크와 대역폭을 많이 사용하므로 더 많은 토큰을 소모
+    @Value("${rate-limit.upload-cost:5}")
+    private long uploadCost;
+
+    public RateLimitFilter(RateLimitService rateLimitService, ObjectMapper objectMapper, StorageMetrics storageMetrics,
+                           ClusterRing clusterRing, ClientIpResolver clientIpResolver) {
+        this.rateLimitService = rateLimitService;
+        this.objectMapper = objectMapper;
+        this.storageMetrics = storageMetrics;
+        this.clusterRing = clusterRing;
+        this.clientIpResolver = clientIpResolver;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        Object principal = request.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+        long retryAfterMs = acquire(clientIpResolver.resolve(request),
+                principal instanceof JwtPrincipal jwtPrincipal ? jwtPrincipal.getUserCd() : null, isUpload(request));
+
+        if (retryAfterMs > 0) {
+            log.debug("요청 제한 초과 - URI: {}, RetryAfterMs: {}", request.getRequestURI(), retryAfterMs);
+            writeTooManyRequests(response, retryAfterMs);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * 클라이언트 IP, 사용자 순으로 토큰 소모 (서블릿 밖의 /api/v2 업로드도 같은 한도를 쓰도록 공개)
+     *
+     * @param userCd 인증되지 않은 요청이면 null
+     * @return 허용되면 0, 거부되면 재시도까지 남은 ms
+     */
+    public long acquire(String clientIp, String userCd, boolean upload) {
+        if (!enabled) {
+            return 0;
+        }
+        long cost = upload ? uploadCost : 1;
+        long retryAfterMs = rateLimitService.tryAcquire("ip:" + clientIp, ipRatePerSecond, ipCapacity, cost);
+        if (retryAfterMs == 0 && userCd != null) {
+            retryAfterMs = rateLimitService.tryAcquire("user:" + userCd, userRatePerSecond, userCapacity, cost);
+        }
+        return retryAfterMs;
+    }
+
+    private void writeTooManyRequests(HttpServletResponse response, long retryAfterMs) throws IOException {
+        // 필터에서 직접 응답하므로 ErrorMetricsAdvice를 거치지 않음
+        storageMetrics.recordError(ErrorCode.TOO_MANY_REQUESTS.name());
+        response.setStatus(ErrorCode.TOO_MANY_REQUESTS.getCode());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((retryAfterMs + 999) / 1000));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(),
+                new ErrorEntityBody(ErrorCode.TOO_MANY_REQUESTS.name(), ErrorCode.TOO_MANY_REQUESTS.getMessage()));
+    }
+
+    private boolean isUpload(HttpServletRequest request) {
+        return "POST".equals(request.getMethod()) && request.getRequestURI().contains("/upload");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) throws ServletException {
+        // 모니터링/문서 경로와 노드 간 요청은 제한하지 않음 (최종 클라이언트를 받은 노드에서 이미 제한됨)
+        String uri = request.getRequestURI();
+        return !enabled || !uri.startsWith("/api/") || clusterRing.isTrustedPeer(request);
+    }
+}
@@ -0,0 +1,79 @@
+package com.codism.security;
+
+import com.codism.service.JwtService;
+import com.codism.service.RedisAuthService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * STOMP CONNECT 프레임의 Authorization 헤더로 세션 사용자 설정
+ * 세션 사용자(userCd)가 있어야 /user/queue/uploads 같은 사용자별 목적지로 메시지를 받을 수 있다.
+ * JwtAuthenticationFilter와 같은 규칙으로 검증한다 (폐기/블랙리스트 토큰, 잘못된 userCd는 사용자를 설정하지 않음).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private final JwtService jwtService;
+    private final RedisAuthService redisAuthService;
+
+    @Value("${auth.redis.degraded-mode:JWT_ONLY}")
+    private JwtAuthenticationFilter.DegradedMode degradedMode;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || !StompCommand.CONNECT.equals(accessor.getCommand())) {
+            return message;
+        }
+
+        String bearerToken = accessor.getFirstNativeHeader("Authorization");
+        if (bearerToken == null || !bearerToken.startsWith("Bearer ")) {
+            return message;
+        }
+
+        try {
+            String token = bearerToken.substring(7).trim();
+            JwtPrincipal principal = jwtService.parsePrincipal(token);
+            if (principal.isAccessToken() && JwtPrincipal.isValidUserCd(principal.getUserCd())
+                    && isActive(principal.getUserCd(), token)) {
+                String role = Boolean.TRUE.equals(principal.getIsPremium()) ? "ROLE_PREMIUM_USER" : "ROLE_USER";
+                accessor.setUser(new UsernamePasswordAuthenticationToken(
+                        principal.getUserCd(), null, List.of(new SimpleGrantedAuthority(role))));
+            }
+        } catch (Exception e) {
+            log.debug("STOMP 연결 토큰 검증 실패: {}", e.getMessage());
+        }
+        return message;
+    }
+
+    /**
+     * 로그아웃(블랙리스트)되거나 재발급으로 교체된 토큰이 아닌지 (Redis 장애 시에는 degraded 모드를 따름)
+     */
+    private boolean isActive(String userCd, String token) {
+        try {
+            RedisAuthService.AccessTokenStatus status = redisAuthService.checkAccessToken(userCd, token);
+            if (!status.verified()) {
+                return degradedMode != JwtAuthenticationFilter.DegradedMode.REJECT;
+            }
+            return !status.blacklisted() && (status.storedToken() == null || token.equals(status.storedToken()));
+        } catch (Exception e) {
+            // HTTP 필터와 같이 Redis 오류는 로그만 남기고 인증 진행
+            log.warn("STOMP 연결 Redis 검증 중 오류 발생, 인증 진행 - UserCd: {}, Error: {}", userCd, e.getMessage());
+            return true;
+        }
+    }
+}
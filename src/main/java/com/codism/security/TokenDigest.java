@@ -0,0 +1,41 @@
+package com.codism.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * 토큰 원문 대신 캐시 키, Redis 키로 사용할 SHA-256 다이제스트 생성
+ */
+public final class TokenDigest {
+
+    private TokenDigest() {
+    }
+
+    /**
+     * 토큰의 SHA-256 다이제스트 (URL-safe Base64, 패딩 없음)
+     */
+    public static String of(String token) {
+        return encode(bytes(token));
+    }
+
+    /**
+     * 토큰의 SHA-256 다이제스트 원본 바이트
+     */
+    public static byte[] bytes(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 지원하지 않는 JVM입니다", e);
+        }
+    }
+
+    public static String encode(byte[] digest) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+    }
+
+    public static byte[] decode(String digest) {
+        return Base64.getUrlDecoder().decode(digest);
+    }
+}
@@ -0,0 +1,86 @@
+package com.codism.service;
+
+import com.codism.io.ByteRateLimiter;
+import com.codism.io.ThrottledInputStream;
+import com.codism.io.ThrottledResource;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.InputStream;
+import java.time.Duration;
+
+/**
+ * 사용자별 업로드/다운로드 전송 속도 제한
+ * 노드 단위로 동작하며, 0 이하로 설정하면 해당 방향의 제한을 적용하지 않는다.
+ */
+@Service
+public class BandwidthThrottleService {
+
+    private final long uploadBytesPerSecond;
+    private final long downloadBytesPerSecond;
+    private final double burstSeconds;
+
+    private final Cache<String, ByteRateLimiter> uploadLimiters;
+    private final Cache<String, ByteRateLimiter> downloadLimiters;
+
+    public BandwidthThrottleService(
+            @Value("${rate-limit.bandwidth.upload-bytes-per-sec:10485760}") long uploadBytesPerSecond,
+            @Value("${rate-limit.bandwidth.download-bytes-per-sec:20971520}") long downloadBytesPerSecond,
+            @Value("${rate-limit.bandwidth.burst-seconds:1.0}") double burstSeconds
+    ) {
+        this.uploadBytesPerSecond = uploadBytesPerSecond;
+        this.downloadBytesPerSecond = downloadBytesPerSecond;
+        this.burstSeconds = burstSeconds;
+        this.uploadLimiters = Caffeine.newBuilder().expireAfterAccess(Duration.ofMinutes(10)).build();
+        this.downloadLimiters = Caffeine.newBuilder().expireAfterAccess(Duration.ofMinutes(10)).build();
+    }
+
+    /**
+     * 업로드 스트림에 사용자별 속도 제한 적용
+     */
+    public InputStream throttleUpload(String userCd, InputStream inputStream) {
+        if (uploadBytesPerSecond <= 0 || userCd == null) {
+            return inputStream;
+        }
+        ByteRateLimiter limiter = uploadLimiters.get(userCd, key -> new ByteRateLimiter(uploadBytesPerSecond, burstSeconds));
+        return new ThrottledInputStream(inputStream, limiter);
+    }
+
+    /**
+     * 논블로킹 업로드 본문에 사용자별 속도 제한 적용 (스레드를 멈추지 않고 버퍼 전달을 지연)
+     * throttleUpload(InputStream)과 같은 사용자별 버킷을 쓰므로 v1/v2 업로드가 한도를 나눠 쓴다.
+     */
+    public Flux<DataBuffer> throttleUpload(String userCd, Flux<DataBuffer> content) {
+        if (uploadBytesPerSecond <= 0 || userCd == null) {
+            return content;
+        }
+        ByteRateLimiter limiter = uploadLimiters.get(userCd, key -> new ByteRateLimiter(uploadBytesPerSecond, burstSeconds));
+        return content
+                .concatMap(buffer -> {
+                    long waitNanos = limiter.reserve(buffer.readableByteCount());
+                    return waitNanos > 0
+                            ? Mono.just(buffer).delayElement(Duration.ofNanos(waitNanos))
+                            : Mono.just(buffer);
+                })
+                // 지연 중 취소되면 전달하지 못한 버퍼 해제
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    /**
+     * 다운로드 응답에 사용자(또는 클라이언트 IP)별 속도 제한 적용
+     */
+    public Resource throttleDownload(String clientKey, Resource resource) {
+        if (downloadBytesPerSecond <= 0 || clientKey == null) {
+            return resource;
+        }
+        ByteRateLimiter limiter = downloadLimiters.get(clientKey, key -> new ByteRateLimiter(downloadBytesPerSecond, burstSeconds));
+        return new ThrottledResource(resource, limiter);
+    }
+}
@@ -0,0 +1,318 @@
+package com.codism.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.cloud.client.discovery.event.HeartbeatEvent;
+import org.springframework.cloud.client.serviceregistry.Registration;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Eureka 인스턴스 목록 기반 consistent hash ring
+ * 파일 위치(userCd/division/파일명)를 해시하여 소유 노드를 결정한다.
+ * 인스턴스마다 가상 노드를 두어 노드 추가/제거 시 약 1/N의 파일만 소유자가 바뀐다.
+ * Eureka 레지스트리 갱신(HeartbeatEvent)마다 멤버 변경을 확인하여 ring을 다시 만든다.
+ */
+@Slf4j
+@Service
+public class ClusterRing {
+
+    // 노드 간 요청 표시 (값: 요청한 노드의 instanceId), 이 헤더가 있으면 다른 노드로 다시 전달하지 않음
+    public static final String PEER_HEADER = "X-Cluster-Peer";
+    public static final String PEER_SECRET_HEADER = "X-Cluster-Secret";
+
+    public record Node(String instanceId, URI uri) {
+    }
+
+    /**
+     * 불변 ring 스냅샷 (points 오름차순, owners[i]는 points[i]의 소유 노드)
+     */
+    private record Snapshot(long[] points, Node[] owners, List<Node> members) {
+
+        static final Snapshot EMPTY = new Snapshot(new long[0], new Node[0], List.of());
+
+        Node ownerOf(long hash) {
+            if (points.length == 0) {
+                return null;
+            }
+            return owners[indexOf(hash)];
+        }
+
+        List<Node> walk(long hash, int count) {
+            List<Node> result = new ArrayList<>(count);
+            if (points.length == 0) {
+                return result;
+            }
+            int start = indexOf(hash);
+            for (int i = 0; i < points.length && result.size() < count; i++) {
+                Node node = owners[(start + i) % points.length];
+                if (!result.contains(node)) {
+                    result.add(node);
+                }
+            }
+            return result;
+        }
+
+        private int indexOf(long hash) {
+            int idx = Arrays.binarySearch(points, hash);
+            if (idx < 0) {
+                idx = -idx - 1;
+            }
+            return idx == points.length ? 0 : idx;
+        }
+    }
+
+    private final DiscoveryClient discoveryClient;
+    private final ObjectProvider<Registration> registrationProvider;
+    private final boolean enabled;
+    private final String serviceId;
+    private final int virtualNodes;
+    private final byte[] peerSecret;
+
+    private volatile Snapshot current = Snapshot.EMPTY;
+    // 직전 ring (멤버 변경 직후 소유자가 바뀐 파일은 이전 소유자에게 남아 있음)
+    private volatile Snapshot previous = Snapshot.EMPTY;
+    private volatile String membershipSignature = "";
+    // ring이 재구성될 때마다 증가 (멤버 변경 감지용)
+    private final AtomicLong version = new AtomicLong();
+
+    public ClusterRing(
+            DiscoveryClient discoveryClient,
+            ObjectProvider<Registration> registrationProvider,
+            MeterRegistry meterRegistry,
+            @Value("${file.cluster.enabled:false}") boolean enabled,
+            @Value("${file.cluster.service-id:${spring.application.name}}") String serviceId,
+            @Value("${file.cluster.virtual-nodes:128}") int virtualNodes,
+            @Value("${file.cluster.peer-secret:}") String peerSecret
+    ) {
+        this.discoveryClient = discoveryClient;
+        this.registrationProvider = registrationProvider;
+        this.enabled = enabled;
+        this.serviceId = serviceId;
+        this.virtualNodes = virtualNodes;
+        this.peerSecret = peerSecret.getBytes(StandardCharsets.UTF_8);
+
+        Gauge.builder("cluster.ring.members", this, ring -> ring.current.members().size())
+                .description("consistent hash ring에 참여 중인 노드 수")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        refresh();
+    }
+
+    /**
+     * Eureka 레지스트리를 다시 받아올 때마다 발행됨
+     */
+    @EventListener(HeartbeatEvent.class)
+    public void onHeartbeat() {
+        refresh();
+    }
+
+    /**
+     * 멤버 목록이 바뀐 경우에만 ring 재구성
+     */
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        List<Node> members;
+        try {
+            members = discoverMembers();
+        } catch (Exception e) {
+            log.warn("클러스터 멤버 조회 실패, 기존 ring 유지 - Error: {}", e.getMessage());
+            return;
+        }
+
+        String signature = members.stream()
+                .map(node -> node.instanceId() + "@" + node.uri())
+                .reduce((a, b) -> a + "," + b)
+                .orElse("");
+        if (signature.equals(membershipSignature)) {
+            return;
+        }
+
+        Snapshot rebuilt = build(members);
+        previous = current;
+        current = rebuilt;
+        membershipSignature = signature;
+        version.incrementAndGet();
+        log.info("클러스터 ring 재구성 - 멤버: {}, 가상 노드: {}", signature, rebuilt.points().length);
+    }
+
+    private List<Node> discoverMembers() {
+        Set<Node> members = new LinkedHashSet<>();
+        for (ServiceInstance instance : discoveryClient.getInstances(serviceId)) {
+            members.add(new Node(instance.getInstanceId(), instance.getUri()));
+        }
+        // 아직 레지스트리에 반영되지 않은 자기 자신도 포함
+        Node self = self();
+        if (self != null && members.stream().noneMatch(node -> node.instanceId().equals(self.instanceId()))) {
+            members.add(self);
+        }
+        List<Node> sorted = new ArrayList<>(members);
+        sorted.sort(Comparator.comparing(Node::instanceId));
+        return sorted;
+    }
+
+    private Snapshot build(List<Node> members) {
+        int size = members.size() * virtualNodes;
+        long[] points = new long[size];
+        Node[] pointOwners = new Node[size];
+        Integer[] order = new Integer[size];
+        int i = 0;
+        for (Node node : members) {
+            for (int v = 0; v < virtualNodes; v++) {
+                points[i] = hash(node.instanceId() + "#" + v);
+                pointOwners[i] = node;
+                order[i] = i;
+                i++;
+            }
+        }
+        Arrays.sort(order, Comparator.comparingLong(idx -> points[idx]));
+
+        long[] sortedPoints = new long[size];
+        Node[] sortedOwners = new Node[size];
+        for (int k = 0; k < size; k++) {
+            sortedPoints[k] = points[order[k]];
+            sortedOwners[k] = pointOwners[order[k]];
+        }
+        return new Snapshot(sortedPoints, sortedOwners, List.copyOf(members));
+    }
+
+    public boolean isEnabled() {
+        return enabled && current.members().size() > 1;
+    }
+
+    /**
+     * 파일 위치의 소유 노드 (클러스터 비활성화 시 null)
+     */
+    public Node ownerOf(String fileLocation) {
+        return enabled ? current.ownerOf(hash(fileLocation)) : null;
+    }
+
+    /**
+     * 이 노드가 파일 위치의 소유자인지 (클러스터 비활성화, 단일 노드, 미등록 상태이면 항상 true)
+     */
+    public boolean isLocalOwner(String fileLocation) {
+        Node owner = ownerOf(fileLocation);
+        return owner == null || self() == null || isSelf(owner);
+    }
+
+    /**
+     * ring 순서대로 파일 위치를 담당하는 노드 count개 (첫 번째가 소유자)
+     */
+    public List<Node> preferenceList(String fileLocation, int count) {
+        return enabled ? current.walk(hash(fileLocation), count) : List.of();
+    }
+
+    /**
+     * 로컬에 없는 파일을 가져올 원격 노드 순서 (현재 소유자와 복제본 노드, 직전 ring의 소유자)
+     *
+     * @param replicas 복제 계수 (소유자 포함)
+     */
+    public List<Node> readCandidates(String fileLocation, int replicas) {
+        if (!enabled) {
+            return List.of();
+        }
+        long hash = hash(fileLocation);
+        Set<Node> candidates = new LinkedHashSet<>(current.walk(hash, Math.max(1, replicas)));
+        Node previousOwner = previous.ownerOf(hash);
+        if (previousOwner != null) {
+            candidates.add(previousOwner);
+        }
+        candidates.removeIf(this::isSelf);
+        return List.copyOf(candidates);
+    }
+
+    public List<Node> getMembers() {
+        return current.members();
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public boolean isSelf(Node node) {
+        Node self = self();
+        return self != null && self.instanceId().equals(node.instanceId());
+    }
+
+    public String selfId() {
+        Node self = self();
+        return self != null ? self.instanceId() : "local";
+    }
+
+    private Node self() {
+        Registration registration = registrationProvider.getIfAvailable();
+        return registration != null ? new Node(registration.getInstanceId(), registration.getUri()) : null;
+    }
+
+    /**
+     * 다른 노드가 보낸 요청인지 (다시 전달하지 않기 위한 표시만 확인)
+     */
+    public boolean isPeerRequest(HttpServletRequest request) {
+        return StringUtils.hasText(request.getHeader(PEER_HEADER));
+    }
+
+    /**
+     * 공유 비밀값까지 일치하는 노드 간 요청인지 (비밀값 미설정 시 false)
+     */
+    public boolean isTrustedPeer(HttpServletRequest request) {
+        String secret = request.getHeader(PEER_SECRET_HEADER);
+        return peerSecret.length > 0 && secret != null
+                && MessageDigest.isEqual(peerSecret, secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean hasPeerSecret() {
+        return peerSecret.length > 0;
+    }
+
+    /**
+     * 다른 노드로 보내는 요청에 노드 간 요청 헤더 설정
+     */
+    public void applyPeerHeaders(HttpHeaders headers) {
+        headers.set(PEER_HEADER, selfId());
+        if (peerSecret.length > 0) {
+            headers.set(PEER_SECRET_HEADER, new String(peerSecret, StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * MD5 앞 8바이트 (ketama 방식, 노드/파일 모두 같은 함수로 ring에 배치)
+     */
+    static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long h = 0;
+            for (int i = 0; i < 8; i++) {
+                h = (h << 8) | (digest[i] & 0xff);
+            }
+            return h;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.codism.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 압축 가능한 파일(텍스트, JSON, SVG, CSV, 로그 등)의 저장 시 gzip 압축
+ * 압축된 파일은 원래 위치에 .gz를 붙인 경로에 저장하고, 파일 위치(fileLocation)는 그대로 유지한다.
+ * 압축 여부는 확장자로만 정하므로 저장 경로만 보고도 원래 위치를 알 수 있다 (복제 복구 검사 등).
+ * 확장자가 맞아도 앞부분이 바이너리이거나 이미 압축된 형식이면 압축하지 않는다.
+ */
+@Slf4j
+@Service
+public class ContentCompressionService {
+
+    public static final String GZIP_SUFFIX = ".gz";
+    public static final String GZIP_ENCODING = "gzip";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    // 내용 확인에 쓰는 앞부분 크기
+    private static final int SNIFF_SIZE = 512;
+
+    private final boolean enabled;
+    private final int level;
+    private final long minSize;
+    private final Set<String> extensions;
+
+    private final Counter originalBytes;
+    private final Counter storedBytes;
+
+    public ContentCompressionService(
+            MeterRegistry meterRegistry,
+            @Value("${file.compression.enabled:true}") boolean enabled,
+            @Value("${file.compression.level:1}") int level,
+            @Value("${file.compression.min-size:1KB}") DataSize minSize,
+            @Value("${file.compression.extensions:txt,log,csv,tsv,json,xml,svg,html,htm,css,js,md,yaml,yml}") String[] extensions
+    ) {
+        this.enabled = enabled;
+        this.level = level;
+        this.minSize = minSize.toBytes();
+        this.extensions = Arrays.stream(extensions)
+                .map(extension -> extension.trim().toLowerCase(Locale.ROOT))
+                .filter(StringUtils::hasText)
+                .collect(Collectors.toUnmodifiableSet());
+        this.originalBytes = Counter.builder("storage.compression.bytes")
+                .tag("form", "original")
+                .baseUnit("bytes")
+                .description("압축 저장한 파일의 원래 바이트 수")
+                .register(meterRegistry);
+        this.storedBytes = Counter.builder("storage.compression.bytes")
+                .tag("form", "stored")
+                .baseUnit("bytes")
+                .description("압축 저장한 파일의 디스크 바이트 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 압축 대상 확장자인지 (압축 여부 판단과 저장 경로 → 원래 위치 변환에 같이 사용)
+     * 압축을 꺼도 이미 압축 저장된 파일은 계속 찾을 수 있도록 enabled와 무관하게 판단한다.
+     */
+    public boolean isCompressibleName(String fileName) {
+        String extension = StringUtils.getFilenameExtension(fileName);
+        return extension != null && extensions.contains(extension.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * 압축해서 저장할지 판단 (확장자, 최소 크기, 앞부분 내용 확인)
+     *
+     * @param in mark/reset을 지원하는 스트림 (확인한 앞부분은 다시 읽을 수 있게 되돌림)
+     */
+    public boolean shouldCompress(String fileName, long size, InputStream in) throws IOException {
+        if (!enabled || !isCompressibleName(fileName) || size < minSize || !in.markSupported()) {
+            return false;
+        }
+        in.mark(SNIFF_SIZE);
+        byte[] head = in.readNBytes(SNIFF_SIZE);
+        in.reset();
+        return looksLikeText(head);
+    }
+
+    /**
+     * NUL 바이트가 없고 gzip/zip 시그니처로 시작하지 않으면 텍스트로 본다
+     */
+    private boolean looksLikeText(byte[] head) {
+        if (head.length >= 2 && (head[0] & 0xff) == 0x1f && (head[1] & 0xff) == 0x8b) {
+            return false;
+        }
+        if (head.length >= 2 && head[0] == 'P' && head[1] == 'K') {
+            return false;
+        }
+        for (byte b : head) {
+            if (b == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 스트림을 gzip으로 압축해 저장
+     *
+     * @return 읽은 원래 바이트 수
+     */
+    public long compress(InputStream in, Path target) throws IOException {
+        long read;
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(target), BUFFER_SIZE) {
+            {
+                def.setLevel(level);
+            }
+        }) {
+            read = in.transferTo(out);
+        }
+        long stored = Files.size(target);
+        originalBytes.increment(read);
+        storedBytes.increment(stored);
+        log.debug("압축 저장 - {}: {} -> {} bytes", target.getFileName(), read, stored);
+        return read;
+    }
+
+    public Path compressedPath(Path path) {
+        return path.resolveSibling(path.getFileName() + GZIP_SUFFIX);
+    }
+
+    /**
+     * 디스크상 상대 경로를 파일 위치로 변환 (압축 저장된 파일이면 .gz 제거)
+     */
+    public String logicalLocation(String storedLocation) {
+        if (storedLocation.endsWith(GZIP_SUFFIX)) {
+            String location = storedLocation.substring(0, storedLocation.length() - GZIP_SUFFIX.length());
+            if (isCompressibleName(location)) {
+                return location;
+            }
+        }
+        return storedLocation;
+    }
+
+    /**
+     * Accept-Encoding 헤더가 gzip을 허용하는지 (q=0이면 거부)
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (!StringUtils.hasText(acceptEncoding)) {
+            return false;
+        }
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            String coding = parts[0].trim();
+            if (!coding.equalsIgnoreCase(GZIP_ENCODING) && !coding.equals("*")) {
+                continue;
+            }
+            boolean refused = Arrays.stream(parts).skip(1)
+                    .map(String::trim)
+                    .anyMatch(param -> param.startsWith("q=") && isZero(param.substring(2)));
+            return !refused;
+        }
+        return false;
+    }
+
+    private static boolean isZero(String quality) {
+        try {
+            return Double.parseDouble(quality.trim()) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.codism.service;
+
+import com.codism.model.dto.FileEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 파일 생성/삭제/검수 이벤트를 Redis Stream(file:events)에 기록
+ * 요청 처리 중에는 메모리 큐에 넣기만 하고, 주기적으로 모아서 한 번의 파이프라인으로 XADD 한다.
+ * 스트림은 MAXLEN ~ 으로 길이를 제한하고, 로컬 큐도 용량을 넘으면 가장 오래된 이벤트부터 버린다.
+ */
+@Slf4j
+@Service
+public class FileEventLog {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String streamKey;
+    private final long maxLength;
+    private final int bufferCapacity;
+
+    private final BlockingQueue<FileEvent> buffer;
+    // 전송 실패한 배치 (다음 flush에서 먼저 재시도)
+    private final Deque<FileEvent> retry = new ArrayDeque<>();
+
+    private final Counter droppedCounter;
+
+    public FileEventLog(
+            StringRedisTemplate stringRedisTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${file.events.stream-key:file:events}") String streamKey,
+            @Value("${file.events.max-length:100000}") long maxLength,
+            @Value("${file.events.buffer-capacity:10000}") int bufferCapacity
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.streamKey = streamKey;
+        this.maxLength = maxLength;
+        this.bufferCapacity = bufferCapacity;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.droppedCounter = Counter.builder("file.events.dropped")
+                .description("버퍼 초과로 버려진 파일 이벤트 수")
+                .register(meterRegistry);
+        Gauge.builder("file.events.buffered", buffer, BlockingQueue::size)
+                .description("Redis Stream 기록 대기 중인 파일 이벤트 수")
+                .register(meterRegistry);
+    }
+
+    public void created(String userCd, String fileLocation, long size, String contentType) {
+        append(FileEvent.builder()
+                .type(FileEvent.Type.CREATED)
+                .userCd(userCd)
+                .fileLocation(fileLocation)
+                .size(size)
+                .contentType(contentType));
+    }
+
+    public void deleted(String userCd, String fileLocation) {
+        append(FileEvent.builder()
+                .type(FileEvent.Type.DELETED)
+                .userCd(userCd)
+                .fileLocation(fileLocation));
+    }
+
+    public void moderated(String userCd, String fileLocation, String verdict) {
+        append(FileEvent.builder()
+                .type(FileEvent.Type.MODERATED)
+                .userCd(userCd)
+                .fileLocation(fileLocation)
+                .verdict(verdict));
+    }
+
+    private void append(FileEvent.FileEventBuilder builder) {
+        FileEvent event = builder.timestamp(System.currentTimeMillis()).build();
+        // 큐가 가득 차면 가장 오래된 이벤트를 버리고 최신 이벤트를 유지
+        while (!buffer.offer(event)) {
+            if (buffer.poll() != null) {
+                droppedCounter.increment();
+            }
+        }
+    }
+
+    /**
+     * 모인 이벤트를 파이프라인 XADD (MAXLEN ~) 로 기록
+     */
+    @Scheduled(fixedDelayString = "${file.events.flush-interval-ms:200}")
+    public void flush() {
+        List<FileEvent> batch = new ArrayList<>(retry);
+        retry.clear();
+        buffer.drainTo(batch, bufferCapacity);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        XAddOptions options = XAddOptions.maxlen(maxLength).approximateTrimming(true);
+        try {
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                for (FileEvent event : batch) {
+                    stringConnection.xAdd(StreamRecords.string(event.toFields()).withStreamKey(streamKey), options);
+                }
+                return null;
+            });
+        } catch (Exception e) {
+            log.warn("파일 이벤트 기록 실패, 다음 주기에 재시도 - 건수: {}, Error: {}", batch.size(), e.getMessage());
+            // 재시도 대기분도 버퍼 용량을 넘지 않도록 오래된 이벤트부터 버림
+            int overflow = batch.size() - bufferCapacity;
+            if (overflow > 0) {
+                droppedCounter.increment(overflow);
+            }
+            retry.addAll(batch.subList(Math.max(overflow, 0), batch.size()));
+        }
+    }
+
+    public String getStreamKey() {
+        return streamKey;
+    }
+}
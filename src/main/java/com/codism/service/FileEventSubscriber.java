@@ -0,0 +1,202 @@
+package com.codism.service;
+
+import com.codism.model.dto.FileEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.MapRecord;
+import org.springframework.data.redis.connection.stream.PendingMessage;
+import org.springframework.data.redis.connection.stream.PendingMessages;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.RecordId;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer;
+import org.springframework.data.redis.stream.StreamMessageListenerContainer.StreamMessageListenerContainerOptions;
+import org.springframework.data.redis.stream.Subscription;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 파일 이벤트 스트림 consumer group 구독 도우미 (at-least-once)
+ * - 처리 함수가 정상 종료된 레코드만 XACK 하므로, 실패하거나 처리 중 종료된 레코드는 PEL에 남는다.
+ * - 구독 시작 시 자기 consumer의 미확인 레코드를 먼저 다시 처리한다.
+ * - 다른 consumer가 죽어 방치된 레코드는 claimStale로 가져와 처리할 수 있다.
+ * - 한 번에 읽는 건수(batch-size)로 consumer 메모리 사용량을 제한한다.
+ */
+@Slf4j
+@Service
+public class FileEventSubscriber {
+
+    /**
+     * 이벤트 처리 함수 (예외를 던지면 ACK 하지 않음)
+     */
+    @FunctionalInterface
+    public interface FileEventHandler {
+        void handle(FileEvent event) throws Exception;
+    }
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String streamKey;
+    private final int batchSize;
+    private final StreamMessageListenerContainer<String, MapRecord<String, String, String>> container;
+
+    public FileEventSubscriber(
+            RedisConnectionFactory redisConnectionFactory,
+            StringRedisTemplate stringRedisTemplate,
+            FileEventLog fileEventLog,
+            @Value("${file.events.consumer.batch-size:100}") int batchSize,
+            @Value("${file.events.consumer.poll-timeout-ms:2000}") long pollTimeoutMs
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.streamKey = fileEventLog.getStreamKey();
+        this.batchSize = batchSize;
+
+        StreamMessageListenerContainerOptions<String, MapRecord<String, String, String>> options =
+                StreamMessageListenerContainerOptions.builder()
+                        .batchSize(batchSize)
+                        .pollTimeout(Duration.ofMillis(pollTimeoutMs))
+                        .errorHandler(e -> log.warn("파일 이벤트 스트림 읽기 오류: {}", e.getMessage()))
+                        .build();
+        this.container = StreamMessageListenerContainer.create(redisConnectionFactory, options);
+    }
+
+    /**
+     * consumer group으로 구독 시작 (그룹이 없으면 스트림과 함께 생성)
+     *
+     * @param group consumer group 이름 (서비스 단위)
+     * @param consumerName group 내 consumer 이름 (인스턴스 단위, 재기동 후에도 같은 이름 사용)
+     * @param handler 이벤트 처리 함수
+     */
+    public Subscription subscribe(String group, String consumerName, FileEventHandler handler) {
+        createGroupIfAbsent(group);
+        Consumer consumer = Consumer.from(group, consumerName);
+
+        // 이전 실행에서 ACK 하지 못한 레코드 재처리
+        recoverPending(consumer, handler);
+
+        Subscription subscription = container.register(
+                StreamMessageListenerContainer.StreamReadRequest.builder(StreamOffset.create(streamKey, ReadOffset.lastConsumed()))
+                        .consumer(consumer)
+                        .autoAcknowledge(false)
+                        .cancelOnError(e -> false)
+                        .build(),
+                record -> process(group, record, handler));
+
+        if (!container.isRunning()) {
+            container.start();
+        }
+        log.info("파일 이벤트 구독 시작 - stream: {}, group: {}, consumer: {}", streamKey, group, consumerName);
+        return subscription;
+    }
+
+    /**
+     * consumer group 없이 구독 시작 이후의 새 이벤트만 받음 (ACK/재처리 없음, 노드 로컬 캐시 무효화 등 best-effort 용도)
+     */
+    public Subscription tail(FileEventHandler handler) {
+        Subscription subscription = container.receive(StreamOffset.create(streamKey, ReadOffset.latest()), record -> {
+            try {
+                handler.handle(FileEvent.fromFields(record.getValue()));
+            } catch (Exception e) {
+                log.warn("파일 이벤트 처리 실패 - id: {}, Error: {}", record.getId(), e.getMessage());
+            }
+        });
+
+        if (!container.isRunning()) {
+            container.start();
+        }
+        log.info("파일 이벤트 구독 시작 - stream: {}, group 없음", streamKey);
+        return subscription;
+    }
+
+    /**
+     * 다른 consumer에 배달된 뒤 minIdle 이상 확인되지 않은 레코드를 가져와 처리
+     *
+     * @return 처리한 레코드 수
+     */
+    public int claimStale(String group, String consumerName, Duration minIdle, FileEventHandler handler) {
+        PendingMessages pending = stringRedisTemplate.opsForStream()
+                .pending(streamKey, group, Range.unbounded(), batchSize);
+        List<RecordId> staleIds = pending.stream()
+                .filter(message -> !consumerName.equals(message.getConsumerName()))
+                .filter(message -> message.getElapsedTimeSinceLastDelivery().compareTo(minIdle) >= 0)
+                .map(PendingMessage::getId)
+                .toList();
+        if (staleIds.isEmpty()) {
+            return 0;
+        }
+
+        List<MapRecord<String, Object, Object>> claimed = stringRedisTemplate.opsForStream()
+                .claim(streamKey, group, consumerName, minIdle, staleIds.toArray(RecordId[]::new));
+        int processed = 0;
+        for (MapRecord<String, Object, Object> record : claimed) {
+            if (process(group, castRecord(record), handler)) {
+                processed++;
+            }
+        }
+        return processed;
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        container.stop();
+    }
+
+    private void recoverPending(Consumer consumer, FileEventHandler handler) {
+        while (true) {
+            List<MapRecord<String, Object, Object>> records = stringRedisTemplate.opsForStream().read(consumer,
+                    StreamReadOptions.empty().count(batchSize),
+                    StreamOffset.create(streamKey, ReadOffset.from("0")));
+            if (records == null || records.isEmpty()) {
+                return;
+            }
+            boolean progressed = false;
+            for (MapRecord<String, Object, Object> record : records) {
+                progressed |= process(consumer.getGroup(), castRecord(record), handler);
+            }
+            // 처리에 계속 실패하면 구독을 막지 않도록 중단 (PEL에 남아 claimStale 대상이 됨)
+            if (!progressed) {
+                return;
+            }
+        }
+    }
+
+    private boolean process(String group, MapRecord<String, String, String> record, FileEventHandler handler) {
+        try {
+            handler.handle(FileEvent.fromFields(record.getValue()));
+            stringRedisTemplate.opsForStream().acknowledge(streamKey, group, record.getId());
+            return true;
+        } catch (Exception e) {
+            log.warn("파일 이벤트 처리 실패, ACK 하지 않음 - id: {}, Error: {}", record.getId(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void createGroupIfAbsent(String group) {
+        try {
+            stringRedisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands()
+                    .xGroupCreate(streamKey.getBytes(StandardCharsets.UTF_8), group, ReadOffset.from("$"), true));
+        } catch (RedisSystemException e) {
+            // 이미 존재하는 그룹 (BUSYGROUP)
+            String message = e.getMostSpecificCause().getMessage();
+            if (message == null || !message.contains("BUSYGROUP")) {
+                throw e;
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static MapRecord<String, String, String> castRecord(MapRecord<String, Object, Object> record) {
+        // StringRedisTemplate의 필드/값은 모두 문자열
+        return (MapRecord) record;
+    }
+}
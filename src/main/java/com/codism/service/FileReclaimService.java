@@ -0,0 +1,190 @@
+package com.codism.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 툼스톤 기반 파일 삭제 서비스
+ * 삭제 요청 시 대상을 휴지통 디렉토리로 원자적으로 이동(툼스톤)하여 즉시 조회 불가 상태로 만들고,
+ * 실제 디스크 회수는 백그라운드에서 배치 단위로 병렬 수행한다.
+ * 가상 스레드 모드(spring.threads.virtual.enabled, JDK 21 이상)에서는 툼스톤마다 가상 스레드를 사용한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileReclaimService {
+
+    // 업로드 루트 하위의 휴지통 디렉토리 이름 (파일 위치로 접근할 수 없고 복구 검사에서도 제외)
+    public static final String TRASH_DIRECTORY = ".trash";
+
+    private final Environment environment;
+    private final UploadAdmissionService uploadAdmissionService;
+
+    @Value("${file.upload-path}")
+    private String uploadPath;
+
+    @Value("${file.reclaim.batch-size:500}")
+    private int batchSize;
+
+    @Value("${file.reclaim.parallelism:4}")
+    private int parallelism;
+
+    private Path trashPath;
+    // 이전 버전이 업로드 루트 옆에 만든 휴지통 (남은 툼스톤을 모두 회수할 때까지만 사용)
+    private Path legacyTrashPath;
+    private ForkJoinPool reclaimPool;
+    private VirtualThreadTaskExecutor virtualExecutor;
+
+    private final AtomicLong reclaimedCount = new AtomicLong();
+
+    /**
+     * 휴지통 디렉토리는 업로드 경로와 같은 볼륨에 두어야 이동이 rename 한 번으로 끝난다.
+     * 업로드 경로가 별도 마운트(컨테이너 볼륨)인 경우에도 같은 파일 시스템이 되도록 루트 안에 둔다.
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Path root = Paths.get(uploadPath).toAbsolutePath().normalize();
+        trashPath = root.resolve(TRASH_DIRECTORY);
+        Files.createDirectories(trashPath);
+        Path legacy = root.resolveSibling(root.getFileName() + ".trash");
+        if (Files.isDirectory(legacy)) {
+            legacyTrashPath = legacy;
+        }
+        if (Threading.VIRTUAL.isActive(environment)) {
+            virtualExecutor = new VirtualThreadTaskExecutor("reclaim-");
+        } else {
+            reclaimPool = new ForkJoinPool(parallelism);
+        }
+        log.info("파일 회수 서비스 초기화 완료 - trash: {}, batchSize: {}, parallelism: {}, virtualThreads: {}",
+                trashPath, batchSize, parallelism, virtualExecutor != null);
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        if (reclaimPool != null) {
+            reclaimPool.shutdown();
+        }
+    }
+
+    /**
+     * 파일 또는 디렉토리에 툼스톤을 남긴다 (휴지통으로 원자적 이동)
+     *
+     * @param target 삭제할 파일 또는 디렉토리
+     * @return 이동에 성공하면 true, 대상이 없으면 false
+     */
+    public boolean tombstone(Path target) throws IOException {
+        Path tombstone = trashPath.resolve(UUID.randomUUID() + "_" + target.getFileName());
+        try {
+            Files.move(target, tombstone, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 휴지통에 쌓인 툼스톤을 배치 단위로 물리 삭제
+     */
+    @Scheduled(fixedDelayString = "${file.reclaim.interval-ms:30000}")
+    public void reclaim() {
+        // 업로드/디스플레이 과부하 중에는 디스크 I/O를 양보하고 다음 주기로 미룸
+        if (uploadAdmissionService.shouldDeferBackgroundWork()) {
+            log.debug("과부하로 툼스톤 회수를 미룹니다");
+            return;
+        }
+        List<Path> batch = new ArrayList<>(batchSize);
+        try {
+            collect(trashPath, batch);
+            if (legacyTrashPath != null && batch.size() < batchSize) {
+                collect(legacyTrashPath, batch);
+                if (batch.isEmpty()) {
+                    Files.deleteIfExists(legacyTrashPath);
+                    legacyTrashPath = null;
+                }
+            }
+        } catch (IOException e) {
+            log.error("휴지통 조회 실패: {}", e.getMessage());
+            return;
+        }
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            if (virtualExecutor != null) {
+                purgeAll(batch);
+            } else {
+                reclaimPool.submit(() -> purgeAll(batch)).get();
+            }
+            log.info("툼스톤 회수 완료 - 이번 배치: {}, 누적: {}", batch.size(), reclaimedCount.get());
+        } catch (Exception e) {
+            log.error("툼스톤 회수 중 오류 발생: {}", e.getMessage(), e);
+        }
+    }
+
+    private void collect(Path directory, List<Path> batch) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            for (Path entry : stream) {
+                if (batch.size() >= batchSize) {
+                    break;
+                }
+                batch.add(entry);
+            }
+        }
+    }
+
+    /**
+     * 툼스톤 하나를 물리 삭제 (디렉토리는 하위 항목을 병렬로 순회하며 삭제)
+     */
+    private void purge(Path tombstone) {
+        try {
+            if (Files.isDirectory(tombstone, LinkOption.NOFOLLOW_LINKS)) {
+                List<Path> children;
+                try (Stream<Path> walk = Files.list(tombstone)) {
+                    children = walk.toList();
+                }
+                purgeAll(children);
+            }
+            Files.deleteIfExists(tombstone);
+            reclaimedCount.incrementAndGet();
+        } catch (IOException e) {
+            log.warn("툼스톤 삭제 실패 - {}: {}", tombstone, e.getMessage());
+        }
+    }
+
+    /**
+     * 여러 툼스톤을 병렬 삭제 (가상 스레드 모드에서는 항목마다 가상 스레드, 아니면 reclaimPool의 parallel stream)
+     */
+    private void purgeAll(List<Path> paths) {
+        if (virtualExecutor != null) {
+            CompletableFuture.allOf(paths.stream()
+                    .map(path -> CompletableFuture.runAsync(() -> purge(path), virtualExecutor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } else {
+            paths.parallelStream().forEach(this::purge);
+        }
+    }
+
+    public Path getTrashPath() {
+        return trashPath;
+    }
+}
@@ -1,6 +1,13 @@
 package com.codism.service;
 
 import com.codism.exception.AdultContentException;
+import com.codism.exception.CustomException;
+import com.codism.exception.InsufficientStorageException;
+import com.codism.exception.StoredFileNotFoundException;
+import com.codism.io.CompressedFileResource;
+import com.codism.io.PathMultipartFile;
+import com.codism.io.ProgressInputStream;
+import com.codism.metrics.StorageMetrics;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
@@ -8,23 +15,30 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.UrlResource;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.File;
+import java.io.BufferedInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.MalformedURLException;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Slf4j
 @Service
@@ -34,6 +48,21 @@ public class FileStorageService {
     private String uploadPath;
     private final JwtService jwtService;
     private final NSFWDetectionService nsfwDetectionService;
+    private final FileReclaimService fileReclaimService;
+    private final BandwidthThrottleService bandwidthThrottleService;
+    private final StorageMetrics storageMetrics;
+    private final UploadProgressPublisher uploadProgressPublisher;
+    private final FileEventLog fileEventLog;
+    private final ClusterRing clusterRing;
+    private final ReplicationService replicationService;
+    private final ContentCompressionService contentCompressionService;
+    private final UploadAdmissionService uploadAdmissionService;
+    private final StorageReservationLedger storageReservationLedger;
+    private final MissingFileCache missingFileCache;
+
+    // 소유자가 이 노드가 되는 파일 이름을 찾기 위한 최대 시도 횟수 (노드 수에 비례해 늘어남)
+    @Value("${file.cluster.placement-attempts-per-node:16}")
+    private int placementAttemptsPerNode;
 
     private String getRandomStr(){
         int leftLimit = 97; // letter 'a'
@@ -44,36 +73,65 @@ public class FileStorageService {
                 .limit(targetStringLength)
                 .collect(StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append)
                 .toString();
-        System.out.println("random : " + generatedString);
         return generatedString;
     }
 
+    /**
+     * 저장할 파일 이름 결정 (임의문자열+원래 파일 이름)
+     * 클러스터 모드에서는 consistent hash ring상 소유자가 이 노드가 되는 임의문자열을 고르므로
+     * 업로드를 다른 노드로 전달하지 않고도 파일이 소유 노드에 놓인다.
+     */
+    private String placeFileName(String path, String cleanName) {
+        int maxAttempts = Math.max(1, placementAttemptsPerNode * clusterRing.getMembers().size());
+        String fileName = getRandomStr() + cleanName;
+        for (int attempt = 1; attempt < maxAttempts && !clusterRing.isLocalOwner(path + "/" + fileName); attempt++) {
+            fileName = getRandomStr() + cleanName;
+        }
+        return fileName;
+    }
+
     public String saveFile(HttpServletRequest httpRequest, String division, MultipartFile file) throws IOException {
         // 1. 사용자 인증 정보 추출
         String userCd = jwtService.getUserCd(httpRequest);
+        return saveFile(userCd, uploadIdOf(httpRequest), division, file);
+    }
 
-        // 2. 성인 이미지 감지 (이미지 파일인 경우)
-        if (isImageFile(file)) {
-            try {
-                boolean isAdultContent = nsfwDetectionService.isNSFW(file);
-                if (isAdultContent) {
-                    throw new AdultContentException("성인 이미지는 업로드할 수 없습니다.");
-                }
-            } catch (AdultContentException e) {
-                throw e; // 성인 이미지 예외는 그대로 전파
-            } catch (Exception e) {
-                // 성인 이미지 감지 중 오류가 발생한 경우 로그만 남기고 계속 진행
-                System.err.println("성인 이미지 감지 중 오류 발생: " + e.getMessage());
-            }
+    /**
+     * 인증된 사용자의 파일 저장 (검수 → 저장 → 복제/이벤트, 멀티파트 업로드와 URL 가져오기 공통 경로)
+     *
+     * @param uploadId 진행 상황 알림(/user/queue/uploads)용 업로드 식별자
+     */
+    public String saveFile(String userCd, String uploadId, String division, MultipartFile file) throws IOException {
+        AtomicInteger uploadsInFlight = storageMetrics.inFlight(StorageMetrics.OP_UPLOAD);
+        uploadsInFlight.incrementAndGet();
+        try {
+            return doSaveFile(userCd, uploadId, division, file);
+        } finally {
+            uploadsInFlight.decrementAndGet();
         }
+    }
+
+    /**
+     * 요청 헤더의 업로드 식별자 (없으면 새로 생성)
+     */
+    public String uploadIdOf(HttpServletRequest httpRequest) {
+        return Optional.ofNullable(httpRequest.getHeader(UploadProgressPublisher.UPLOAD_ID_HEADER))
+                .filter(StringUtils::hasText)
+                .orElseGet(() -> UUID.randomUUID().toString());
+    }
 
-        String path = "";  // division 변수를 path 변수에 할당
+    private String doSaveFile(String userCd, String uploadId, String division, MultipartFile file) throws IOException {
+        String originalFilename = file.getOriginalFilename();
+        // division 검사 후 도메인 코드, 사용자 코드를 포함한 경로 생성 (다른 사용자 경로로의 저장 방지)
+        String path = divisionLocation(userCd, division);
+
+        // 2. 성인 이미지 감지 (이미지 파일인 경우)
+        String verdict = moderate(userCd, uploadId, division, file);
 
-        path = userCd+"/"+division;  // path 변수에 도메인 코드, 사용자 코드, 사용자 ID를 포함한 경로 생성
         System.out.println("path : "+path);  // 생성된 경로 출력
 
-        String randomStr = getRandomStr();  // 임의의 문자열 생성
-        String fileName = randomStr + StringUtils.cleanPath(Objects.requireNonNull(file.getOriginalFilename()));  // 임의의 문자열과 업로드된 파일의 원래 이름을 결합하여 새로운 파일 이름 생성
+        // 임의의 문자열과 업로드된 파일의 원래 이름을 결합하여 새로운 파일 이름 생성
+        String fileName = placeFileName(path, StringUtils.cleanPath(Objects.requireNonNull(file.getOriginalFilename())));
         String fileLocation = path+"/"+fileName;  // 파일 위치 생성
 
         Path uploadPath = Paths.get(this.uploadPath+"/"+path);  // 업로드 경로 생성
@@ -83,13 +141,134 @@ public class FileStorageService {
             Files.createDirectories(uploadPath);  // 업로드 경로가 존재하지 않으면 디렉토리 생성
         }
 
-        InputStream inputStream = file.getInputStream();  // 파일의 입력 스트림을 가져옴
         Path filePath = uploadPath.resolve(fileName);  // 파일 경로 생성
-        Files.copy(inputStream, filePath, StandardCopyOption.REPLACE_EXISTING);  // 업로드된 파일을 생성된 파일 경로로 복사
+        // 파일의 입력 스트림을 가져옴 (사용자별 쓰기 속도 제한 적용)
+        StorageMetrics.StageSample writeSample = storageMetrics.start(StorageMetrics.STAGE_DISK_WRITE)
+                .fileSize(file.getSize()).division(division).user(userCd);
+        long totalBytes = file.getSize();
+        Path storedPath = filePath;
+        long writeStartedAt = System.nanoTime();
+        uploadAdmissionService.diskWriteStarted();
+        // 업로드 크기만큼 볼륨 공간을 먼저 예약 (부족하면 쓰기 전에 507)
+        try (StorageReservationLedger.Reservation reservation = storageReservationLedger.reserve(totalBytes);
+             InputStream inputStream = new BufferedInputStream(new ProgressInputStream(
+                bandwidthThrottleService.throttleUpload(userCd, file.getInputStream()),
+                bytes -> uploadProgressPublisher.progress(userCd, uploadId, originalFilename, bytes, totalBytes)))) {
+            long written;
+            // 텍스트 형식(JSON, CSV, 로그 등)은 gzip으로 압축해 .gz 경로에 저장 (파일 위치는 그대로)
+            if (contentCompressionService.shouldCompress(fileName, totalBytes, inputStream)) {
+                storedPath = contentCompressionService.compressedPath(filePath);
+                written = contentCompressionService.compress(inputStream, storedPath);
+            } else {
+                written = storageReservationLedger.write(reservation, inputStream, filePath);  // 예약한 크기만큼 선할당 후 기록
+            }
+            writeSample.stop("success");
+            storageMetrics.recordBytesIn(written);
+        } catch (InsufficientStorageException e) {
+            writeSample.stop("insufficient_storage");
+            uploadProgressPublisher.failed(userCd, uploadId, originalFilename, e.getMessage());
+            throw e;
+        } catch (IOException e) {
+            writeSample.stop("error");
+            uploadProgressPublisher.failed(userCd, uploadId, originalFilename, "파일 저장에 실패했습니다.");
+            throw e;
+        } finally {
+            uploadAdmissionService.diskWriteFinished(System.nanoTime() - writeStartedAt);
+        }
 
+        published(userCd, uploadId, originalFilename, fileLocation, storedPath, totalBytes, file.getContentType(), verdict);
         return fileLocation;
     }
 
+    /**
+     * 업로드 볼륨에 이미 받아 둔 임시 파일을 검수 후 최종 위치로 이동 (URL 가져오기처럼 본문을 직접 기록하는 경로용)
+     * 임시 파일은 stagingPath로 만든 경로여야 한다 (같은 디렉토리라 복사 없이 원자적으로 이동).
+     */
+    public String saveStaged(String userCd, String uploadId, String division, String originalFilename,
+                             String contentType, Path staged) throws IOException {
+        AtomicInteger uploadsInFlight = storageMetrics.inFlight(StorageMetrics.OP_UPLOAD);
+        uploadsInFlight.incrementAndGet();
+        try {
+            long size = Files.size(staged);
+            String verdict = moderate(userCd, uploadId, division, new PathMultipartFile("file", originalFilename, contentType, staged));
+            String fileLocation = newFileLocation(userCd, division, originalFilename);
+            Path target = resolveLocation(fileLocation);
+            Files.move(staged, target, StandardCopyOption.ATOMIC_MOVE);
+            storageMetrics.recordBytesIn(size);
+            published(userCd, uploadId, originalFilename, fileLocation, target, size, contentType, verdict);
+            return fileLocation;
+        } catch (IOException e) {
+            uploadProgressPublisher.failed(userCd, uploadId, originalFilename, "파일 저장에 실패했습니다.");
+            throw e;
+        } finally {
+            uploadsInFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * saveStaged용 임시 파일 경로 (division 디렉토리 안의 숨김 .part 파일, 디렉토리는 미리 생성)
+     * 최종 위치와 같은 볼륨/디렉토리에 받으므로 저장 시 다시 복사하지 않는다.
+     */
+    public Path stagingPath(String userCd, String division) throws IOException {
+        Path directory = resolveLocation(divisionLocation(userCd, division));
+        Files.createDirectories(directory);
+        return directory.resolve("." + UUID.randomUUID() + ".part");
+    }
+
+    /**
+     * 성인 이미지 검수 (이미지가 아니면 건너뜀)
+     *
+     * @return 검수 결과 (APPROVED, 검수하지 않았거나 오류로 건너뛰면 null)
+     */
+    private String moderate(String userCd, String uploadId, String division, MultipartFile file) {
+        if (!isImageFile(file)) {
+            return null;
+        }
+        String originalFilename = file.getOriginalFilename();
+        String verdict = null;
+        StorageMetrics.StageSample moderationSample = storageMetrics.start(StorageMetrics.STAGE_MODERATION)
+                .fileSize(file.getSize()).division(division).user(userCd);
+        long moderationStartedAt = System.nanoTime();
+        uploadAdmissionService.moderationStarted();
+        try {
+            boolean isAdultContent = nsfwDetectionService.isNSFW(file);
+            if (isAdultContent) {
+                moderationSample.stop("rejected");
+                uploadProgressPublisher.rejected(userCd, uploadId, originalFilename, "성인 이미지는 업로드할 수 없습니다.");
+                fileEventLog.moderated(userCd, null, "REJECTED");
+                throw new AdultContentException("성인 이미지는 업로드할 수 없습니다.");
+            }
+            moderationSample.stop("passed");
+            uploadProgressPublisher.moderated(userCd, uploadId, originalFilename, "APPROVED");
+            verdict = "APPROVED";
+        } catch (AdultContentException e) {
+            throw e; // 성인 이미지 예외는 그대로 전파
+        } catch (Exception e) {
+            moderationSample.stop("error");
+            uploadProgressPublisher.moderated(userCd, uploadId, originalFilename, "SKIPPED");
+            // 성인 이미지 감지 중 오류가 발생한 경우 로그만 남기고 계속 진행
+            System.err.println("성인 이미지 감지 중 오류 발생: " + e.getMessage());
+        } finally {
+            uploadAdmissionService.moderationFinished(System.nanoTime() - moderationStartedAt);
+        }
+        return verdict;
+    }
+
+    /**
+     * 저장이 끝난 파일의 후속 처리 (negative cache 무효화, 복제, 진행 알림, 이벤트 기록)
+     */
+    private void published(String userCd, String uploadId, String originalFilename, String fileLocation,
+                           Path storedPath, long totalBytes, String contentType, String verdict) {
+        missingFileCache.stored(fileLocation);
+        // 다른 노드로의 복제는 응답을 기다리지 않고 백그라운드에서 수행
+        replicationService.replicateAsync(fileLocation, storedPath);
+        uploadProgressPublisher.stored(userCd, uploadId, originalFilename, fileLocation, totalBytes);
+        if (verdict != null) {
+            fileEventLog.moderated(userCd, fileLocation, verdict);
+        }
+        fileEventLog.created(userCd, fileLocation, totalBytes, contentType);
+    }
+
     /**
      * 파일이 이미지 파일인지 확인
      *
@@ -101,42 +280,257 @@ public class FileStorageService {
         return contentType != null && contentType.startsWith("image/");
     }
 
-    public Map<String, Object> deleteFile(HttpServletRequest httpRequest, String fileLocation) throws FileNotFoundException {
+    public Map<String, Object> deleteFile(HttpServletRequest httpRequest, String fileLocation) throws IOException {
         // 1. 사용자 인증 정보 추출
         String userCd = jwtService.getUserCd(httpRequest);
 
         Map<String, Object> resultMap = new LinkedHashMap<String, Object>();
 
-        String path = "";  // division 변수를 path 변수에 할당
+        // 요청한 사용자 소유(userCd/ 하위)의 파일만 삭제 (디렉토리는 deleteFiles의 division으로만 삭제)
+        ownedLocation(userCd, fileLocation);
 
-        path = userCd+"/";  // path 변수에 사용자 코드를 포함한 경로 생성
-        System.out.println("path : "+path+" / "+"fileLocation : "+fileLocation);  // 생성된 경로 출력
-
-        //Path filePath = uploadPath.resolve(fileName).normalize();
-        File file = new File(this.uploadPath+"/"+fileLocation);
-        if (file.exists()) {
-            if(file.delete()){
-                System.out.println("파일삭제 성공");
-            }
+        // 툼스톤만 남기고 즉시 반환 (물리 삭제는 FileReclaimService가 백그라운드에서 수행)
+        // 이 노드에 없더라도 다른 노드에 복제본이 있으면 삭제를 전달
+        if (tombstoneFile(fileLocation)
+                || replicationService.hasRemoteCopies(fileLocation)) {
+            replicationService.removeAsync(fileLocation, false);
+            fileEventLog.deleted(userCd, fileLocation);
             return resultMap;
         } else {
             throw new FileNotFoundException("File not found " + fileLocation);
         }
     }
 
-    public Resource loadFileAsResource(String fileLocation) throws FileNotFoundException {
-        Path uploadPath = Paths.get(this.uploadPath+"/"+fileLocation);
-        Resource resource = null;
-        try {
-            //Path filePath = uploadPath.resolve(fileName).normalize();
-            resource = new UrlResource(uploadPath.toUri());
-            if(resource.exists()) {
-                return resource;
+    /**
+     * 여러 파일 또는 division 단위 일괄 삭제
+     * 요청한 사용자 소유(userCd/ 하위)의 경로만 삭제 대상으로 인정한다.
+     *
+     * @param fileLocations 삭제할 파일 위치 목록
+     * @param division 지정 시 userCd/division 디렉토리 전체 삭제
+     * @return 툼스톤 처리된 위치와 찾지 못한 위치 목록
+     */
+    public Map<String, Object> deleteFiles(HttpServletRequest httpRequest, List<String> fileLocations, String division) throws IOException {
+        String userCd = jwtService.getUserCd(httpRequest);
+
+        List<String> deleted = new ArrayList<>();
+        List<String> notFound = new ArrayList<>();
+
+        // 하나라도 다른 사용자의 경로면 아무것도 삭제하지 않도록 division과 모든 파일 위치를 먼저 확인
+        String prefix = StringUtils.hasText(division) ? divisionLocation(userCd, division) : null;
+        List<String> locations = fileLocations != null ? fileLocations : List.of();
+        for (String fileLocation : locations) {
+            ownedLocation(userCd, fileLocation);
+            if (Files.isDirectory(storedPath(fileLocation), LinkOption.NOFOLLOW_LINKS)) {
+                throw CustomException.badRequest("디렉토리는 삭제할 수 없습니다: " + fileLocation);
+            }
+        }
+
+        if (prefix != null) {
+            // 클러스터 모드에서는 division 하위 파일이 여러 노드에 나뉘어 있으므로 모든 노드에 전달
+            boolean removedLocally = fileReclaimService.tombstone(resolveLocation(prefix));
+            if (removedLocally || replicationService.canPropagate()) {
+                replicationService.removeAsync(prefix, true);
+                deleted.add(prefix);
             } else {
-                throw new FileNotFoundException("File not found " + fileLocation);
+                notFound.add(prefix);
             }
-        } catch (MalformedURLException ex) {
-            throw new FileNotFoundException("File not found " + fileLocation);
+        }
+
+        for (String fileLocation : locations) {
+            if (tombstoneFile(fileLocation)
+                    || replicationService.hasRemoteCopies(fileLocation)) {
+                replicationService.removeAsync(fileLocation, false);
+                deleted.add(fileLocation);
+            } else {
+                notFound.add(fileLocation);
+            }
+        }
+
+        deleted.forEach(location -> fileEventLog.deleted(userCd, location));
+
+        Map<String, Object> resultMap = new LinkedHashMap<String, Object>();
+        resultMap.put("deleted", deleted);
+        resultMap.put("notFound", notFound);
+        return resultMap;
+    }
+
+    /**
+     * 사용자 소유의 division 디렉토리 위치 (userCd/division)
+     * division은 한 단계 디렉토리 이름만 허용한다 (경로 구분자, 상위 경로는 400, 소유 경로 밖이면 403).
+     */
+    public String divisionLocation(String userCd, String division) {
+        if (division.contains("/") || division.contains("\\") || division.contains("..")) {
+            throw CustomException.badRequest("잘못된 division입니다: " + division);
+        }
+        String location = userCd + "/" + division;
+        ownedLocation(userCd, location);
+        return location;
+    }
+
+    /**
+     * 사용자 소유 경로 확인 (정규화한 경로가 업로드 루트/userCd 하위가 아니면 403)
+     * 문자열 비교는 userCd/../다른사용자 같은 경로를 걸러내지 못하므로 정규화된 경로로 비교한다.
+     */
+    private Path ownedLocation(String userCd, String fileLocation) {
+        Path root = Paths.get(this.uploadPath).toAbsolutePath().normalize();
+        Path userRoot = root.resolve(userCd).normalize();
+        Path resolved = resolveLocation(fileLocation);
+        if (!root.equals(userRoot.getParent()) || !resolved.startsWith(userRoot) || resolved.equals(userRoot)) {
+            throw CustomException.forbidden("다른 사용자의 경로입니다: " + fileLocation);
+        }
+        return resolved;
+    }
+
+    /**
+     * 일반 파일만 툼스톤 처리 (디렉토리, 심볼릭 링크는 대상이 아님)
+     *
+     * @return 툼스톤을 남겼으면 true, 이 노드에 파일이 없으면 false
+     */
+    private boolean tombstoneFile(String fileLocation) throws IOException {
+        Path stored = storedPath(fileLocation);
+        if (Files.isDirectory(stored, LinkOption.NOFOLLOW_LINKS)) {
+            throw CustomException.badRequest("디렉토리는 삭제할 수 없습니다: " + fileLocation);
+        }
+        return Files.isRegularFile(stored, LinkOption.NOFOLLOW_LINKS) && fileReclaimService.tombstone(stored);
+    }
+
+    /**
+     * 다른 노드가 보낸 복제본 저장 (임시 파일에 받은 뒤 원자적으로 교체)
+     */
+    public void storeReplica(String fileLocation, InputStream inputStream) throws IOException {
+        storeReplica(fileLocation, inputStream, false);
+    }
+
+    /**
+     * @param compressed 압축 저장된 파일의 복제본이면 true (받은 gzip 바이트를 그대로 .gz 경로에 저장)
+     */
+    public void storeReplica(String fileLocation, InputStream inputStream, boolean compressed) throws IOException {
+        storeReplica(fileLocation, inputStream, -1, compressed, System.currentTimeMillis());
+    }
+
+    /**
+     * @param size 받을 크기 (Content-Length, 모르면 -1), 이만큼 볼륨 공간을 먼저 예약
+     * @param modifiedAt 원본 파일의 마지막 수정 시각 (삭제 기록이 있는 파일이면 410으로 거부)
+     */
+    public void storeReplica(String fileLocation, InputStream inputStream, long size, boolean compressed, long modifiedAt) throws IOException {
+        // DELETE를 놓친 노드가 삭제된 파일을 다시 밀어 넣지 못하도록 삭제 기록 확인
+        if (replicationService.isDeleted(fileLocation, modifiedAt)) {
+            throw new CustomException("삭제된 파일의 복제본입니다: " + fileLocation, HttpStatus.GONE, "GONE");
+        }
+        Path target = compressed
+                ? contentCompressionService.compressedPath(resolveLocation(fileLocation))
+                : resolveLocation(fileLocation);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling("." + target.getFileName() + "." + UUID.randomUUID() + ".part");
+        // 업로드와 같은 예약 장부를 거치므로 복제가 업로드의 여유 공간을 가로채지 않음 (부족하면 507)
+        try (StorageReservationLedger.Reservation reservation = storageReservationLedger.reserve(size)) {
+            long written = storageReservationLedger.write(reservation, inputStream, temp);
+            // 삭제 기록과 비교할 수 있도록 원본 수정 시각을 유지
+            Files.setLastModifiedTime(temp, FileTime.fromMillis(modifiedAt));
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            missingFileCache.stored(fileLocation);
+            storageMetrics.recordBytesIn(written);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 다른 노드가 요청한 복제본 삭제 (없으면 무시)
+     */
+    public void deleteReplica(String fileLocation) throws IOException {
+        fileReclaimService.tombstone(storedPath(fileLocation));
+    }
+
+    /**
+     * 새 파일 위치 생성 (userCd/division/임의문자열+원래 파일 이름, saveFile과 같은 형식)
+     * division은 divisionLocation과 같은 규칙으로 검사한다.
+     */
+    public String newFileLocation(String userCd, String division, String originalFilename) {
+        String path = divisionLocation(userCd, division);
+        return path + "/" + placeFileName(path, StringUtils.cleanPath(Objects.requireNonNull(originalFilename)));
+    }
+
+    /**
+     * 파일 위치를 업로드 루트 하위의 실제 경로로 변환 (루트 밖으로 벗어나는 경로는 거부)
+     */
+    public Path resolveLocation(String fileLocation) {
+        Path root = Paths.get(this.uploadPath).toAbsolutePath().normalize();
+        Path resolved = root.resolve(fileLocation).normalize();
+        if (!resolved.startsWith(root) || resolved.equals(root)
+                || resolved.startsWith(root.resolve(FileReclaimService.TRASH_DIRECTORY))) {
+            throw CustomException.badRequest("잘못된 파일 위치입니다: " + fileLocation);
+        }
+        return resolved;
+    }
+
+    /**
+     * 파일 위치의 실제 저장 경로 (압축 저장된 파일이면 .gz 경로, 어느 쪽도 없으면 원래 경로)
+     */
+    public Path storedPath(String fileLocation) {
+        Path path = resolveLocation(fileLocation);
+        if (!Files.exists(path) && contentCompressionService.isCompressibleName(path.getFileName().toString())) {
+            Path compressedPath = contentCompressionService.compressedPath(path);
+            if (Files.exists(compressedPath)) {
+                return compressedPath;
+            }
+        }
+        return path;
+    }
+
+    /**
+     * 최근 없는 것으로 확인된 파일 위치인지 (파일 시스템을 확인하지 않음)
+     */
+    public boolean isKnownMissing(String fileLocation) {
+        return missingFileCache.isMissing(fileLocation);
+    }
+
+    /**
+     * 이 노드에 파일이 새로 저장됨 (negative cache 무효화, saveFile 밖에서 직접 저장하는 경로용)
+     */
+    public void fileStored(String fileLocation) {
+        missingFileCache.stored(fileLocation);
+    }
+
+    /**
+     * 실제 저장 경로 (없으면 null, 없음을 negative cache에 기록)
+     */
+    public Path existingStoredPath(String fileLocation) {
+        long epoch = missingFileCache.epoch();
+        Path storedPath = storedPath(fileLocation);
+        if (!Files.isRegularFile(storedPath)) {
+            missingFileCache.markMissing(fileLocation, epoch);
+            return null;
+        }
+        return storedPath;
+    }
+
+    /**
+     * 압축 저장된 파일이면 CompressedFileResource (응답 시 Content-Encoding 협상)
+     * 최근 없었던 위치는 파일 시스템을 확인하지 않고 바로 실패하며, 없을 때의 예외는 스택 트레이스를 만들지 않는다.
+     */
+    public Resource loadFileAsResource(String fileLocation) throws FileNotFoundException {
+        StorageMetrics.StageSample loadSample = storageMetrics.start(StorageMetrics.STAGE_LOAD);
+        if (missingFileCache.isMissing(fileLocation)) {
+            loadSample.stop("not_found");
+            throw new StoredFileNotFoundException(fileLocation);
+        }
+        Path uploadPath = resolveLocation(fileLocation);
+        Path storedPath = existingStoredPath(fileLocation);
+        if (storedPath == null) {
+            loadSample.stop("not_found");
+            throw new StoredFileNotFoundException(fileLocation);
+        }
+        try {
+            Resource resource = storedPath.equals(uploadPath)
+                    ? new UrlResource(uploadPath.toUri())
+                    : new CompressedFileResource(storedPath, uploadPath.getFileName().toString());
+            loadSample.fileSize(resource.contentLength()).stop("found");
+            return resource;
+        } catch (IOException ex) {
+            // 확인 직후 삭제된 경우 등
+            loadSample.stop("error");
+            throw new StoredFileNotFoundException(fileLocation);
         }
     }
-}
\ No newline at end of file
+}
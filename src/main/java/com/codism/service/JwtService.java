@@ -1,6 +1,11 @@
 package com.codism.service;
 
 import com.codism.exception.CustomException;
+import com.codism.security.JwtPrincipal;
+import com.codism.security.TokenDigest;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,6 +17,7 @@ import javax.crypto.SecretKey;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @Service
@@ -20,15 +26,50 @@ public class JwtService {
     private final SecretKey secretKey;
     private final long accessTokenExpiration;
     private final long refreshTokenExpiration;
+    private final JwtParser jwtParser;
+
+    // 서명 검증이 끝난 토큰 정보 캐시 (키: 토큰 다이제스트, 만료: 토큰 exp)
+    private final Cache<String, JwtPrincipal> principalCache;
 
     public JwtService(
             @Value("${jwt.secret:defaultSecretKeyForDevelopmentOnlyNotForProduction}") String secret,
             @Value("${jwt.access-token-expiration:3600000}") long accessTokenExpiration, // 1시간
-            @Value("${jwt.refresh-token-expiration:604800000}") long refreshTokenExpiration // 7일
+            @Value("${jwt.refresh-token-expiration:604800000}") long refreshTokenExpiration, // 7일
+            @Value("${jwt.principal-cache.max-size:10000}") long principalCacheMaxSize
     ) {
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes());
         this.accessTokenExpiration = accessTokenExpiration;
         this.refreshTokenExpiration = refreshTokenExpiration;
+        this.jwtParser = Jwts.parser()
+                .setSigningKey(secretKey)
+                .build();
+        this.principalCache = Caffeine.newBuilder()
+                .maximumSize(principalCacheMaxSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+                        return remainingNanos(principal);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return remainingNanos(principal);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    private static long remainingNanos(JwtPrincipal principal) {
+        if (principal.getExpiration() == null) {
+            return Long.MAX_VALUE;
+        }
+        long remainingMs = principal.getExpiration().getTime() - System.currentTimeMillis();
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
     }
 
     public String getAuthorization(HttpServletRequest httpRequest) throws CustomException {
@@ -43,6 +84,15 @@ public class JwtService {
     }
 
     public String getUserCd(HttpServletRequest httpRequest) throws CustomException {
+        // JwtAuthenticationFilter에서 이미 검증한 정보가 있으면 재사용
+        Object attribute = httpRequest.getAttribute(JwtPrincipal.REQUEST_ATTRIBUTE);
+        if (attribute instanceof JwtPrincipal principal) {
+            if (!JwtPrincipal.isValidUserCd(principal.getUserCd())) {
+                throw CustomException.unauthorized("토큰에서 사용자 정보를 찾을 수 없습니다.");
+            }
+            return principal.getUserCd();
+        }
+
         String token = getAuthorization(httpRequest);
 
         if (token == null || token.trim().isEmpty()) {
@@ -50,10 +100,9 @@ public class JwtService {
         }
 
         try {
-            Claims claims = getClaimsFromToken(token);
-            String userCd = claims.getSubject();
+            String userCd = parsePrincipal(token).getUserCd();
 
-            if (userCd == null || userCd.trim().isEmpty()) {
+            if (!JwtPrincipal.isValidUserCd(userCd)) {
                 throw CustomException.unauthorized("토큰에서 사용자 정보를 찾을 수 없습니다.");
             }
 
@@ -125,40 +174,59 @@ public class JwtService {
      * 토큰에서 사용자 ID 추출
      */
     public String getUserCdFromToken(String token) {
-        Claims claims = getClaimsFromToken(token);
-        return claims.getSubject();
+        return parsePrincipal(token).getUserCd();
     }
 
     /**
      * 토큰에서 이메일 추출
      */
     public String getEmailFromToken(String token) {
-        Claims claims = getClaimsFromToken(token);
-        return claims.get("email", String.class);
+        return parsePrincipal(token).getEmail();
     }
 
     /**
      * 토큰에서 프리미엄 여부 추출
      */
     public Boolean getIsPremiumFromToken(String token) {
-        Claims claims = getClaimsFromToken(token);
-        return claims.get("isPremium", Boolean.class);
+        return parsePrincipal(token).getIsPremium();
     }
 
     /**
      * 토큰 타입 확인
      */
     public String getTokenType(String token) {
-        Claims claims = getClaimsFromToken(token);
-        return claims.get("tokenType", String.class);
+        return parsePrincipal(token).getTokenType();
     }
 
     /**
      * 토큰 만료 시간 확인
      */
     public Date getExpirationDateFromToken(String token) {
+        return parsePrincipal(token).getExpiration();
+    }
+
+    /**
+     * 토큰을 검증하고 사용자 정보 추출
+     * 한 번 검증된 토큰은 만료 시점까지 캐시되어 서명 검증을 생략한다.
+     */
+    public JwtPrincipal parsePrincipal(String token) {
+        String tokenDigest = TokenDigest.of(token);
+        JwtPrincipal cached = principalCache.getIfPresent(tokenDigest);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
         Claims claims = getClaimsFromToken(token);
-        return claims.getExpiration();
+        JwtPrincipal principal = new JwtPrincipal(
+                tokenDigest,
+                claims.getSubject(),
+                claims.get("email", String.class),
+                claims.get("isPremium", Boolean.class),
+                claims.get("tokenType", String.class),
+                claims.getExpiration()
+        );
+        principalCache.put(tokenDigest, principal);
+        return principal;
     }
 
     /**
@@ -166,9 +234,7 @@ public class JwtService {
      */
     private Claims getClaimsFromToken(String token) {
         try {
-            return Jwts.parser()
-                    .setSigningKey(secretKey)
-                    .build()
+            return jwtParser
                     .parseClaimsJws(token)
                     .getBody();
         } catch (ExpiredJwtException e) {
@@ -194,7 +260,7 @@ public class JwtService {
      */
     public boolean isTokenValid(String token) {
         try {
-            getClaimsFromToken(token);
+            parsePrincipal(token);
             return true;
         } catch (Exception e) {
             log.debug("토큰 유효성 검사 실패: {}", e.getMessage());
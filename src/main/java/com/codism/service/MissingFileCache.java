@@ -0,0 +1,140 @@
+package com.codism.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 최근 없었던 파일 위치의 negative cache
+ * 삭제된 파일을 계속 조회하는 클라이언트 때문에 매번 파일 시스템을 확인하지 않도록 짧게 기억한다.
+ * 저장(saveFile, 복제본 수신, v2 업로드) 시 무효화하며, 크기와 TTL로 제한한다.
+ * 클러스터 모드에서는 로컬에 없다는 기록과 별도로, 모든 노드에 없었다는 기록을 따로 둔다
+ * (다른 노드의 생성 이벤트(CREATED)로 무효화, 피어 조회 생략용).
+ */
+@Slf4j
+@Component
+public class MissingFileCache {
+
+    private final boolean enabled;
+
+    // 키: 파일 위치, 값: 없음을 확인한 시점의 epoch
+    private final Cache<String, Long> cache;
+
+    // 키: 파일 위치, 값: 모든 노드에서 없음을 확인한 시점의 epoch
+    private final Cache<String, Long> clusterCache;
+
+    // 저장할 때마다 증가 (확인 도중 저장된 파일이 없는 것으로 기록되는 것을 방지)
+    private final AtomicLong storeEpoch = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter clusterHits;
+    private final Counter clusterMisses;
+
+    public MissingFileCache(
+            MeterRegistry meterRegistry,
+            @Value("${file.missing-cache.enabled:true}") boolean enabled,
+            @Value("${file.missing-cache.max-size:100000}") long maxSize,
+            @Value("${file.missing-cache.ttl-ms:60000}") long ttlMs
+    ) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+        this.clusterCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+        this.hits = Counter.builder("storage.missing_cache")
+                .tag("result", "hit")
+                .description("없는 파일 조회가 negative cache에서 끝난 횟수")
+                .register(meterRegistry);
+        this.misses = Counter.builder("storage.missing_cache")
+                .tag("result", "recorded")
+                .description("파일 시스템에서 없음을 확인해 negative cache에 기록한 횟수")
+                .register(meterRegistry);
+        this.clusterHits = Counter.builder("storage.missing_cache")
+                .tag("result", "cluster_hit")
+                .description("없는 파일 조회가 피어 조회 없이 negative cache에서 끝난 횟수")
+                .register(meterRegistry);
+        this.clusterMisses = Counter.builder("storage.missing_cache")
+                .tag("result", "cluster_recorded")
+                .description("모든 노드에서 없음을 확인해 negative cache에 기록한 횟수")
+                .register(meterRegistry);
+        Gauge.builder("storage.missing_cache.size", cache, Cache::estimatedSize)
+                .description("negative cache에 기록된 파일 위치 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 최근 없는 것으로 확인된 파일 위치인지
+     */
+    public boolean isMissing(String fileLocation) {
+        if (!enabled || cache.getIfPresent(fileLocation) == null) {
+            return false;
+        }
+        hits.increment();
+        return true;
+    }
+
+    /**
+     * 파일 시스템 확인 전에 읽어 두는 epoch (markMissing에 그대로 전달)
+     */
+    public long epoch() {
+        return storeEpoch.get();
+    }
+
+    /**
+     * 없음을 기록 (확인하는 동안 저장이 있었으면 기록하지 않음)
+     */
+    public void markMissing(String fileLocation, long epochAtLookup) {
+        if (!enabled || storeEpoch.get() != epochAtLookup) {
+            return;
+        }
+        cache.put(fileLocation, epochAtLookup);
+        misses.increment();
+    }
+
+    /**
+     * 최근 모든 노드에 없는 것으로 확인된 파일 위치인지
+     */
+    public boolean isMissingInCluster(String fileLocation) {
+        if (!enabled || clusterCache.getIfPresent(fileLocation) == null) {
+            return false;
+        }
+        clusterHits.increment();
+        return true;
+    }
+
+    /**
+     * 모든 노드에 없음을 기록 (조회하는 동안 저장 또는 생성 이벤트가 있었으면 기록하지 않음)
+     */
+    public void markMissingInCluster(String fileLocation, long epochAtLookup) {
+        if (!enabled || storeEpoch.get() != epochAtLookup) {
+            return;
+        }
+        clusterCache.put(fileLocation, epochAtLookup);
+        clusterMisses.increment();
+    }
+
+    /**
+     * 파일이 저장되었으므로 기록 제거 (다른 노드에 생성된 경우 포함)
+     */
+    public void stored(String fileLocation) {
+        if (!enabled) {
+            return;
+        }
+        storeEpoch.incrementAndGet();
+        cache.invalidate(fileLocation);
+        clusterCache.invalidate(fileLocation);
+    }
+}
@@ -1,6 +1,12 @@
 package com.codism.service;
 
+import com.codism.metrics.StorageMetrics;
+import com.google.api.core.ApiFuture;
+import com.google.api.core.ApiFutureCallback;
+import com.google.api.core.ApiFutures;
 import com.google.cloud.vision.v1.*;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.protobuf.ByteString;
 import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
@@ -8,12 +14,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
 
 /**
  * Google Cloud Vision API를 사용하여 성인 이미지(NSFW)를 감지하는 서비스
@@ -28,39 +35,79 @@ public class NSFWDetectionService {
     @Value("${google.vision.api.threshold:LIKELY}")
     private String thresholdString;
 
-    // 이미지 해시와 결과를 캐싱하기 위한 맵
-    private final Map<String, Boolean> resultCache = new ConcurrentHashMap<>();
+    // 첫 사용 시 클라이언트 생성 (gRPC 채널/인증 준비를 기동 경로에서 제외)
+    @Value("${google.vision.api.lazy-init:false}")
+    private boolean lazyInit;
 
-    private ImageAnnotatorClient visionClient;
+    private volatile ImageAnnotatorClient visionClient;
+    private volatile boolean clientInitFailed;
     private Likelihood threshold;
 
+    private final StorageMetrics storageMetrics;
+    // 유사 이미지(리사이즈/재압축) 검수 결과 재사용
+    private final PerceptualHashIndex perceptualHashIndex;
+
+    public NSFWDetectionService(StorageMetrics storageMetrics, PerceptualHashIndex perceptualHashIndex) {
+        this.storageMetrics = storageMetrics;
+        this.perceptualHashIndex = perceptualHashIndex;
+    }
+
     /**
      * 서비스 초기화 시 Google Cloud Vision API 클라이언트 생성
+     * lazy-init이면 첫 검수 요청(또는 워밍업) 때 생성해 컨텍스트 기동 시간에서 제외한다.
      */
     @PostConstruct
     public void init() {
         if (visionApiEnabled) {
+            // 임계값 설정
             try {
-                // 임계값 설정
-                try {
-                    threshold = Likelihood.valueOf(thresholdString);
-                } catch (IllegalArgumentException e) {
-                    log.warn("잘못된 임계값 설정: {}. 기본값 LIKELY로 설정됩니다.", thresholdString);
-                    threshold = Likelihood.LIKELY;
-                }
+                threshold = Likelihood.valueOf(thresholdString);
+            } catch (IllegalArgumentException e) {
+                log.warn("잘못된 임계값 설정: {}. 기본값 LIKELY로 설정됩니다.", thresholdString);
+                threshold = Likelihood.LIKELY;
+            }
 
-                // Google Cloud Vision API 클라이언트 초기화
-                // 환경 변수 GOOGLE_APPLICATION_CREDENTIALS에 서비스 계정 키 파일 경로가 설정되어 있어야 함
-                visionClient = ImageAnnotatorClient.create();
-                log.info("Google Cloud Vision API 클라이언트 초기화 완료. 임계값: {}", threshold);
-            } catch (IOException e) {
-                log.error("Google Cloud Vision API 클라이언트 초기화 실패: {}", e.getMessage(), e);
+            if (lazyInit) {
+                log.info("Google Cloud Vision API 클라이언트는 첫 사용 시 생성됩니다. 임계값: {}", threshold);
+            } else {
+                visionClient();
             }
         } else {
             log.info("Google Cloud Vision API 비활성화 상태");
         }
     }
 
+    /**
+     * 클라이언트를 미리 생성 (워밍업용, 사용할 수 있으면 true)
+     */
+    public boolean initializeClient() {
+        return visionApiEnabled && visionClient() != null;
+    }
+
+    /**
+     * Vision 클라이언트 (없으면 생성, 생성에 실패한 뒤로는 다시 시도하지 않음)
+     */
+    private ImageAnnotatorClient visionClient() {
+        ImageAnnotatorClient client = visionClient;
+        if (client != null || clientInitFailed) {
+            return client;
+        }
+        synchronized (this) {
+            if (visionClient == null && !clientInitFailed) {
+                try {
+                    // Google Cloud Vision API 클라이언트 초기화
+                    // 환경 변수 GOOGLE_APPLICATION_CREDENTIALS에 서비스 계정 키 파일 경로가 설정되어 있어야 함
+                    visionClient = ImageAnnotatorClient.create();
+                    log.info("Google Cloud Vision API 클라이언트 초기화 완료. 임계값: {}", threshold);
+                } catch (IOException e) {
+                    clientInitFailed = true;
+                    log.error("Google Cloud Vision API 클라이언트 초기화 실패: {}", e.getMessage(), e);
+                }
+            }
+            return visionClient;
+        }
+    }
+
     /**
      * 서비스 종료 시 Google Cloud Vision API 클라이언트 리소스 해제
      */
@@ -80,8 +127,7 @@ public class NSFWDetectionService {
      * @throws IOException 파일 처리 중 오류 발생 시
      */
     public boolean isNSFW(MultipartFile file) throws IOException {
-        // API가 비활성화되었거나 클라이언트가 초기화되지 않은 경우
-        if (!visionApiEnabled || visionClient == null) {
+        if (!visionApiEnabled) {
             log.warn("Google Cloud Vision API가 활성화되지 않았거나 클라이언트가 초기화되지 않았습니다.");
             return false;
         }
@@ -94,52 +140,38 @@ public class NSFWDetectionService {
         try {
             // 이미지를 바이트 배열로 변환
             byte[] imageBytes = file.getBytes();
-            com.google.protobuf.ByteString imgBytes = com.google.protobuf.ByteString.copyFrom(imageBytes);
 
-            // 이미지 생성
-            Image image = Image.newBuilder().setContent(imgBytes).build();
-
-            // SafeSearch 탐지 요청 설정
-            Feature feature = Feature.newBuilder()
-                    .setType(Feature.Type.SAFE_SEARCH_DETECTION)
-                    .build();
-
-            AnnotateImageRequest request = AnnotateImageRequest.newBuilder()
-                    .addFeatures(feature)
-                    .setImage(image)
-                    .build();
-
-            List<AnnotateImageRequest> requests = new ArrayList<>();
-            requests.add(request);
-
-            // API 호출
-            BatchAnnotateImagesResponse response = visionClient.batchAnnotateImages(requests);
-            AnnotateImageResponse imageResponse = response.getResponsesList().get(0);
+            // 유사 이미지의 검수 결과가 있으면 Vision 호출 없이 재사용
+            Long hash = perceptualHashIndex.hash(imageBytes);
+            Boolean reused = reuseVerdict(hash, file.getOriginalFilename());
+            if (reused != null) {
+                return reused;
+            }
 
-            // 오류 발생 시
-            if (imageResponse.hasError()) {
-                log.error("이미지 분석 중 오류 발생: {}", imageResponse.getError().getMessage());
+            // 클라이언트가 초기화되지 않은 경우
+            ImageAnnotatorClient client = visionClient();
+            if (client == null) {
+                log.warn("Google Cloud Vision API가 활성화되지 않았거나 클라이언트가 초기화되지 않았습니다.");
                 return false;
             }
 
-            // SafeSearch 결과 분석
-            SafeSearchAnnotation safeSearch = imageResponse.getSafeSearchAnnotation();
-            log.info("파일: {}, SafeSearch 결과 - 성인 콘텐츠: {}, 선정적: {}, 폭력적: {}, 의료: {}, 스푸핑: {}",
-                    file.getOriginalFilename(),
-                    safeSearch.getAdult(), safeSearch.getRacy(), safeSearch.getViolence(),
-                    safeSearch.getMedical(), safeSearch.getSpoof());
-
-            // 성인 콘텐츠 여부 판단
-            boolean isNsfw = isInappropriateContent(safeSearch);
+            List<AnnotateImageRequest> requests = new ArrayList<>();
+            requests.add(buildSafeSearchRequest(imageBytes));
 
-            // 결과 로깅
-            if (isNsfw) {
-                log.warn("부적절한 콘텐츠 감지: {}", file.getOriginalFilename());
-            } else {
-                log.info("안전한 콘텐츠: {}", file.getOriginalFilename());
+            // API 호출 (Vision 왕복 시간 기록)
+            StorageMetrics.StageSample visionSample = storageMetrics.start(StorageMetrics.STAGE_VISION)
+                    .fileSize(imageBytes.length);
+            BatchAnnotateImagesResponse response;
+            try {
+                response = client.batchAnnotateImages(requests);
+            } catch (RuntimeException e) {
+                visionSample.stop("error");
+                throw e;
             }
+            AnnotateImageResponse imageResponse = response.getResponsesList().get(0);
+            visionSample.stop(imageResponse.hasError() ? "error" : "success");
 
-            return isNsfw;
+            return evaluateAndRecord(imageResponse, file.getOriginalFilename(), hash);
 
         } catch (Exception e) {
             log.error("성인 이미지 감지 중 오류 발생: {}", e.getMessage(), e);
@@ -147,6 +179,152 @@ public class NSFWDetectionService {
         }
     }
 
+    /**
+     * 이미지 바이트로 성인 콘텐츠 여부를 논블로킹으로 감지 (Vision API 비동기 호출)
+     * 동기 버전과 마찬가지로 오류 시에는 허용(false)으로 처리한다.
+     *
+     * @param imageBytes 검사할 이미지
+     * @param fileName 로그용 파일 이름
+     */
+    public Mono<Boolean> isNSFWAsync(byte[] imageBytes, String fileName) {
+        if (!visionApiEnabled) {
+            log.warn("Google Cloud Vision API가 활성화되지 않았거나 클라이언트가 초기화되지 않았습니다.");
+            return Mono.just(false);
+        }
+        if (!perceptualHashIndex.isEnabled()) {
+            return callVisionAsync(imageBytes, fileName, null);
+        }
+
+        // 디코딩/축소는 CPU 작업이므로 이벤트 루프 밖에서 수행
+        return Mono.fromCallable(() -> Optional.ofNullable(perceptualHashIndex.hash(imageBytes)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(hash -> {
+                    Boolean reused = reuseVerdict(hash.orElse(null), fileName);
+                    return reused != null
+                            ? Mono.just(reused)
+                            : callVisionAsync(imageBytes, fileName, hash.orElse(null));
+                });
+    }
+
+    private Mono<Boolean> callVisionAsync(byte[] imageBytes, String fileName, Long hash) {
+        ImageAnnotatorClient client = visionClient;
+        if (client == null && !clientInitFailed) {
+            // 클라이언트 생성은 블로킹이므로 이벤트 루프 밖에서 수행
+            return Mono.fromCallable(this::visionClient)
+                    .subscribeOn(Schedulers.boundedElastic())
+                    .then(Mono.defer(() -> callVisionAsync(imageBytes, fileName, hash)));
+        }
+        if (client == null) {
+            log.warn("Google Cloud Vision API가 활성화되지 않았거나 클라이언트가 초기화되지 않았습니다.");
+            return Mono.just(false);
+        }
+
+        BatchAnnotateImagesRequest batchRequest = BatchAnnotateImagesRequest.newBuilder()
+                .addRequests(buildSafeSearchRequest(imageBytes))
+                .build();
+
+        return Mono.<BatchAnnotateImagesResponse>create(sink -> {
+                    StorageMetrics.StageSample visionSample = storageMetrics.start(StorageMetrics.STAGE_VISION)
+                            .fileSize(imageBytes.length);
+                    ApiFuture<BatchAnnotateImagesResponse> future =
+                            client.batchAnnotateImagesCallable().futureCall(batchRequest);
+                    ApiFutures.addCallback(future, new ApiFutureCallback<>() {
+                        @Override
+                        public void onSuccess(BatchAnnotateImagesResponse response) {
+                            visionSample.stop("success");
+                            sink.success(response);
+                        }
+
+                        @Override
+                        public void onFailure(Throwable t) {
+                            visionSample.stop("error");
+                            sink.error(t);
+                        }
+                    }, MoreExecutors.directExecutor());
+                    sink.onCancel(() -> future.cancel(true));
+                })
+                .map(response -> evaluateAndRecord(response.getResponsesList().get(0), fileName, hash))
+                .onErrorResume(e -> {
+                    log.error("성인 이미지 감지 중 오류 발생: {}", e.getMessage(), e);
+                    return Mono.just(false);  // 오류 시 기본적으로 허용
+                });
+    }
+
+    /**
+     * 지각 해시가 가까운 이미지의 검수 결과 (없으면 null)
+     */
+    private Boolean reuseVerdict(Long hash, String fileName) {
+        if (hash == null) {
+            return null;
+        }
+        PerceptualHashIndex.Verdict verdict = perceptualHashIndex.lookup(hash);
+        if (verdict == null) {
+            return null;
+        }
+        log.info("유사 이미지 검수 결과 재사용 - 파일: {}, 해밍 거리: {}, 성인 콘텐츠: {}",
+                fileName, verdict.distance(), verdict.nsfw());
+        return verdict.nsfw();
+    }
+
+    /**
+     * Vision 응답으로 판정하고, 정상 응답이면 지각 해시 색인에 기록
+     */
+    private boolean evaluateAndRecord(AnnotateImageResponse imageResponse, String fileName, Long hash) {
+        boolean nsfw = evaluate(imageResponse, fileName);
+        if (hash != null && !imageResponse.hasError()) {
+            perceptualHashIndex.record(hash, nsfw);
+        }
+        return nsfw;
+    }
+
+    /**
+     * SafeSearch 탐지 요청 생성
+     */
+    private AnnotateImageRequest buildSafeSearchRequest(byte[] imageBytes) {
+        // 이미지 생성
+        Image image = Image.newBuilder().setContent(ByteString.copyFrom(imageBytes)).build();
+
+        // SafeSearch 탐지 요청 설정
+        Feature feature = Feature.newBuilder()
+                .setType(Feature.Type.SAFE_SEARCH_DETECTION)
+                .build();
+
+        return AnnotateImageRequest.newBuilder()
+                .addFeatures(feature)
+                .setImage(image)
+                .build();
+    }
+
+    /**
+     * 이미지 분석 응답으로 성인 콘텐츠 여부 판단
+     */
+    private boolean evaluate(AnnotateImageResponse imageResponse, String fileName) {
+        // 오류 발생 시
+        if (imageResponse.hasError()) {
+            log.error("이미지 분석 중 오류 발생: {}", imageResponse.getError().getMessage());
+            return false;
+        }
+
+        // SafeSearch 결과 분석
+        SafeSearchAnnotation safeSearch = imageResponse.getSafeSearchAnnotation();
+        log.info("파일: {}, SafeSearch 결과 - 성인 콘텐츠: {}, 선정적: {}, 폭력적: {}, 의료: {}, 스푸핑: {}",
+                fileName,
+                safeSearch.getAdult(), safeSearch.getRacy(), safeSearch.getViolence(),
+                safeSearch.getMedical(), safeSearch.getSpoof());
+
+        // 성인 콘텐츠 여부 판단
+        boolean isNsfw = isInappropriateContent(safeSearch);
+
+        // 결과 로깅
+        if (isNsfw) {
+            log.warn("부적절한 콘텐츠 감지: {}", fileName);
+        } else {
+            log.info("안전한 콘텐츠: {}", fileName);
+        }
+
+        return isNsfw;
+    }
+
     /**
      * 파일이 이미지 파일인지 확인
      *
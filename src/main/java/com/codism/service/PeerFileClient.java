@@ -0,0 +1,327 @@
+package com.codism.service;
+
+import com.codism.exception.StoredFileNotFoundException;
+import com.codism.io.PeerFileResource;
+import com.codism.model.dto.FileEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 로컬에 없는 파일을 소유 노드에서 가져오는 fetch-through 클라이언트
+ * 기본은 원격 응답을 그대로 스트리밍하며, 캐시를 켜면 로컬 캐시 디렉토리에 받아 둔 뒤 제공한다.
+ * 캐시 파일은 삭제 이벤트(file.events 스트림)와 TTL로 무효화된다.
+ * 모든 노드에 없었던 위치는 negative cache에 기록해 다시 피어로 조회하지 않으며, 생성 이벤트로 무효화한다.
+ */
+@Slf4j
+@Service
+public class PeerFileClient {
+
+    private final ClusterRing clusterRing;
+    private final WebClient webClient;
+    private final FileEventSubscriber fileEventSubscriber;
+    private final ReplicationService replicationService;
+    private final MissingFileCache missingFileCache;
+    private final Duration fetchTimeout;
+    private final int replicationFactor;
+    private final boolean cacheEnabled;
+    private final String cachePath;
+    private final long cacheTtlMs;
+    private final long cacheMaxFileSize;
+    private final Duration cacheFetchTimeout;
+
+    private final ConcurrentHashMap<String, Counter> fetchCounters = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    private Path cacheRoot;
+
+    // 생성 이벤트를 구독 중일 때만 모든 노드에 없다는 기록을 사용 (무효화할 수 없으면 기록하지 않음)
+    private volatile boolean missingEventsSubscribed;
+
+    public PeerFileClient(
+            ClusterRing clusterRing,
+            WebClient webClient,
+            FileEventSubscriber fileEventSubscriber,
+            ReplicationService replicationService,
+            MissingFileCache missingFileCache,
+            MeterRegistry meterRegistry,
+            @Value("${file.cluster.fetch-timeout-ms:3000}") long fetchTimeoutMs,
+            @Value("${file.cluster.replication.factor:1}") int replicationFactor,
+            @Value("${file.cluster.cache.enabled:false}") boolean cacheEnabled,
+            @Value("${file.cluster.cache.path:./images.peer-cache}") String cachePath,
+            @Value("${file.cluster.cache.ttl-ms:600000}") long cacheTtlMs,
+            @Value("${file.cluster.cache.max-file-size:200MB}") DataSize cacheMaxFileSize,
+            @Value("${file.cluster.cache.fetch-timeout-ms:60000}") long cacheFetchTimeoutMs
+    ) {
+        this.clusterRing = clusterRing;
+        this.webClient = webClient;
+        this.fileEventSubscriber = fileEventSubscriber;
+        this.replicationService = replicationService;
+        this.missingFileCache = missingFileCache;
+        this.meterRegistry = meterRegistry;
+        this.fetchTimeout = Duration.ofMillis(fetchTimeoutMs);
+        this.replicationFactor = replicationFactor;
+        this.cacheEnabled = cacheEnabled;
+        this.cachePath = cachePath;
+        this.cacheTtlMs = cacheTtlMs;
+        this.cacheMaxFileSize = cacheMaxFileSize.toBytes();
+        this.cacheFetchTimeout = Duration.ofMillis(cacheFetchTimeoutMs);
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        if (cacheEnabled) {
+            cacheRoot = Paths.get(cachePath).toAbsolutePath().normalize();
+            Files.createDirectories(cacheRoot);
+        }
+    }
+
+    /**
+     * 삭제된 파일의 캐시 사본 제거, 생성된 파일의 없음 기록 제거 (다른 노드에서 삭제/생성된 경우 포함)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void subscribeInvalidation() {
+        if (!clusterRing.isEnabled()) {
+            return;
+        }
+        try {
+            fileEventSubscriber.tail(event -> {
+                if (event.getFileLocation() == null) {
+                    return;
+                }
+                if (event.getType() == FileEvent.Type.CREATED) {
+                    missingFileCache.stored(event.getFileLocation());
+                } else if (event.getType() == FileEvent.Type.DELETED && cacheEnabled) {
+                    evict(event.getFileLocation());
+                }
+            });
+            missingEventsSubscribed = true;
+        } catch (Exception e) {
+            log.warn("파일 이벤트 구독 실패, 피어 캐시는 TTL로만 만료되고 없는 파일도 매번 피어에 조회합니다 - Error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 원격 노드에서 파일을 가져옴 (현재 소유자, 복제본 노드, 직전 ring의 소유자 순으로 장애 시 다음 노드 시도)
+     * ring 변경이 연달아 있으면 직전 ring만으로는 파일을 가진 노드를 찾지 못하므로
+     * 마지막으로 Redis의 보유 노드 기록(file:replicas:)에 있는 노드를 시도한다.
+     * 모든 노드가 없다고 응답하면(오류 없이) negative cache에 기록하고, 기록된 위치는 피어에 조회하지 않는다.
+     *
+     * @throws FileNotFoundException 어느 노드에도 파일이 없는 경우
+     */
+    public Resource fetch(String fileLocation) throws FileNotFoundException {
+        if (cacheEnabled) {
+            Resource cached = cachedResource(fileLocation);
+            if (cached != null) {
+                count("cache_hit");
+                return cached;
+            }
+        }
+
+        boolean recordMissing = missingEventsSubscribed;
+        if (recordMissing && missingFileCache.isMissingInCluster(fileLocation)) {
+            count("known_missing");
+            throw new StoredFileNotFoundException(fileLocation);
+        }
+        long epoch = missingFileCache.epoch();
+        AtomicBoolean failed = new AtomicBoolean();
+
+        List<ClusterRing.Node> candidates = clusterRing.readCandidates(fileLocation, replicationFactor);
+        Resource resource = fetchFromAny(candidates, fileLocation, "hit", failed);
+        if (resource != null) {
+            return resource;
+        }
+
+        List<ClusterRing.Node> holders;
+        try {
+            holders = replicationService.remoteHolders(fileLocation).stream()
+                    .filter(node -> !candidates.contains(node))
+                    .toList();
+        } catch (Exception e) {
+            log.warn("보유 노드 기록 조회 실패 - fileLocation: {}, Error: {}", fileLocation, e.getMessage());
+            failed.set(true);
+            holders = List.of();
+        }
+        resource = fetchFromAny(holders, fileLocation, "holder_hit", failed);
+        if (resource != null) {
+            return resource;
+        }
+        count("miss");
+        // 응답하지 못한 노드가 있으면 그 노드에 있을 수 있으므로 기록하지 않음
+        if (recordMissing && !failed.get()) {
+            missingFileCache.markMissingInCluster(fileLocation, epoch);
+        }
+        throw new StoredFileNotFoundException(fileLocation);
+    }
+
+    /**
+     * 순서대로 시도해 처음 찾은 파일 (모두 없거나 실패하면 null, 실패한 노드가 있으면 failed 설정)
+     */
+    private Resource fetchFromAny(List<ClusterRing.Node> nodes, String fileLocation, String hitOutcome, AtomicBoolean failed) {
+        for (ClusterRing.Node node : nodes) {
+            try {
+                Resource resource = fetchFrom(node, fileLocation);
+                if (resource != null) {
+                    count(hitOutcome);
+                    return resource;
+                }
+            } catch (Exception e) {
+                failed.set(true);
+                count("error");
+                log.warn("피어 파일 조회 실패 - node: {}, fileLocation: {}, Error: {}",
+                        node.instanceId(), fileLocation, e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 지정한 노드에서 파일 조회 (없으면 null)
+     * 응답 헤더까지만 기다리고 본문은 소비하는 쪽의 속도에 맞춰 흘려보낸다.
+     */
+    private Resource fetchFrom(ClusterRing.Node node, String fileLocation) throws IOException {
+        ResponseEntity<Flux<DataBuffer>> entity;
+        try {
+            entity = webClient.get()
+                    .uri(node.uri() + "/api/v1/display?fileLocation={fileLocation}", fileLocation)
+                    .headers(clusterRing::applyPeerHeaders)
+                    .retrieve()
+                    .toEntityFlux(DataBuffer.class)
+                    .block(fetchTimeout);
+        } catch (WebClientResponseException.NotFound e) {
+            return null;
+        }
+        if (entity == null || entity.getBody() == null) {
+            return null;
+        }
+
+        String filename = Paths.get(fileLocation).getFileName().toString();
+        HttpHeaders headers = entity.getHeaders();
+        // 캐시 한도보다 큰 파일은 캐시에 받지 않고 그대로 스트리밍
+        if (cacheEnabled && headers.getContentLength() <= cacheMaxFileSize) {
+            return storeInCache(fileLocation, entity.getBody());
+        }
+        String contentType = headers.getContentType() != null ? headers.getContentType().toString() : null;
+        return new PeerFileResource(filename, headers.getContentLength(), contentType, node.instanceId(), entity.getBody());
+    }
+
+    /**
+     * 원격 응답을 캐시 파일로 받음 (전체 시간 제한과 크기 한도를 넘으면 중단하고 임시 파일 삭제)
+     * Content-Length가 없는 응답도 받은 바이트 수로 한도를 검사한다.
+     */
+    private Resource storeInCache(String fileLocation, Flux<DataBuffer> body) throws IOException {
+        Path target = cacheFile(fileLocation);
+        Files.createDirectories(target.getParent());
+        Path temp = target.resolveSibling("." + target.getFileName() + "." + UUID.randomUUID() + ".part");
+        AtomicLong received = new AtomicLong();
+        Flux<DataBuffer> limited = body.handle((buffer, sink) -> {
+            if (received.addAndGet(buffer.readableByteCount()) > cacheMaxFileSize) {
+                DataBufferUtils.release(buffer);
+                sink.error(new IOException("피어 캐시 파일 크기 한도 초과: " + fileLocation));
+            } else {
+                sink.next(buffer);
+            }
+        });
+        try {
+            DataBufferUtils.write(limited, temp)
+                    .timeout(cacheFetchTimeout)
+                    .block();
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return new UrlResource(target.toUri());
+    }
+
+    private Resource cachedResource(String fileLocation) {
+        try {
+            Path file = cacheFile(fileLocation);
+            return Files.isRegularFile(file) ? new UrlResource(file.toUri()) : null;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void evict(String fileLocation) {
+        try {
+            if (FileSystemUtils.deleteRecursively(cacheFile(fileLocation))) {
+                log.debug("피어 캐시 제거 - fileLocation: {}", fileLocation);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("피어 캐시 제거 실패 - fileLocation: {}, Error: {}", fileLocation, e.getMessage());
+        }
+    }
+
+    /**
+     * 캐시 루트 하위 경로로 변환 (루트 밖으로 벗어나는 경로는 거부)
+     */
+    private Path cacheFile(String fileLocation) {
+        Path resolved = cacheRoot.resolve(fileLocation).normalize();
+        if (!resolved.startsWith(cacheRoot) || resolved.equals(cacheRoot)) {
+            throw new IllegalArgumentException("잘못된 파일 위치입니다: " + fileLocation);
+        }
+        return resolved;
+    }
+
+    /**
+     * TTL이 지난 캐시 파일 정리 (삭제 이벤트를 놓친 경우의 안전장치)
+     */
+    @Scheduled(fixedDelayString = "${file.cluster.cache.sweep-interval-ms:60000}")
+    public void sweepCache() {
+        if (!cacheEnabled) {
+            return;
+        }
+        long expiresBefore = System.currentTimeMillis() - cacheTtlMs;
+        try (Stream<Path> walk = Files.walk(cacheRoot)) {
+            walk.filter(Files::isRegularFile).forEach(file -> {
+                try {
+                    if (Files.getLastModifiedTime(file).toMillis() < expiresBefore) {
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException e) {
+                    log.debug("피어 캐시 파일 정리 실패 - {}: {}", file, e.getMessage());
+                }
+            });
+        } catch (IOException e) {
+            log.warn("피어 캐시 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    private void count(String outcome) {
+        fetchCounters.computeIfAbsent(outcome, key -> Counter.builder("cluster.peer.fetch")
+                .description("다른 노드에서 파일을 가져온 결과")
+                .tag("outcome", key)
+                .register(meterRegistry)).increment();
+    }
+}
@@ -0,0 +1,446 @@
+package com.codism.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.imgscalr.Scalr;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 검수 결과를 지각 해시(dHash, 64비트)로 색인해 유사 이미지(리사이즈/재압축/EXIF 제거)에 재사용
+ * 해밍 거리 기반 BK-tree에 보관하고 주기적으로 파일에 저장한다.
+ * 통과 판정은 더 엄격한 거리(approve-max-distance)에서만 재사용해 유사 이미지로 검수를 우회하기 어렵게 한다.
+ */
+@Slf4j
+@Service
+public class PerceptualHashIndex {
+
+    private static final int FILE_MAGIC = 0x50484153; // "PHAS"
+    private static final int FILE_VERSION = 1;
+    // 디코딩 시 긴 변 기준 이 크기 근처까지만 서브샘플링해서 읽음 (큰 이미지의 디코딩 비용 절감)
+    private static final int DECODE_TARGET = 256;
+
+    /**
+     * 재사용할 검수 결과 (distance: 조회한 이미지와의 해밍 거리)
+     */
+    public record Verdict(boolean nsfw, int distance) {
+    }
+
+    private final boolean enabled;
+    private final int maxDistance;
+    private final int approveMaxDistance;
+    private final int maxEntries;
+    private final Path persistPath;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node root;
+    private int size;
+    private volatile boolean dirty;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter unhashableCounter;
+
+    public PerceptualHashIndex(
+            MeterRegistry meterRegistry,
+            @Value("${google.vision.phash.enabled:true}") boolean enabled,
+            @Value("${google.vision.phash.max-distance:6}") int maxDistance,
+            @Value("${google.vision.phash.approve-max-distance:3}") int approveMaxDistance,
+            @Value("${google.vision.phash.max-entries:200000}") int maxEntries,
+            @Value("${google.vision.phash.persist-path:./moderation-phash.bin}") String persistPath
+    ) {
+        this.enabled = enabled;
+        this.maxDistance = maxDistance;
+        this.approveMaxDistance = Math.min(approveMaxDistance, maxDistance);
+        this.maxEntries = maxEntries;
+        this.persistPath = persistPath.isBlank() ? null : Paths.get(persistPath);
+        this.hitCounter = lookupCounter(meterRegistry, "hit");
+        this.missCounter = lookupCounter(meterRegistry, "miss");
+        this.unhashableCounter = lookupCounter(meterRegistry, "unhashable");
+        Gauge.builder("moderation.phash.entries", this, PerceptualHashIndex::size)
+                .description("지각 해시 색인에 보관된 검수 결과 수")
+                .register(meterRegistry);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("moderation.phash.lookups")
+                .tag("outcome", outcome)
+                .description("지각 해시 색인 조회 결과")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!enabled || persistPath == null || !Files.exists(persistPath)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(persistPath))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                log.warn("지각 해시 색인 파일 형식이 맞지 않아 무시합니다: {}", persistPath);
+                return;
+            }
+            int count = in.readInt();
+            List<Node> nodes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                nodes.add(new Node(in.readLong(), in.readBoolean(), in.readLong()));
+            }
+            lock.writeLock().lock();
+            try {
+                rebuild(nodes);
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("지각 해시 색인 로드 - entries: {}, path: {}", count, persistPath);
+        } catch (IOException e) {
+            log.warn("지각 해시 색인 로드 실패 - path: {}, error: {}", persistPath, e.getMessage());
+        }
+    }
+
+    /**
+     * 이미지 바이트의 dHash (디코딩할 수 없는 형식이면 null)
+     */
+    public Long hash(byte[] imageBytes) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            BufferedImage image = decodeSubsampled(imageBytes);
+            if (image == null) {
+                unhashableCounter.increment();
+                return null;
+            }
+            return dHash(image);
+        } catch (IOException | RuntimeException e) {
+            log.debug("지각 해시 계산 실패: {}", e.getMessage());
+            unhashableCounter.increment();
+            return null;
+        }
+    }
+
+    /**
+     * 가까운 이미지의 검수 결과 (성인 판정은 max-distance, 통과 판정은 approve-max-distance 이내만)
+     */
+    public Verdict lookup(long hash) {
+        Node nearest = null;
+        int nearestDistance = Integer.MAX_VALUE;
+        lock.readLock().lock();
+        try {
+            if (root == null) {
+                missCounter.increment();
+                return null;
+            }
+            Deque<Node> stack = new ArrayDeque<>();
+            stack.push(root);
+            while (!stack.isEmpty()) {
+                Node node = stack.pop();
+                int distance = Long.bitCount(node.hash ^ hash);
+                if (distance <= radiusFor(node.nsfw) && isCloser(node, distance, nearest, nearestDistance)) {
+                    nearest = node;
+                    nearestDistance = distance;
+                }
+                // 삼각 부등식: |d(child, node) - d(query, node)| <= maxDistance 인 자식만 탐색
+                for (int i = 0; i < node.childCount; i++) {
+                    if (Math.abs(node.childDistances[i] - distance) <= maxDistance) {
+                        stack.push(node.children[i]);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (nearest == null) {
+            missCounter.increment();
+            return null;
+        }
+        hitCounter.increment();
+        return new Verdict(nearest.nsfw, nearestDistance);
+    }
+
+    /**
+     * 범위 안에 성인 판정이 하나라도 있으면 그 결과를 우선 (보수적으로 재사용), 그다음 거리순
+     */
+    private static boolean isCloser(Node candidate, int distance, Node nearest, int nearestDistance) {
+        if (nearest == null) {
+            return true;
+        }
+        if (candidate.nsfw != nearest.nsfw) {
+            return candidate.nsfw;
+        }
+        return distance < nearestDistance;
+    }
+
+    private int radiusFor(boolean nsfw) {
+        return nsfw ? maxDistance : approveMaxDistance;
+    }
+
+    /**
+     * Vision 검수 결과 기록 (같은 해시가 있으면 최신 결과로 교체)
+     */
+    public void record(long hash, boolean nsfw) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            insert(new Node(hash, nsfw, System.currentTimeMillis()));
+            if (size > maxEntries) {
+                // 상한을 넘으면 최근 결과 3/4만 남기고 다시 구성
+                List<Node> nodes = collect();
+                nodes.sort(Comparator.comparingLong((Node node) -> node.recordedAt).reversed());
+                rebuild(new ArrayList<>(nodes.subList(0, maxEntries * 3 / 4)));
+            }
+            dirty = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${google.vision.phash.persist-interval-ms:300000}",
+            initialDelayString = "${google.vision.phash.persist-interval-ms:300000}")
+    public void persistIfDirty() {
+        if (dirty) {
+            persist();
+        }
+    }
+
+    @PreDestroy
+    public void persistOnShutdown() {
+        persistIfDirty();
+    }
+
+    /**
+     * 색인을 파일로 저장 (임시 파일에 쓴 뒤 원자적으로 교체)
+     */
+    public void persist() {
+        if (!enabled || persistPath == null) {
+            return;
+        }
+        List<Node> nodes;
+        lock.readLock().lock();
+        try {
+            nodes = collect();
+            dirty = false;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Path temp = persistPath.resolveSibling(persistPath.getFileName() + ".tmp");
+        try {
+            Path parent = persistPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_VERSION);
+                out.writeInt(nodes.size());
+                for (Node node : nodes) {
+                    out.writeLong(node.hash);
+                    out.writeBoolean(node.nsfw);
+                    out.writeLong(node.recordedAt);
+                }
+            }
+            Files.move(temp, persistPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            log.debug("지각 해시 색인 저장 - entries: {}", nodes.size());
+        } catch (IOException e) {
+            dirty = true;
+            log.warn("지각 해시 색인 저장 실패 - path: {}, error: {}", persistPath, e.getMessage());
+        }
+    }
+
+    private void insert(Node node) {
+        if (root == null) {
+            root = node;
+            size = 1;
+            return;
+        }
+        Node current = root;
+        while (true) {
+            int distance = Long.bitCount(current.hash ^ node.hash);
+            if (distance == 0) {
+                current.nsfw = node.nsfw;
+                current.recordedAt = node.recordedAt;
+                return;
+            }
+            Node child = current.child(distance);
+            if (child == null) {
+                current.addChild(distance, node);
+                size++;
+                return;
+            }
+            current = child;
+        }
+    }
+
+    private List<Node> collect() {
+        List<Node> nodes = new ArrayList<>(size);
+        if (root == null) {
+            return nodes;
+        }
+        Deque<Node> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Node node = stack.pop();
+            nodes.add(new Node(node.hash, node.nsfw, node.recordedAt));
+            for (int i = 0; i < node.childCount; i++) {
+                stack.push(node.children[i]);
+            }
+        }
+        return nodes;
+    }
+
+    /**
+     * 무작위 순서로 다시 삽입 (입력 순서에 따른 트리 편향 방지)
+     */
+    private void rebuild(List<Node> nodes) {
+        Collections.shuffle(nodes);
+        root = null;
+        size = 0;
+        for (Node node : nodes) {
+            insert(node);
+        }
+    }
+
+    /**
+     * 긴 변이 DECODE_TARGET 근처가 되도록 서브샘플링해서 디코딩
+     */
+    private static BufferedImage decodeSubsampled(byte[] imageBytes) throws IOException {
+        try (InputStream bytes = new ByteArrayInputStream(imageBytes);
+             ImageInputStream input = ImageIO.createImageInputStream(bytes)) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longest = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = Math.max(1, longest / DECODE_TARGET);
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * dHash: 9x8 회색조로 줄인 뒤 가로로 이웃한 픽셀 밝기 비교 (64비트)
+     */
+    static long dHash(BufferedImage image) {
+        BufferedImage small = Scalr.resize(image, Scalr.Method.QUALITY, Scalr.Mode.FIT_EXACT, 9, 8);
+        try {
+            long hash = 0;
+            for (int y = 0; y < 8; y++) {
+                int left = luminance(small.getRGB(0, y));
+                for (int x = 1; x < 9; x++) {
+                    int right = luminance(small.getRGB(x, y));
+                    hash = (hash << 1) | (left > right ? 1 : 0);
+                    left = right;
+                }
+            }
+            return hash;
+        } finally {
+            small.flush();
+        }
+    }
+
+    private static int luminance(int rgb) {
+        int r = (rgb >> 16) & 0xFF;
+        int g = (rgb >> 8) & 0xFF;
+        int b = rgb & 0xFF;
+        return (r * 299 + g * 587 + b * 114) / 1000;
+    }
+
+    /**
+     * BK-tree 노드 (자식은 부모와의 거리별로 하나씩, 배열로 보관해 노드당 메모리 최소화)
+     */
+    private static final class Node {
+        private final long hash;
+        private boolean nsfw;
+        private long recordedAt;
+        private Node[] children;
+        private byte[] childDistances;
+        private int childCount;
+
+        private Node(long hash, boolean nsfw, long recordedAt) {
+            this.hash = hash;
+            this.nsfw = nsfw;
+            this.recordedAt = recordedAt;
+        }
+
+        private Node child(int distance) {
+            for (int i = 0; i < childCount; i++) {
+                if (childDistances[i] == distance) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private void addChild(int distance, Node node) {
+            if (children == null) {
+                children = new Node[2];
+                childDistances = new byte[2];
+            } else if (childCount == children.length) {
+                int capacity = Math.min(children.length * 2, 64);
+                children = Arrays.copyOf(children, capacity);
+                childDistances = Arrays.copyOf(childDistances, capacity);
+            }
+            children[childCount] = node;
+            childDistances[childCount] = (byte) distance;
+            childCount++;
+        }
+    }
+}
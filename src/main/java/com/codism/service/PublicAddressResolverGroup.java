@@ -0,0 +1,130 @@
+package com.codism.service;
+
+import io.netty.resolver.AddressResolver;
+import io.netty.resolver.AddressResolverGroup;
+import io.netty.resolver.InetNameResolver;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Promise;
+
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 외부(공인) 주소로만 연결되는 Reactor Netty 주소 해석기
+ * 연결 직전에 해석한 주소를 그대로 검사하므로, 검사 후 DNS 응답이 내부 주소로 바뀌는(DNS rebinding) 경우에도
+ * 내부망으로 연결되지 않는다. 해석 결과에 내부 주소가 하나라도 있으면 거부한다.
+ */
+public class PublicAddressResolverGroup extends AddressResolverGroup<InetSocketAddress> {
+
+    /**
+     * 호스트 이름 해석 (기본은 InetAddress.getAllByName, Netty 기본 해석기와 같은 방식)
+     */
+    @FunctionalInterface
+    public interface HostLookup {
+        InetAddress[] lookup(String host) throws UnknownHostException;
+    }
+
+    /**
+     * 내부 주소로 해석되어 연결을 거부함
+     */
+    public static class BlockedAddressException extends UnknownHostException {
+
+        public BlockedAddressException(String host, InetAddress address) {
+            super("내부 주소로 해석되는 호스트입니다: " + host + " -> " + address.getHostAddress());
+        }
+    }
+
+    private final HostLookup lookup;
+
+    public PublicAddressResolverGroup() {
+        this(InetAddress::getAllByName);
+    }
+
+    public PublicAddressResolverGroup(HostLookup lookup) {
+        this.lookup = lookup;
+    }
+
+    @Override
+    protected AddressResolver<InetSocketAddress> newResolver(EventExecutor executor) {
+        return new InetNameResolver(executor) {
+            @Override
+            protected void doResolve(String host, Promise<InetAddress> promise) {
+                try {
+                    promise.setSuccess(resolvePublic(host).get(0));
+                } catch (UnknownHostException e) {
+                    promise.setFailure(e);
+                }
+            }
+
+            @Override
+            protected void doResolveAll(String host, Promise<List<InetAddress>> promise) {
+                try {
+                    promise.setSuccess(resolvePublic(host));
+                } catch (UnknownHostException e) {
+                    promise.setFailure(e);
+                }
+            }
+        }.asAddressResolver();
+    }
+
+    /**
+     * 호스트를 해석하고 내부 주소가 섞여 있으면 거부
+     */
+    public List<InetAddress> resolvePublic(String host) throws UnknownHostException {
+        InetAddress[] addresses = lookup.lookup(host);
+        if (addresses == null || addresses.length == 0) {
+            throw new UnknownHostException(host);
+        }
+        for (InetAddress address : addresses) {
+            if (isInternal(address)) {
+                throw new BlockedAddressException(host, address);
+            }
+        }
+        return Arrays.asList(addresses);
+    }
+
+    /**
+     * 내부망/루프백 등 외부에서 접근하면 안 되는 주소인지
+     */
+    public static boolean isInternal(InetAddress address) {
+        if (address.isAnyLocalAddress() || address.isLoopbackAddress() || address.isLinkLocalAddress()
+                || address.isSiteLocalAddress() || address.isMulticastAddress()) {
+            return true;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet4Address) {
+            int first = bytes[0] & 0xff;
+            // 0.0.0.0/8 (this network), 100.64.0.0/10 (CGNAT), 240.0.0.0/4 (예약, 브로드캐스트 포함)
+            return first == 0
+                    || (first == 100 && (bytes[1] & 0xc0) == 64)
+                    || (first & 0xf0) == 0xf0;
+        }
+        if (address instanceof Inet6Address) {
+            // ::ffff:a.b.c.d (IPv4-mapped), ::a.b.c.d (IPv4-compatible)는 안쪽 IPv4 주소로 판단
+            if (isZero(bytes, 0, 10) && ((bytes[10] & 0xff) == 0xff && (bytes[11] & 0xff) == 0xff || isZero(bytes, 10, 12))) {
+                try {
+                    return isInternal(InetAddress.getByAddress(Arrays.copyOfRange(bytes, 12, 16)));
+                } catch (UnknownHostException e) {
+                    return true;
+                }
+            }
+            // fc00::/7 (unique local)
+            return (bytes[0] & 0xfe) == 0xfc;
+        }
+        return false;
+    }
+
+    private static boolean isZero(byte[] bytes, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
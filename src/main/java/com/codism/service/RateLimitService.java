@@ -0,0 +1,106 @@
+package com.codism.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Redis Lua 스크립트 기반 분산 토큰 버킷 요청 제한
+ * 버킷 갱신은 스크립트 안에서 원자적으로 수행되며 시각은 Redis 서버 시간(TIME)을 사용한다.
+ * 거부된 키는 재시도 가능 시각까지 로컬에서 바로 거부하여 Redis 호출을 줄인다.
+ * Redis를 사용할 수 없으면 요청을 허용한다 (fail-open).
+ */
+@Slf4j
+@Service
+public class RateLimitService {
+
+    private static final String RATE_LIMIT_KEY = "ratelimit:";
+
+    // KEYS[1]: 버킷 키, ARGV[1]: 초당 충전량, ARGV[2]: 버킷 용량, ARGV[3]: 요청 토큰 수
+    // 반환: {허용 여부(1/0), 재시도까지 남은 ms}
+    private static final RedisScript<List> TOKEN_BUCKET_SCRIPT = new DefaultRedisScript<>("""
+            local rate = tonumber(ARGV[1])
+            local capacity = tonumber(ARGV[2])
+            local requested = tonumber(ARGV[3])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+            local tokens = tonumber(bucket[1]) or capacity
+            local ts = tonumber(bucket[2]) or now
+            tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate / 1000)
+            local allowed = 0
+            local wait = 0
+            if tokens >= requested then
+              tokens = tokens - requested
+              allowed = 1
+            else
+              wait = math.ceil((requested - tokens) * 1000 / rate)
+            end
+            redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now))
+            redis.call('PEXPIRE', KEYS[1], math.ceil(capacity * 1000 / rate) + 1000)
+            return {allowed, wait}
+            """, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    // 키별 로컬 거부 만료 시각 (epoch ms)
+    private final Cache<String, Long> deniedUntil;
+
+    public RateLimitService(
+            StringRedisTemplate stringRedisTemplate,
+            RedisCircuitBreaker circuitBreaker,
+            @Value("${rate-limit.local-cache.max-size:100000}") long localCacheMaxSize
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.circuitBreaker = circuitBreaker;
+        this.deniedUntil = Caffeine.newBuilder()
+                .maximumSize(localCacheMaxSize)
+                .expireAfterWrite(Duration.ofMinutes(1))
+                .build();
+    }
+
+    /**
+     * 토큰 버킷에서 토큰 획득 시도
+     *
+     * @param key 제한 대상 (예: user:{userCd}, ip:{address})
+     * @param ratePerSecond 초당 충전 토큰 수
+     * @param capacity 버킷 용량 (순간 허용량)
+     * @param requested 이번 요청이 소모할 토큰 수
+     * @return 허용되면 0, 거부되면 재시도까지 남은 ms
+     */
+    public long tryAcquire(String key, double ratePerSecond, long capacity, long requested) {
+        String bucketKey = RATE_LIMIT_KEY + key;
+        long now = System.currentTimeMillis();
+
+        // 1. 로컬 사전 확인 (최근 거부된 키는 Redis 호출 없이 거부)
+        Long localDeniedUntil = deniedUntil.getIfPresent(bucketKey);
+        if (localDeniedUntil != null && localDeniedUntil > now) {
+            return localDeniedUntil - now;
+        }
+
+        // 2. Redis 토큰 버킷 (원자적 갱신)
+        try {
+            List<?> result = circuitBreaker.execute(() -> stringRedisTemplate.execute(TOKEN_BUCKET_SCRIPT,
+                    List.of(bucketKey),
+                    String.valueOf(ratePerSecond), String.valueOf(capacity), String.valueOf(requested)));
+            if (result == null || result.size() < 2 || ((Number) result.get(0)).longValue() == 1) {
+                return 0;
+            }
+            long waitMs = Math.max(1, ((Number) result.get(1)).longValue());
+            deniedUntil.put(bucketKey, now + waitMs);
+            return waitMs;
+        } catch (Exception e) {
+            log.debug("요청 제한 확인 실패, 요청 허용 - Key: {}, Error: {}", key, e.getMessage());
+            return 0;
+        }
+    }
+}
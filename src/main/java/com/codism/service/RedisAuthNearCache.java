@@ -0,0 +1,181 @@
+package com.codism.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lettuce.core.RedisChannelHandler;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisConnectionStateListener;
+import io.lettuce.core.TrackingArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.StringCodec;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.SocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 인증 관련 Redis 키의 로컬 near-cache
+ * Redis 6 클라이언트 사이드 캐싱(RESP3 CLIENT TRACKING BCAST)으로 무효화 메시지를 받아
+ * 다른 서비스가 토큰을 변경/폐기해도 즉시 캐시에서 제거한다.
+ * 트래킹 연결이 끊어진 동안에는 캐시를 비우고 사용하지 않는다.
+ */
+@Slf4j
+@Component
+public class RedisAuthNearCache {
+
+    private final RedisClient trackingRedisClient;
+    private final boolean enabled;
+    private final String[] trackedPrefixes;
+
+    // 키: Redis 키, 값: 조회 결과 (키가 없으면 Optional.empty())
+    private final Cache<String, Optional<Object>> cache;
+
+    // 무효화 메시지를 받을 때마다 증가 (조회 중 무효화된 값이 캐시에 들어가는 것을 방지)
+    private final AtomicLong invalidationEpoch = new AtomicLong();
+
+    private volatile boolean tracking = false;
+    private volatile StatefulRedisConnection<String, String> trackingConnection;
+
+    public RedisAuthNearCache(
+            RedisClient trackingRedisClient,
+            @Value("${auth.near-cache.enabled:true}") boolean enabled,
+            @Value("${auth.near-cache.max-size:50000}") long maxSize,
+            @Value("${auth.near-cache.ttl-ms:60000}") long ttlMs,
+            @Value("${auth.near-cache.prefixes:auth:access_token:,auth:blacklist:}") String[] trackedPrefixes
+    ) {
+        this.trackingRedisClient = trackingRedisClient;
+        this.enabled = enabled;
+        this.trackedPrefixes = trackedPrefixes;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .build();
+    }
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            log.info("인증 near-cache 비활성화 상태");
+            return;
+        }
+
+        trackingRedisClient.addListener(new RedisConnectionStateListener() {
+            @Override
+            public void onRedisConnected(RedisChannelHandler<?, ?> connection, SocketAddress socketAddress) {
+                // 재연결 시 서버의 트래킹 상태가 사라지므로 다시 등록
+                if (trackingConnection != null) {
+                    enableTracking();
+                }
+            }
+
+            @Override
+            public void onRedisDisconnected(RedisChannelHandler<?, ?> connection) {
+                disableTracking();
+            }
+
+            @Override
+            public void onRedisExceptionCaught(RedisChannelHandler<?, ?> connection, Throwable cause) {
+                log.debug("트래킹 연결 오류: {}", cause.getMessage());
+            }
+        });
+
+        try {
+            StatefulRedisConnection<String, String> connection = trackingRedisClient.connect(StringCodec.UTF8);
+            connection.addListener(message -> {
+                if (!"invalidate".equals(message.getType())) {
+                    return;
+                }
+                invalidationEpoch.incrementAndGet();
+                List<Object> content = message.getContent(StringCodec.UTF8::decodeKey);
+                Object keys = content.size() > 1 ? content.get(1) : null;
+                if (keys instanceof List<?> keyList) {
+                    keyList.forEach(key -> cache.invalidate(String.valueOf(key)));
+                } else {
+                    // FLUSHALL 등으로 키 목록 없이 무효화된 경우
+                    cache.invalidateAll();
+                }
+            });
+            trackingConnection = connection;
+            enableTracking();
+        } catch (Exception e) {
+            log.error("인증 near-cache 트래킹 연결 실패, near-cache 없이 동작합니다 - Error: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        tracking = false;
+        if (trackingConnection != null) {
+            trackingConnection.close();
+        }
+    }
+
+    private void enableTracking() {
+        StatefulRedisConnection<String, String> connection = trackingConnection;
+        if (connection == null) {
+            return;
+        }
+        connection.async()
+                .clientTracking(TrackingArgs.Builder.enabled().bcast().prefixes(trackedPrefixes))
+                .whenComplete((result, error) -> {
+                    if (error != null) {
+                        log.error("CLIENT TRACKING 등록 실패 - Error: {}", error.getMessage());
+                        disableTracking();
+                    } else {
+                        invalidationEpoch.incrementAndGet();
+                        cache.invalidateAll();
+                        tracking = true;
+                        log.info("인증 near-cache 트래킹 활성화 - prefixes: {}", String.join(",", trackedPrefixes));
+                    }
+                });
+    }
+
+    private void disableTracking() {
+        tracking = false;
+        invalidationEpoch.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * 캐시된 값 조회
+     *
+     * @return 캐시에 없으면 null, 캐시된 "키 없음"은 Optional.empty()
+     */
+    public Optional<Object> getIfPresent(String key) {
+        if (!tracking) {
+            return null;
+        }
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Redis 조회 직전에 호출하여 현재 무효화 시점을 기록
+     */
+    public long epoch() {
+        return invalidationEpoch.get();
+    }
+
+    /**
+     * Redis 조회 결과 저장 (조회 도중 무효화가 발생했으면 저장하지 않음)
+     */
+    public void put(String key, Object value, long epochAtRead) {
+        if (tracking && invalidationEpoch.get() == epochAtRead) {
+            cache.put(key, Optional.ofNullable(value));
+            // 저장 직후 무효화가 끼어들었으면 되돌림
+            if (invalidationEpoch.get() != epochAtRead) {
+                cache.invalidate(key);
+            }
+        }
+    }
+
+    public boolean isTracking() {
+        return tracking;
+    }
+}
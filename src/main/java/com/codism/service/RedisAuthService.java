@@ -1,26 +1,70 @@
 package com.codism.service;
 
-import lombok.RequiredArgsConstructor;
+import com.codism.config.RedisConfig;
+import com.codism.exception.RedisUnavailableException;
+import com.codism.security.TokenDigest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * 인증 토큰 저장/조회 (적응형 타임아웃이 적용된 인증 전용 연결 사용)
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class RedisAuthService {
 
     private final RedisTemplate<String, Object> redisTemplate;
+    private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisAuthNearCache nearCache;
+    private final TokenBlacklistIndex tokenBlacklistIndex;
+    private final RedisCircuitBreaker circuitBreaker;
+
+    public RedisAuthService(
+            @Qualifier(RedisConfig.AUTH) RedisTemplate<String, Object> redisTemplate,
+            @Qualifier(RedisConfig.AUTH) ReactiveRedisTemplate<String, Object> reactiveRedisTemplate,
+            @Qualifier(RedisConfig.AUTH) StringRedisTemplate stringRedisTemplate,
+            RedisAuthNearCache nearCache,
+            TokenBlacklistIndex tokenBlacklistIndex,
+            RedisCircuitBreaker circuitBreaker
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.reactiveRedisTemplate = reactiveRedisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.nearCache = nearCache;
+        this.tokenBlacklistIndex = tokenBlacklistIndex;
+        this.circuitBreaker = circuitBreaker;
+    }
 
     // Redis Key 패턴
     private static final String ACCESS_TOKEN_KEY = "auth:access_token:";
     private static final String REFRESH_TOKEN_KEY = "auth:refresh_token:";
     private static final String USER_SESSION_KEY = "auth:user_session:";
     private static final String LOGIN_ATTEMPT_KEY = "auth:login_attempt:";
-    private static final String BLACKLIST_TOKEN_KEY = "auth:blacklist:";
+    // KEYS[1]: 카운터 키, ARGV[1]: 만료 시간(초)
+    private static final RedisScript<Long> INCREMENT_WITH_EXPIRE_SCRIPT = new DefaultRedisScript<>("""
+            local count = redis.call('INCR', KEYS[1])
+            redis.call('EXPIRE', KEYS[1], ARGV[1])
+            return count
+            """, Long.class);
+
+    // 블랙리스트 키는 토큰 원문 대신 SHA-256 다이제스트를 사용 (auth:blacklist:<digest>)
+    static final String BLACKLIST_TOKEN_KEY = "auth:blacklist:";
 
     /**
      * Access Token을 Redis에 저장
@@ -28,7 +72,7 @@ public class RedisAuthService {
     public void storeAccessToken(String userCd, String accessToken, long expirationMs) {
         String key = ACCESS_TOKEN_KEY + userCd;
         try {
-            redisTemplate.opsForValue().set(key, accessToken, Duration.ofMillis(expirationMs));
+            circuitBreaker.run(() -> redisTemplate.opsForValue().set(key, accessToken, Duration.ofMillis(expirationMs)));
             log.debug("Access Token 저장 완료 - UserId: {}", userCd);
         } catch (Exception e) {
             log.error("Access Token 저장 실패 - UserId: {}, Error: {}", userCd, e.getMessage());
@@ -42,7 +86,7 @@ public class RedisAuthService {
     public void storeRefreshToken(String userCd, String refreshToken, long expirationMs) {
         String key = REFRESH_TOKEN_KEY + userCd;
         try {
-            redisTemplate.opsForValue().set(key, refreshToken, Duration.ofMillis(expirationMs));
+            circuitBreaker.run(() -> redisTemplate.opsForValue().set(key, refreshToken, Duration.ofMillis(expirationMs)));
             log.debug("Refresh Token 저장 완료 - UserId: {}", userCd);
         } catch (Exception e) {
             log.error("Refresh Token 저장 실패 - UserId: {}, Error: {}", userCd, e.getMessage());
@@ -56,7 +100,7 @@ public class RedisAuthService {
     public void storeUserSession(String userCd, String sessionInfo, long expirationMs) {
         String key = USER_SESSION_KEY + userCd;
         try {
-            redisTemplate.opsForValue().set(key, sessionInfo, Duration.ofMillis(expirationMs));
+            circuitBreaker.run(() -> redisTemplate.opsForValue().set(key, sessionInfo, Duration.ofMillis(expirationMs)));
             log.debug("사용자 세션 저장 완료 - UserId: {}", userCd);
         } catch (Exception e) {
             log.error("사용자 세션 저장 실패 - UserId: {}, Error: {}", userCd, e.getMessage());
@@ -69,7 +113,7 @@ public class RedisAuthService {
     public String getAccessToken(String userCd) {
         String key = ACCESS_TOKEN_KEY + userCd;
         try {
-            Object token = redisTemplate.opsForValue().get(key);
+            Object token = circuitBreaker.execute(() -> redisTemplate.opsForValue().get(key));
             return token != null ? token.toString() : null;
         } catch (Exception e) {
             log.error("Access Token 조회 실패 - UserId: {}, Error: {}", userCd, e.getMessage());
@@ -83,7 +127,7 @@ public class RedisAuthService {
     public String getRefreshToken(String userCd) {
         String key = REFRESH_TOKEN_KEY + userCd;
         try {
-            Object token = redisTemplate.opsForValue().get(key);
+            Object token = circuitBreaker.execute(() -> redisTemplate.opsForValue().get(key));
             return token != null ? token.toString() : null;
         } catch (Exception e) {
             log.error("Refresh Token 조회 실패 - UserId: {}, Error: {}", userCd, e.getMessage());
@@ -97,7 +141,7 @@ public class RedisAuthService {
     public String getUserSession(String userCd) {
         String key = USER_SESSION_KEY + userCd;
         try {
-            Object session = redisTemplate.opsForValue().get(key);
+            Object session = circuitBreaker.execute(() -> redisTemplate.opsForValue().get(key));
             return session != null ? session.toString() : null;
         } catch (Exception e) {
             log.error("사용자 세션 조회 실패 - UserId: {}, Error: {}", userCd, e.getMessage());
@@ -111,7 +155,7 @@ public class RedisAuthService {
     public boolean isTokenExists(String userCd, String tokenType) {
         String key = tokenType.equals("ACCESS") ? ACCESS_TOKEN_KEY + userCd : REFRESH_TOKEN_KEY + userCd;
         try {
-            return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+            return Boolean.TRUE.equals(circuitBreaker.execute(() -> redisTemplate.hasKey(key)));
         } catch (Exception e) {
             log.error("토큰 존재 확인 실패 - UserId: {}, TokenType: {}, Error: {}", userCd, tokenType, e.getMessage());
             return false;
@@ -127,9 +171,7 @@ public class RedisAuthService {
             String refreshTokenKey = REFRESH_TOKEN_KEY + userCd;
             String sessionKey = USER_SESSION_KEY + userCd;
 
-            redisTemplate.delete(accessTokenKey);
-            redisTemplate.delete(refreshTokenKey);
-            redisTemplate.delete(sessionKey);
+            circuitBreaker.execute(() -> redisTemplate.delete(List.of(accessTokenKey, refreshTokenKey, sessionKey)));
 
             log.info("사용자 토큰 삭제 완료 - UserId: {}", userCd);
         } catch (Exception e) {
@@ -142,9 +184,13 @@ public class RedisAuthService {
      * 특정 토큰을 블랙리스트에 추가
      */
     public void addToBlacklist(String token, long expirationMs) {
-        String key = BLACKLIST_TOKEN_KEY + token;
+        String tokenDigest = TokenDigest.of(token);
+        String key = BLACKLIST_TOKEN_KEY + tokenDigest;
         try {
-            redisTemplate.opsForValue().set(key, "BLACKLISTED", Duration.ofMillis(expirationMs));
+            circuitBreaker.run(() -> redisTemplate.opsForValue().set(key, "BLACKLISTED", Duration.ofMillis(expirationMs)));
+            // 다른 노드의 Bloom 필터에 전파 (자기 자신도 구독 중이지만 즉시 반영을 위해 로컬에도 추가)
+            tokenBlacklistIndex.add(tokenDigest);
+            circuitBreaker.execute(() -> stringRedisTemplate.convertAndSend(TokenBlacklistIndex.BLACKLIST_CHANNEL, tokenDigest));
             log.debug("토큰 블랙리스트 추가 완료");
         } catch (Exception e) {
             log.error("토큰 블랙리스트 추가 실패 - Error: {}", e.getMessage());
@@ -155,23 +201,160 @@ public class RedisAuthService {
      * 토큰이 블랙리스트에 있는지 확인
      */
     public boolean isTokenBlacklisted(String token) {
-        String key = BLACKLIST_TOKEN_KEY + token;
+        byte[] digest = TokenDigest.bytes(token);
+        if (!tokenBlacklistIndex.mightContain(digest)) {
+            return false;
+        }
         try {
-            return Boolean.TRUE.equals(redisTemplate.hasKey(key));
+            Long count = circuitBreaker.execute(() -> redisTemplate.countExistingKeys(
+                    List.of(BLACKLIST_TOKEN_KEY + TokenDigest.encode(digest), BLACKLIST_TOKEN_KEY + token)));
+            return count != null && count > 0;
         } catch (Exception e) {
             log.error("토큰 블랙리스트 확인 실패 - Error: {}", e.getMessage());
             return false;
         }
     }
 
+    /**
+     * Access Token 인증에 필요한 블랙리스트 여부와 저장된 토큰을 한 번에 조회
+     * near-cache에 둘 다 있으면 Redis를 호출하지 않고, 없으면 한 번의 파이프라인으로 조회한다.
+     */
+    public AccessTokenStatus checkAccessToken(String userCd, String token) {
+        AccessTokenLookup lookup = AccessTokenLookup.of(userCd, token, tokenBlacklistIndex);
+
+        AccessTokenStatus cached = lookup.fromNearCache(nearCache);
+        if (cached != null) {
+            return cached;
+        }
+
+        // 서킷이 열려 있으면 Redis를 호출하지 않고 즉시 미검증 상태 반환
+        if (!circuitBreaker.isCallPermitted()) {
+            return AccessTokenStatus.UNVERIFIED;
+        }
+
+        try {
+            long epoch = nearCache.epoch();
+            List<Object> results = circuitBreaker.execute(() -> redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                    RedisOperations<String, Object> ops = (RedisOperations<String, Object>) operations;
+                    ops.opsForValue().get(lookup.accessTokenKey());
+                    if (lookup.checkBlacklist()) {
+                        ops.countExistingKeys(lookup.blacklistKeys());
+                    }
+                    return null;
+                }
+            }));
+
+            boolean blacklisted = lookup.checkBlacklist() && results.get(1) instanceof Long count && count > 0;
+            return lookup.store(nearCache, epoch, results.get(0), blacklisted);
+        } catch (RedisUnavailableException e) {
+            return AccessTokenStatus.UNVERIFIED;
+        } catch (Exception e) {
+            log.error("Access Token 상태 조회 실패 - UserId: {}, Error: {}", userCd, e.getMessage());
+            return AccessTokenStatus.UNVERIFIED;
+        }
+    }
+
+    /**
+     * checkAccessToken의 논블로킹 버전 (리액티브 엔드포인트용)
+     * 두 명령은 같은 Lettuce 연결에서 동시에 전송되어 자동으로 파이프라인된다.
+     */
+    public Mono<AccessTokenStatus> checkAccessTokenReactive(String userCd, String token) {
+        AccessTokenLookup lookup = AccessTokenLookup.of(userCd, token, tokenBlacklistIndex);
+
+        AccessTokenStatus cached = lookup.fromNearCache(nearCache);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        if (!circuitBreaker.isCallPermitted()) {
+            return Mono.just(AccessTokenStatus.UNVERIFIED);
+        }
+
+        long epoch = nearCache.epoch();
+        Mono<Optional<Object>> storedToken = reactiveRedisTemplate.opsForValue().get(lookup.accessTokenKey())
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty());
+        Mono<Boolean> blacklisted = lookup.checkBlacklist()
+                ? reactiveRedisTemplate.countExistingKeys(lookup.blacklistKeys()).map(count -> count > 0)
+                : Mono.just(false);
+
+        return circuitBreaker.executeMono(() -> Mono.zip(storedToken, blacklisted))
+                .map(result -> lookup.store(nearCache, epoch, result.getT1().orElse(null), result.getT2()))
+                .onErrorResume(e -> {
+                    if (!(e instanceof RedisUnavailableException)) {
+                        log.error("Access Token 상태 조회 실패 - UserId: {}, Error: {}", userCd, e.getMessage());
+                    }
+                    return Mono.just(AccessTokenStatus.UNVERIFIED);
+                });
+    }
+
+    /**
+     * Access Token 상태 조회에 사용하는 키와 near-cache 처리
+     *
+     * @param checkBlacklist Bloom 필터가 "없음"이라고 하면 블랙리스트 조회 자체를 생략
+     */
+    private record AccessTokenLookup(String accessTokenKey, boolean checkBlacklist,
+                                     String blacklistKey, String legacyBlacklistKey) {
+
+        static AccessTokenLookup of(String userCd, String token, TokenBlacklistIndex tokenBlacklistIndex) {
+            byte[] digest = TokenDigest.bytes(token);
+            return new AccessTokenLookup(
+                    ACCESS_TOKEN_KEY + userCd,
+                    tokenBlacklistIndex.mightContain(digest),
+                    BLACKLIST_TOKEN_KEY + TokenDigest.encode(digest),
+                    // 다이제스트 키 전환 이전에 등록된 토큰 원문 키
+                    BLACKLIST_TOKEN_KEY + token);
+        }
+
+        List<String> blacklistKeys() {
+            return List.of(blacklistKey, legacyBlacklistKey);
+        }
+
+        /**
+         * near-cache에 필요한 값이 모두 있으면 상태 반환, 아니면 null
+         */
+        AccessTokenStatus fromNearCache(RedisAuthNearCache nearCache) {
+            Optional<Object> cachedAccessToken = nearCache.getIfPresent(accessTokenKey);
+            Optional<Object> cachedBlacklist = checkBlacklist ? nearCache.getIfPresent(blacklistKey) : Optional.empty();
+            if (cachedBlacklist != null && cachedAccessToken != null) {
+                return AccessTokenStatus.of(cachedBlacklist.isPresent(), cachedAccessToken.orElse(null));
+            }
+            return null;
+        }
+
+        AccessTokenStatus store(RedisAuthNearCache nearCache, long epoch, Object storedToken, boolean blacklisted) {
+            nearCache.put(accessTokenKey, storedToken, epoch);
+            if (checkBlacklist) {
+                nearCache.put(blacklistKey, blacklisted ? "BLACKLISTED" : null, epoch);
+            }
+            return AccessTokenStatus.of(blacklisted, storedToken);
+        }
+    }
+
+    /**
+     * Access Token 인증용 Redis 조회 결과
+     *
+     * @param verified Redis 조회에 실패했거나 서킷이 열려 있어 확인하지 못했으면 false
+     */
+    public record AccessTokenStatus(boolean blacklisted, String storedToken, boolean verified) {
+        static final AccessTokenStatus UNVERIFIED = new AccessTokenStatus(false, null, false);
+
+        static AccessTokenStatus of(boolean blacklisted, Object storedToken) {
+            return new AccessTokenStatus(blacklisted, storedToken != null ? storedToken.toString() : null, true);
+        }
+    }
+
     /**
      * 로그인 시도 횟수 증가
      */
     public void incrementLoginAttempt(String email) {
         String key = LOGIN_ATTEMPT_KEY + email;
         try {
-            redisTemplate.opsForValue().increment(key);
-            redisTemplate.expire(key, 15, TimeUnit.MINUTES); // 15분 후 만료
+            // INCR과 EXPIRE를 하나의 스크립트로 원자적으로 실행 (15분 후 만료)
+            circuitBreaker.execute(() -> stringRedisTemplate.execute(INCREMENT_WITH_EXPIRE_SCRIPT,
+                    List.of(key), String.valueOf(TimeUnit.MINUTES.toSeconds(15))));
         } catch (Exception e) {
             log.error("로그인 시도 횟수 증가 실패 - Email: {}, Error: {}", email, e.getMessage());
         }
@@ -183,7 +366,7 @@ public class RedisAuthService {
     public int getLoginAttemptCount(String email) {
         String key = LOGIN_ATTEMPT_KEY + email;
         try {
-            Object count = redisTemplate.opsForValue().get(key);
+            Object count = circuitBreaker.execute(() -> redisTemplate.opsForValue().get(key));
             return count != null ? Integer.parseInt(count.toString()) : 0;
         } catch (Exception e) {
             log.error("로그인 시도 횟수 조회 실패 - Email: {}, Error: {}", email, e.getMessage());
@@ -197,7 +380,7 @@ public class RedisAuthService {
     public void resetLoginAttempt(String email) {
         String key = LOGIN_ATTEMPT_KEY + email;
         try {
-            redisTemplate.delete(key);
+            circuitBreaker.execute(() -> redisTemplate.delete(key));
             log.debug("로그인 시도 횟수 초기화 완료 - Email: {}", email);
         } catch (Exception e) {
             log.error("로그인 시도 횟수 초기화 실패 - Email: {}, Error: {}", email, e.getMessage());
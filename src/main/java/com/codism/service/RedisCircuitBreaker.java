@@ -0,0 +1,365 @@
+package com.codism.service;
+
+import com.codism.exception.RedisUnavailableException;
+import io.lettuce.core.RedisException;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.protocol.CommandType;
+import io.lettuce.core.protocol.RedisCommand;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * RedisAuthService 호출을 감싸는 서킷 브레이커
+ * - 최근 호출의 실패율이 임계값을 넘으면 OPEN 상태로 전환하여 Redis 호출 없이 즉시 실패한다.
+ * - 일정 시간이 지나면 HALF_OPEN 상태에서 소수의 시험 호출로 회복 여부를 판단한다.
+ * - 명령 타임아웃은 관측된 p99 지연시간에 비례하여 조정된다 (Lettuce TimeoutSource).
+ */
+@Slf4j
+@Component
+public class RedisCircuitBreaker {
+
+    public enum State {
+        CLOSED, HALF_OPEN, OPEN
+    }
+
+    // 블로킹 명령은 자체 대기시간을 가지므로 적응형 타임아웃을 적용하지 않음
+    private static final Set<CommandType> BLOCKING_COMMANDS = EnumSet.of(
+            CommandType.XREAD, CommandType.XREADGROUP, CommandType.BLPOP, CommandType.BRPOP,
+            CommandType.BRPOPLPUSH, CommandType.BZPOPMIN, CommandType.BZPOPMAX);
+
+    private static final int LATENCY_SAMPLES = 1024;
+    private static final int MIN_LATENCY_SAMPLES = 100;
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationMs;
+    private final int halfOpenPermits;
+    private final long minTimeoutMs;
+    private final long maxTimeoutMs;
+    private final double timeoutMultiplier;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private volatile long openedAt;
+    private final AtomicInteger halfOpenRemaining = new AtomicInteger();
+    private final AtomicInteger halfOpenSucceeded = new AtomicInteger();
+
+    // 가상 스레드에서 호출되어도 캐리어 스레드를 고정(pinning)하지 않도록 synchronized 대신 ReentrantLock 사용
+    private final ReentrantLock windowLock = new ReentrantLock();
+    private final ReentrantLock latencyLock = new ReentrantLock();
+
+    // 최근 호출 결과 (true: 실패)
+    private final boolean[] outcomes;
+    private int outcomeIndex;
+    private int outcomeCount;
+    private int failureCount;
+
+    // 최근 호출 지연시간 (나노초)
+    private final long[] latencies = new long[LATENCY_SAMPLES];
+    private int latencyIndex;
+    private int latencyCount;
+
+    private volatile long adaptiveTimeoutMs;
+
+    private final Timer latencyTimer;
+    private final Counter rejectedCounter;
+
+    public RedisCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${auth.redis.circuit.window-size:50}") int windowSize,
+            @Value("${auth.redis.circuit.minimum-calls:20}") int minimumCalls,
+            @Value("${auth.redis.circuit.failure-rate-threshold:0.5}") double failureRateThreshold,
+            @Value("${auth.redis.circuit.open-duration-ms:5000}") long openDurationMs,
+            @Value("${auth.redis.circuit.half-open-permits:3}") int halfOpenPermits,
+            @Value("${auth.redis.timeout.min-ms:50}") long minTimeoutMs,
+            @Value("${spring.redis.connection-timeout:5000}") long maxTimeoutMs,
+            @Value("${auth.redis.timeout.p99-multiplier:3.0}") double timeoutMultiplier
+    ) {
+        this.windowSize = windowSize;
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenPermits = halfOpenPermits;
+        this.minTimeoutMs = minTimeoutMs;
+        this.maxTimeoutMs = maxTimeoutMs;
+        this.timeoutMultiplier = timeoutMultiplier;
+        this.outcomes = new boolean[windowSize];
+        this.adaptiveTimeoutMs = maxTimeoutMs;
+
+        this.latencyTimer = Timer.builder("redis.auth.latency")
+                .description("RedisAuthService Redis 호출 지연시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("redis.auth.circuit.rejected")
+                .description("서킷 OPEN 상태로 즉시 실패한 호출 수")
+                .register(meterRegistry);
+        Gauge.builder("redis.auth.circuit.state", state, s -> s.get().ordinal())
+                .description("서킷 상태 (0: CLOSED, 1: HALF_OPEN, 2: OPEN)")
+                .register(meterRegistry);
+        Gauge.builder("redis.auth.timeout", this, RedisCircuitBreaker::getAdaptiveTimeoutMs)
+                .description("현재 적용 중인 적응형 명령 타임아웃 (ms)")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 서킷 브레이커를 거쳐 Redis 호출 실행
+     *
+     * @throws RedisUnavailableException 서킷이 열려 있는 경우
+     */
+    public <T> T execute(Supplier<T> call) {
+        State permit = tryAcquirePermission();
+        if (permit == null) {
+            rejectedCounter.increment();
+            throw new RedisUnavailableException();
+        }
+
+        long start = System.nanoTime();
+        boolean recorded = false;
+        try {
+            T result = call.get();
+            recorded = true;
+            onResult(false, System.nanoTime() - start);
+            return result;
+        } catch (DataAccessException | RedisException e) {
+            recorded = true;
+            onResult(true, System.nanoTime() - start);
+            throw e;
+        } finally {
+            // Redis와 무관한 예외는 성공/실패로 집계하지 않고 시험 호출 허용만 돌려줌
+            if (!recorded) {
+                releasePermit(permit);
+            }
+        }
+    }
+
+    /**
+     * 서킷 브레이커를 거쳐 논블로킹 Redis 호출 실행 (구독 시점에 허용 여부 판단)
+     */
+    public <T> Mono<T> executeMono(Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            State permit = tryAcquirePermission();
+            if (permit == null) {
+                rejectedCounter.increment();
+                return Mono.error(new RedisUnavailableException());
+            }
+
+            long start = System.nanoTime();
+            AtomicBoolean recorded = new AtomicBoolean();
+            return call.get()
+                    .doOnSuccess(result -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            onResult(false, System.nanoTime() - start);
+                        }
+                    })
+                    .doOnError(e -> {
+                        if ((e instanceof DataAccessException || e instanceof RedisException)
+                                && recorded.compareAndSet(false, true)) {
+                            onResult(true, System.nanoTime() - start);
+                        }
+                    })
+                    // 취소되거나 Redis와 무관한 오류로 끝나면 시험 호출 허용만 돌려줌
+                    .doFinally(signal -> {
+                        if (recorded.compareAndSet(false, true)) {
+                            releasePermit(permit);
+                        }
+                    });
+        });
+    }
+
+    public void run(Runnable call) {
+        execute(() -> {
+            call.run();
+            return null;
+        });
+    }
+
+    /**
+     * 현재 Redis 호출이 허용되는 상태인지 확인 (OPEN이면 false)
+     */
+    public boolean isCallPermitted() {
+        return state.get() != State.OPEN || System.currentTimeMillis() - openedAt >= openDurationMs;
+    }
+
+    public State getState() {
+        return state.get();
+    }
+
+    public long getAdaptiveTimeoutMs() {
+        return adaptiveTimeoutMs;
+    }
+
+    /**
+     * 호출 허용 여부 판단
+     *
+     * @return 허용된 상태 (CLOSED 또는 HALF_OPEN 시험 호출), 거부되면 null
+     */
+    private State tryAcquirePermission() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return State.CLOSED;
+        }
+        if (current == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openDurationMs) {
+                return null;
+            }
+            if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                halfOpenRemaining.set(halfOpenPermits);
+                halfOpenSucceeded.set(0);
+                log.info("Redis 서킷 HALF_OPEN 전환 - 시험 호출 {}회 허용", halfOpenPermits);
+            }
+        }
+        // 0 아래로 내려가지 않게 차감 (반환된 허용이 음수에 묻히지 않도록)
+        int remaining;
+        do {
+            remaining = halfOpenRemaining.get();
+            if (remaining <= 0) {
+                return null;
+            }
+        } while (!halfOpenRemaining.compareAndSet(remaining, remaining - 1));
+        return State.HALF_OPEN;
+    }
+
+    /**
+     * 결과를 집계하지 않은 호출의 허용 반환 (HALF_OPEN 시험 호출이었고 아직 HALF_OPEN이면 다른 호출이 시험할 수 있게 함)
+     */
+    private void releasePermit(State permit) {
+        if (permit == State.HALF_OPEN && state.get() == State.HALF_OPEN) {
+            halfOpenRemaining.incrementAndGet();
+        }
+    }
+
+    private void onResult(boolean failed, long elapsedNanos) {
+        latencyTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        recordLatency(elapsedNanos);
+
+        State current = state.get();
+        if (current == State.HALF_OPEN) {
+            if (failed) {
+                open("HALF_OPEN 시험 호출 실패");
+            } else if (halfOpenSucceeded.incrementAndGet() >= halfOpenPermits
+                    && state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+                resetWindow();
+                log.info("Redis 서킷 CLOSED 전환 - Redis 회복");
+            }
+            return;
+        }
+
+        if (current == State.CLOSED && recordOutcome(failed)) {
+            open("실패율 임계값 초과");
+        }
+    }
+
+    private void open(String reason) {
+        openedAt = System.currentTimeMillis();
+        State previous = state.getAndSet(State.OPEN);
+        if (previous != State.OPEN) {
+            log.warn("Redis 서킷 OPEN 전환 - 사유: {}, {}ms 동안 Redis 호출 차단", reason, openDurationMs);
+        }
+    }
+
+    /**
+     * 호출 결과를 슬라이딩 윈도우에 기록하고 실패율 임계값 초과 여부 반환
+     */
+    private boolean recordOutcome(boolean failed) {
+        windowLock.lock();
+        try {
+            if (outcomeCount == windowSize) {
+                if (outcomes[outcomeIndex]) {
+                    failureCount--;
+                }
+            } else {
+                outcomeCount++;
+            }
+            outcomes[outcomeIndex] = failed;
+            if (failed) {
+                failureCount++;
+            }
+            outcomeIndex = (outcomeIndex + 1) % windowSize;
+
+            return outcomeCount >= minimumCalls && (double) failureCount / outcomeCount >= failureRateThreshold;
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    private void resetWindow() {
+        windowLock.lock();
+        try {
+            Arrays.fill(outcomes, false);
+            outcomeIndex = 0;
+            outcomeCount = 0;
+            failureCount = 0;
+        } finally {
+            windowLock.unlock();
+        }
+    }
+
+    private void recordLatency(long elapsedNanos) {
+        latencyLock.lock();
+        try {
+            latencies[latencyIndex] = elapsedNanos;
+            latencyIndex = (latencyIndex + 1) % LATENCY_SAMPLES;
+            if (latencyCount < LATENCY_SAMPLES) {
+                latencyCount++;
+            }
+        } finally {
+            latencyLock.unlock();
+        }
+    }
+
+    /**
+     * 관측된 p99 지연시간으로 명령 타임아웃 재계산
+     */
+    @Scheduled(fixedRate = 1000)
+    public void recomputeTimeout() {
+        long[] snapshot;
+        latencyLock.lock();
+        try {
+            if (latencyCount < MIN_LATENCY_SAMPLES) {
+                adaptiveTimeoutMs = maxTimeoutMs;
+                return;
+            }
+            snapshot = Arrays.copyOf(latencies, latencyCount);
+        } finally {
+            latencyLock.unlock();
+        }
+        Arrays.sort(snapshot);
+        long p99Nanos = snapshot[(int) Math.ceil(snapshot.length * 0.99) - 1];
+        long timeoutMs = (long) Math.ceil(TimeUnit.NANOSECONDS.toMillis(p99Nanos) * timeoutMultiplier);
+        adaptiveTimeoutMs = Math.max(minTimeoutMs, Math.min(maxTimeoutMs, timeoutMs));
+    }
+
+    /**
+     * Lettuce 명령별 타임아웃 공급자 (적응형 타임아웃 적용, 인증 전용 연결에서만 사용)
+     */
+    public TimeoutOptions.TimeoutSource timeoutSource() {
+        return new TimeoutOptions.TimeoutSource() {
+            @Override
+            public long getTimeout(RedisCommand<?, ?, ?> command) {
+                if (command.getType() instanceof CommandType type && BLOCKING_COMMANDS.contains(type)) {
+                    return maxTimeoutMs;
+                }
+                return adaptiveTimeoutMs;
+            }
+        };
+    }
+}
@@ -0,0 +1,371 @@
+package com.codism.service;
+
+import com.codism.config.error.entity.ApiException;
+import com.codism.config.error.type.ErrorCode;
+import com.codism.config.WebClientConfig;
+import com.codism.exception.CustomException;
+import io.netty.util.NetUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 원격 URL의 파일을 서버에서 직접 받아 저장하는 서비스
+ * 응답 본문을 업로드 볼륨(division 디렉토리의 임시 파일)으로 바로 스트리밍하면서 크기 상한 검사, SHA-256 계산,
+ * 매직 바이트 기반 형식 판별을 함께 수행하고, 받은 파일은 saveStaged로 검수 후 최종 위치로 옮긴다 (다시 복사하지 않음).
+ * 기록하는 동안은 Content-Length(없으면 최대 크기)만큼 저장 공간을 예약한다.
+ * 내부망 주소로의 요청(SSRF)은 기본적으로 거부한다 (로컬 테스트 서버를 쓸 때만 allow-private-hosts 사용).
+ * 주소 검사는 연결할 때 해석한 주소에 대해 수행하므로(PublicAddressResolverGroup) DNS rebinding으로 우회할 수 없다.
+ */
+@Slf4j
+@Service
+public class RemoteFileImportService {
+
+    private static final int SNIFF_LENGTH = 32;
+    private static final List<MediaType> ACCEPT = List.of(MediaType.parseMediaType("image/*"), MediaType.ALL);
+
+    private final WebClient webClient;
+    private final JwtService jwtService;
+    private final FileStorageService fileStorageService;
+    private final StorageReservationLedger storageReservationLedger;
+    private final long maxSize;
+    private final Duration timeout;
+    private final int maxRedirects;
+    private final boolean allowPrivateHosts;
+    private final boolean imagesOnly;
+
+    public RemoteFileImportService(
+            WebClient webClient,
+            PublicAddressResolverGroup publicAddressResolverGroup,
+            JwtService jwtService,
+            FileStorageService fileStorageService,
+            StorageReservationLedger storageReservationLedger,
+            @Value("${file.import.max-size:20MB}") DataSize maxSize,
+            @Value("${file.import.timeout-ms:30000}") long timeoutMs,
+            @Value("${file.import.max-redirects:3}") int maxRedirects,
+            @Value("${file.import.allow-private-hosts:false}") boolean allowPrivateHosts,
+            @Value("${file.import.images-only:true}") boolean imagesOnly
+    ) {
+        // 리다이렉트는 단계마다 직접 검사하며 따라가고, 연결 주소는 해석기에서 검사 (타임아웃 설정은 공용 WebClient와 같음)
+        this.webClient = allowPrivateHosts ? webClient : webClient.mutate()
+                .clientConnector(new ReactorClientHttpConnector(WebClientConfig.withTimeouts(HttpClient.create()
+                        .resolver(publicAddressResolverGroup))))
+                .build();
+        this.jwtService = jwtService;
+        this.fileStorageService = fileStorageService;
+        this.storageReservationLedger = storageReservationLedger;
+        this.maxSize = maxSize.toBytes();
+        this.timeout = Duration.ofMillis(timeoutMs);
+        this.maxRedirects = maxRedirects;
+        this.allowPrivateHosts = allowPrivateHosts;
+        this.imagesOnly = imagesOnly;
+    }
+
+    /**
+     * 본문을 읽으면서 계산한 결과
+     */
+    private static final class Inspection {
+        final MessageDigest digest;
+        final byte[] head = new byte[SNIFF_LENGTH];
+        int headLength;
+        long size;
+
+        Inspection() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private record Fetched(URI uri, URI redirect, String declaredType, Inspection inspection) {
+    }
+
+    /**
+     * 원격 URL의 파일을 가져와 저장
+     *
+     * @return fileLocation, size, contentType, sha256, sourceUrl
+     */
+    public Map<String, Object> importFromUrl(HttpServletRequest httpRequest, String division, String url) throws IOException {
+        String userCd = jwtService.getUserCd(httpRequest);
+        String uploadId = fileStorageService.uploadIdOf(httpRequest);
+
+        URI uri = parse(url);
+        // division 검사와 디렉토리 생성 (최종 위치와 같은 디렉토리에 받음)
+        Path staged = fileStorageService.stagingPath(userCd, division);
+        try {
+            Fetched fetched = fetch(uri, staged);
+            Inspection inspection = fetched.inspection();
+
+            String contentType = sniff(inspection.head, inspection.headLength);
+            if (contentType == null) {
+                contentType = fetched.declaredType();
+            }
+            if (imagesOnly && (contentType == null || !contentType.startsWith("image/"))) {
+                throw new ApiException(ErrorCode.UNSUPPORTED_MEDIA_TYPE, "이미지 파일만 가져올 수 있습니다.");
+            }
+
+            String fileName = fileNameOf(fetched.uri(), contentType);
+            String fileLocation = fileStorageService.saveStaged(userCd, uploadId, division, fileName, contentType, staged);
+
+            Map<String, Object> resultMap = new LinkedHashMap<String, Object>();
+            resultMap.put("fileLocation", fileLocation);
+            resultMap.put("size", inspection.size);
+            resultMap.put("contentType", contentType);
+            resultMap.put("sha256", HexFormat.of().formatHex(inspection.digest.digest()));
+            resultMap.put("sourceUrl", fetched.uri().toString());
+            return resultMap;
+        } finally {
+            // 저장되면 이미 이동했으므로 실패한 경우에만 남아 있음
+            Files.deleteIfExists(staged);
+        }
+    }
+
+    /**
+     * 리다이렉트를 직접 따라가며(단계마다 주소 검사) 본문을 staged로 받음
+     */
+    private Fetched fetch(URI uri, Path staged) {
+        URI current = uri;
+        for (int hop = 0; hop <= maxRedirects; hop++) {
+            checkTarget(current);
+            Fetched fetched = fetchOnce(current, staged);
+            if (fetched.redirect() == null) {
+                return fetched;
+            }
+            current = fetched.redirect();
+        }
+        throw CustomException.badRequest("리다이렉트가 너무 많습니다: " + url(uri));
+    }
+
+    private Fetched fetchOnce(URI uri, Path staged) {
+        try {
+            return webClient.get()
+                    .uri(uri)
+                    .accept(ACCEPT.toArray(MediaType[]::new))
+                    .exchangeToMono(response -> handleResponse(uri, response, staged))
+                    .timeout(timeout, Mono.error(() -> new ApiException(ErrorCode.TIME_OUT, "원격 파일을 가져오는 시간이 초과되었습니다.")))
+                    .block();
+        } catch (WebClientRequestException e) {
+            if (blockedAddress(e)) {
+                log.warn("내부 주소로 해석되어 원격 파일 요청 거부 - url: {}, Error: {}", url(uri), e.getMessage());
+                throw CustomException.forbidden("내부 주소의 파일은 가져올 수 없습니다.");
+            }
+            log.warn("원격 파일 요청 실패 - url: {}, Error: {}", url(uri), e.getMessage());
+            throw new ApiException(ErrorCode.BAD_GATEWAY, "원격 서버에 연결할 수 없습니다.");
+        }
+    }
+
+    private static boolean blockedAddress(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PublicAddressResolverGroup.BlockedAddressException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Mono<Fetched> handleResponse(URI uri, ClientResponse response, Path staged) {
+        if (response.statusCode().is3xxRedirection()) {
+            URI location = response.headers().asHttpHeaders().getLocation();
+            if (location == null) {
+                return response.releaseBody().then(Mono.error(new ApiException(ErrorCode.BAD_GATEWAY, "리다이렉트 위치가 없습니다.")));
+            }
+            return response.releaseBody().thenReturn(new Fetched(uri, uri.resolve(location), null, null));
+        }
+        if (!response.statusCode().is2xxSuccessful()) {
+            return response.releaseBody().then(Mono.error(new ApiException(ErrorCode.BAD_GATEWAY,
+                    "원격 서버 응답 오류: " + response.statusCode().value())));
+        }
+
+        HttpHeaders headers = response.headers().asHttpHeaders();
+        if (headers.getContentLength() > maxSize) {
+            return response.releaseBody().then(Mono.error(new ApiException(ErrorCode.PAYLOAD_TOO_LARGE)));
+        }
+        String declaredType = headers.getContentType() != null
+                ? headers.getContentType().getType() + "/" + headers.getContentType().getSubtype()
+                : null;
+
+        // 크기를 모르면 최대 크기만큼 예약하고, 받은 만큼 예약에서 뺌 (부족하면 받기 전에 507)
+        long expected = headers.getContentLength() >= 0 ? headers.getContentLength() : maxSize;
+        return Mono.using(() -> storageReservationLedger.reserve(expected), reservation -> {
+            Inspection inspection = new Inspection();
+            Flux<DataBuffer> body = response.bodyToFlux(DataBuffer.class)
+                    .handle((buffer, sink) -> {
+                        inspection.size += buffer.readableByteCount();
+                        if (inspection.size > maxSize) {
+                            DataBufferUtils.release(buffer);
+                            sink.error(new ApiException(ErrorCode.PAYLOAD_TOO_LARGE));
+                            return;
+                        }
+                        inspect(buffer, inspection);
+                        reservation.consume(buffer.readableByteCount());
+                        sink.next(buffer);
+                    });
+            return DataBufferUtils.write(body, staged, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                            StandardOpenOption.TRUNCATE_EXISTING)
+                    .thenReturn(new Fetched(uri, null, declaredType, inspection));
+        }, StorageReservationLedger.Reservation::close);
+    }
+
+    /**
+     * 버퍼 내용을 해시에 반영하고 앞부분은 형식 판별용으로 보관 (버퍼 읽기 위치는 바꾸지 않음)
+     */
+    private static void inspect(DataBuffer buffer, Inspection inspection) {
+        try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+            while (iterator.hasNext()) {
+                ByteBuffer byteBuffer = iterator.next();
+                if (inspection.headLength < SNIFF_LENGTH) {
+                    ByteBuffer head = byteBuffer.duplicate();
+                    int length = Math.min(head.remaining(), SNIFF_LENGTH - inspection.headLength);
+                    head.get(inspection.head, inspection.headLength, length);
+                    inspection.headLength += length;
+                }
+                inspection.digest.update(byteBuffer);
+            }
+        }
+    }
+
+    private URI parse(String url) {
+        try {
+            URI uri = URI.create(url.trim());
+            if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+                throw CustomException.badRequest("http 또는 https URL만 가져올 수 있습니다.");
+            }
+            return uri;
+        } catch (IllegalArgumentException e) {
+            throw CustomException.badRequest("잘못된 URL입니다.");
+        }
+    }
+
+    /**
+     * 요청 대상 URL 형식 검사 (호스트 이름의 주소는 연결 시점에 PublicAddressResolverGroup이 검사)
+     * IP 리터럴은 Reactor Netty가 해석기를 거치지 않고 바로 연결하므로 여기서 검사한다.
+     */
+    private void checkTarget(URI uri) {
+        if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+            throw CustomException.badRequest("http 또는 https URL만 가져올 수 있습니다.");
+        }
+        String host = uri.getHost();
+        if (!StringUtils.hasText(host)) {
+            throw CustomException.badRequest("잘못된 URL입니다.");
+        }
+        if (allowPrivateHosts) {
+            return;
+        }
+        if (host.startsWith("[") && host.endsWith("]")) {
+            host = host.substring(1, host.length() - 1);
+        }
+        byte[] literal = NetUtil.createByteArrayFromIpAddressString(host);
+        try {
+            if (literal != null && PublicAddressResolverGroup.isInternal(InetAddress.getByAddress(host, literal))) {
+                log.warn("내부 주소의 원격 파일 요청 거부 - url: {}", url(uri));
+                throw CustomException.forbidden("내부 주소의 파일은 가져올 수 없습니다.");
+            }
+        } catch (UnknownHostException e) {
+            throw CustomException.badRequest("잘못된 URL입니다.");
+        }
+    }
+
+    /**
+     * 매직 바이트로 파일 형식 판별 (알 수 없으면 null)
+     */
+    static String sniff(byte[] head, int length) {
+        if (length >= 3 && (head[0] & 0xff) == 0xff && (head[1] & 0xff) == 0xd8 && (head[2] & 0xff) == 0xff) {
+            return "image/jpeg";
+        }
+        if (length >= 8 && (head[0] & 0xff) == 0x89 && startsWith(head, 1, "PNG\r\n\u001a\n")) {
+            return "image/png";
+        }
+        if (length >= 6 && (startsWith(head, 0, "GIF87a") || startsWith(head, 0, "GIF89a"))) {
+            return "image/gif";
+        }
+        if (length >= 12 && startsWith(head, 0, "RIFF") && startsWith(head, 8, "WEBP")) {
+            return "image/webp";
+        }
+        if (length >= 12 && startsWith(head, 4, "ftyp")) {
+            if (startsWith(head, 8, "avif")) {
+                return "image/avif";
+            }
+            if (startsWith(head, 8, "heic") || startsWith(head, 8, "heix") || startsWith(head, 8, "mif1")) {
+                return "image/heic";
+            }
+        }
+        if (length >= 2 && startsWith(head, 0, "BM")) {
+            return "image/bmp";
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] head, int offset, String signature) {
+        byte[] expected = signature.getBytes(StandardCharsets.ISO_8859_1);
+        if (head.length < offset + expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (head[offset + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * URL 마지막 경로로 파일 이름 결정 (확장자가 없으면 판별한 형식의 확장자를 붙임)
+     */
+    private static String fileNameOf(URI uri, String contentType) {
+        String path = uri.getRawPath();
+        String name = path != null ? path.substring(path.lastIndexOf('/') + 1) : "";
+        name = URLDecoder.decode(name, StandardCharsets.UTF_8).replaceAll("[\\\\/:*?\"<>|\\s]", "_");
+        if (name.length() > 100) {
+            name = name.substring(name.length() - 100);
+        }
+        if (!StringUtils.hasText(name) || name.startsWith(".")) {
+            name = "remote" + name;
+        }
+        if (StringUtils.getFilenameExtension(name) == null && contentType != null && contentType.startsWith("image/")) {
+            String subtype = contentType.substring("image/".length());
+            name = name + "." + ("jpeg".equals(subtype) ? "jpg" : subtype);
+        }
+        return name;
+    }
+
+    /**
+     * 로그용 URL (쿼리 문자열 제외)
+     */
+    private static String url(URI uri) {
+        return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() > 0 ? ":" + uri.getPort() : "") + uri.getRawPath();
+    }
+}
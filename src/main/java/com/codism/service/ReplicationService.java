@@ -0,0 +1,597 @@
+package com.codism.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.concurrent.Queues;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 파일 비동기 복제 서비스
+ * 로컬 저장이 끝난 파일을 ring상 다음 노드(preference list)로 스트리밍 복제한다.
+ * 업로드 응답은 복제를 기다리지 않으며, 복제 작업은 제한된 큐와 동시 전송 수로 처리된다.
+ * 파일별 보유 노드는 Redis Set(file:replicas:{위치})으로 관리하고,
+ * 주기적으로(또는 ring 멤버 변경 시) 로컬 파일을 훑어 부족한 복제본을 다시 만든다.
+ */
+@Slf4j
+@Service
+public class ReplicationService {
+
+    public static final String REPLICA_PATH = "/internal/v1/replicas";
+    // 복제본 원본의 마지막 수정 시각 (디렉토리 삭제 이후에 만들어진 파일인지 판단)
+    public static final String MODIFIED_HEADER = "X-Replica-Modified";
+    private static final String REPLICA_KEY_PREFIX = "file:replicas:";
+    // 삭제 기록 (값: 삭제 시각 ms), 놓친 DELETE가 있어도 복구 검사가 삭제된 파일을 되살리지 않도록 함
+    private static final String DELETED_KEY_PREFIX = "file:deleted:";
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int REPAIR_BATCH_SIZE = 200;
+
+    private enum Operation {
+        PUT, DELETE
+    }
+
+    private record ReplicationTask(Operation operation, String fileLocation, Path file, ClusterRing.Node target) {
+    }
+
+    // 전송하지 못한 DELETE (재시도 대기, 처음 실패한 시각)
+    private record PendingDelete(ReplicationTask task, long firstFailedAt) {
+    }
+
+    private final ClusterRing clusterRing;
+    private final WebClient webClient;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final ContentCompressionService contentCompressionService;
+    private final UploadAdmissionService uploadAdmissionService;
+    private final FileReclaimService fileReclaimService;
+    private final String uploadPath;
+    private final int factor;
+    private final int concurrency;
+    private final long repairIntervalMs;
+
+    private final Sinks.Many<ReplicationTask> queue;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger underReplicated = new AtomicInteger();
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+    // 키: 대상 노드|파일 위치
+    private final ConcurrentHashMap<String, PendingDelete> pendingDeletes = new ConcurrentHashMap<>();
+
+    private Path root;
+    private Disposable worker;
+    private volatile long lastRepairVersion = -1;
+    private volatile long lastRepairAt;
+
+    public ReplicationService(
+            ClusterRing clusterRing,
+            WebClient webClient,
+            StringRedisTemplate stringRedisTemplate,
+            MeterRegistry meterRegistry,
+            ContentCompressionService contentCompressionService,
+            UploadAdmissionService uploadAdmissionService,
+            FileReclaimService fileReclaimService,
+            @Value("${file.upload-path}") String uploadPath,
+            @Value("${file.cluster.replication.factor:1}") int factor,
+            @Value("${file.cluster.replication.concurrency:4}") int concurrency,
+            @Value("${file.cluster.replication.queue-capacity:10000}") int queueCapacity,
+            @Value("${file.cluster.replication.repair-interval-ms:3600000}") long repairIntervalMs
+    ) {
+        this.clusterRing = clusterRing;
+        this.webClient = webClient;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.meterRegistry = meterRegistry;
+        this.contentCompressionService = contentCompressionService;
+        this.uploadAdmissionService = uploadAdmissionService;
+        this.fileReclaimService = fileReclaimService;
+        this.uploadPath = uploadPath;
+        this.factor = factor;
+        this.concurrency = concurrency;
+        this.repairIntervalMs = repairIntervalMs;
+        this.queue = Sinks.many().unicast().onBackpressureBuffer(Queues.<ReplicationTask>get(queueCapacity).get());
+
+        Gauge.builder("cluster.replication.queued", queued, AtomicInteger::get)
+                .description("전송 대기 중인 복제 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("cluster.replication.under_replicated", underReplicated, AtomicInteger::get)
+                .description("마지막 복구 검사에서 복제본이 부족했던 로컬 파일 수")
+                .register(meterRegistry);
+        Gauge.builder("cluster.replication.pending_deletes", pendingDeletes, Map::size)
+                .description("재시도를 기다리는 복제본 삭제 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void init() {
+        root = Paths.get(uploadPath).toAbsolutePath().normalize();
+        worker = queue.asFlux()
+                .flatMap(this::execute, concurrency)
+                .subscribe();
+        if (factor > 1 && !clusterRing.hasPeerSecret()) {
+            log.warn("file.cluster.peer-secret이 설정되지 않아 복제를 사용하지 않습니다");
+        }
+    }
+
+    @PreDestroy
+    public void cleanup() {
+        queue.tryEmitComplete();
+        if (worker != null) {
+            worker.dispose();
+        }
+    }
+
+    /**
+     * 다른 노드로 복제본을 만드는지 (복제 계수 2 이상)
+     */
+    public boolean isActive() {
+        return factor > 1 && canPropagate();
+    }
+
+    /**
+     * 보유 노드 기록과 삭제 전달이 가능한지 (클러스터 모드 + 노드 간 비밀값 설정)
+     */
+    public boolean canPropagate() {
+        return clusterRing.isEnabled() && clusterRing.hasPeerSecret();
+    }
+
+    /**
+     * 로컬에 저장된 파일의 보유 노드를 기록하고 preference list의 다른 노드로 복제 (즉시 반환)
+     */
+    public void replicateAsync(String fileLocation, Path file) {
+        if (!canPropagate()) {
+            return;
+        }
+        String selfId = clusterRing.selfId();
+        Mono.fromRunnable(() -> markHolders(fileLocation, List.of(selfId)))
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(null, error -> log.warn("보유 노드 기록 실패 - fileLocation: {}, Error: {}", fileLocation, error.getMessage()));
+        if (!isActive()) {
+            return;
+        }
+        for (ClusterRing.Node node : clusterRing.preferenceList(fileLocation, factor)) {
+            if (!clusterRing.isSelf(node)) {
+                enqueue(new ReplicationTask(Operation.PUT, fileLocation, file, node));
+            }
+        }
+    }
+
+    /**
+     * 다른 노드의 복제본 삭제 (즉시 반환)
+     * 삭제 기록을 먼저 남기므로 DELETE를 놓친 노드의 복제본은 그 노드의 복구 검사에서 지워진다.
+     *
+     * @param directory division 단위 삭제이면 true (모든 노드에 전달)
+     */
+    public void removeAsync(String fileLocation, boolean directory) {
+        if (!canPropagate()) {
+            return;
+        }
+        Mono.fromCallable(() -> {
+                    stringRedisTemplate.opsForValue().set(DELETED_KEY_PREFIX + fileLocation,
+                            String.valueOf(System.currentTimeMillis()), Duration.ofMillis(deletedTtlMs()));
+                    Set<String> targets = directory
+                            ? clusterRing.getMembers().stream().map(ClusterRing.Node::instanceId).collect(Collectors.toSet())
+                            : holders(fileLocation);
+                    if (!directory) {
+                        clusterRing.preferenceList(fileLocation, factor).forEach(node -> targets.add(node.instanceId()));
+                        stringRedisTemplate.delete(REPLICA_KEY_PREFIX + fileLocation);
+                    }
+                    return targets;
+                })
+                .subscribeOn(Schedulers.boundedElastic())
+                .subscribe(targets -> clusterRing.getMembers().stream()
+                                .filter(node -> targets.contains(node.instanceId()) && !clusterRing.isSelf(node))
+                                .forEach(node -> enqueue(new ReplicationTask(Operation.DELETE, fileLocation, null, node))),
+                        error -> log.warn("복제본 삭제 준비 실패 - fileLocation: {}, Error: {}", fileLocation, error.getMessage()));
+    }
+
+    /**
+     * 이 노드 외에 파일을 가진 노드가 기록되어 있는지 (로컬에 없는 파일 삭제 요청 처리용)
+     */
+    public boolean hasRemoteCopies(String fileLocation) {
+        if (!canPropagate()) {
+            return false;
+        }
+        Set<String> holders = holders(fileLocation);
+        holders.remove(clusterRing.selfId());
+        return !holders.isEmpty();
+    }
+
+    /**
+     * 보유 노드 기록에 있는 ring 멤버 중 이 노드를 제외한 노드 (ring 변경이 겹쳐 소유자로 찾을 수 없을 때 조회용)
+     */
+    public List<ClusterRing.Node> remoteHolders(String fileLocation) {
+        if (!canPropagate()) {
+            return List.of();
+        }
+        Set<String> holders = holders(fileLocation);
+        return clusterRing.getMembers().stream()
+                .filter(node -> holders.contains(node.instanceId()) && !clusterRing.isSelf(node))
+                .toList();
+    }
+
+    private Set<String> holders(String fileLocation) {
+        Set<String> members = stringRedisTemplate.opsForSet().members(REPLICA_KEY_PREFIX + fileLocation);
+        return members != null ? new HashSet<>(members) : new HashSet<>();
+    }
+
+    /**
+     * 삭제 기록이 있는 파일인지 (파일 위치 또는 상위 디렉토리가 삭제됨)
+     * 디렉토리 삭제 기록은 삭제 이후에 만들어진 파일에는 적용하지 않는다.
+     *
+     * @param modifiedAt 파일의 마지막 수정 시각 (ms)
+     */
+    public boolean isDeleted(String fileLocation, long modifiedAt) {
+        if (!canPropagate()) {
+            return false;
+        }
+        List<String> keys = deletedKeys(fileLocation);
+        List<String> values = stringRedisTemplate.opsForValue().multiGet(keys);
+        return values != null && isDeleted(keys, values, 0, modifiedAt);
+    }
+
+    /**
+     * 파일 위치와 상위 디렉토리의 삭제 기록 키 (첫 번째가 파일 위치)
+     */
+    private static List<String> deletedKeys(String fileLocation) {
+        List<String> keys = new ArrayList<>();
+        keys.add(DELETED_KEY_PREFIX + fileLocation);
+        for (int i = fileLocation.lastIndexOf('/'); i > 0; i = fileLocation.lastIndexOf('/', i - 1)) {
+            keys.add(DELETED_KEY_PREFIX + fileLocation.substring(0, i));
+        }
+        return keys;
+    }
+
+    private static boolean isDeleted(List<String> keys, List<String> values, int offset, long modifiedAt) {
+        for (int i = 0; i < keys.size(); i++) {
+            String deletedAt = values.get(offset + i);
+            if (deletedAt == null) {
+                continue;
+            }
+            // 파일 위치 자체의 삭제 기록은 항상 적용 (위치는 재사용되지 않음)
+            if (i == 0 || parseLong(deletedAt) >= modifiedAt) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * 직렬화된 emit만 허용되므로 동기화
+     * 큐가 가득 차면 PUT은 버리고 복구 루프에 맡기며, DELETE는 재시도 목록에 남긴다.
+     */
+    private synchronized void enqueue(ReplicationTask task) {
+        if (queue.tryEmitNext(task).isSuccess()) {
+            queued.incrementAndGet();
+        } else if (task.operation() == Operation.DELETE) {
+            count(task.operation(), "deferred");
+            retryLater(task);
+        } else {
+            count(task.operation(), "dropped");
+        }
+    }
+
+    private void retryLater(ReplicationTask task) {
+        pendingDeletes.putIfAbsent(task.target().instanceId() + "|" + task.fileLocation(),
+                new PendingDelete(task, System.currentTimeMillis()));
+    }
+
+    /**
+     * 전송하지 못한 DELETE 재시도
+     * 대상 노드가 ring에서 빠졌거나 삭제 기록이 만료될 만큼 오래되면 포기한다
+     * (그동안 대상 노드의 복구 검사가 삭제 기록을 보고 지움).
+     */
+    @Scheduled(fixedDelayString = "${file.cluster.replication.delete-retry-ms:10000}")
+    public void retryDeletes() {
+        if (pendingDeletes.isEmpty()) {
+            return;
+        }
+        Set<String> live = clusterRing.getMembers().stream()
+                .map(ClusterRing.Node::instanceId)
+                .collect(Collectors.toSet());
+        long now = System.currentTimeMillis();
+        for (String key : List.copyOf(pendingDeletes.keySet())) {
+            PendingDelete pending = pendingDeletes.remove(key);
+            if (pending == null) {
+                continue;
+            }
+            if (!live.contains(pending.task().target().instanceId()) || now - pending.firstFailedAt() > deletedTtlMs()) {
+                count(Operation.DELETE, "abandoned");
+                continue;
+            }
+            if (queue.tryEmitNext(pending.task()).isSuccess()) {
+                queued.incrementAndGet();
+            } else {
+                pendingDeletes.putIfAbsent(key, pending);
+            }
+        }
+    }
+
+    private Mono<Void> execute(ReplicationTask task) {
+        queued.decrementAndGet();
+        Mono<Void> call = task.operation() == Operation.PUT ? push(task) : delete(task);
+        return call
+                .doOnSuccess(ignored -> count(task.operation(), "success"))
+                .onErrorResume(e -> {
+                    if (task.operation() == Operation.PUT && e instanceof WebClientResponseException.Gone) {
+                        // 대상 노드에 삭제 기록이 있음 (이 노드의 사본은 복구 검사에서 지워짐)
+                        count(task.operation(), "gone");
+                        return Mono.empty();
+                    }
+                    count(task.operation(), "error");
+                    if (task.operation() == Operation.DELETE) {
+                        retryLater(task);
+                    }
+                    log.warn("복제 작업 실패 - {} {} -> {}: {}",
+                            task.operation(), task.fileLocation(), task.target().instanceId(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    /**
+     * 파일을 대상 노드로 스트리밍 (수신 측 소비 속도에 맞춰 디스크에서 읽음)
+     * 압축 저장된 파일은 압축된 바이트 그대로 Content-Encoding: gzip으로 보낸다.
+     */
+    private Mono<Void> push(ReplicationTask task) {
+        boolean compressed = !task.file().getFileName().toString().equals(Paths.get(task.fileLocation()).getFileName().toString());
+        return Mono.fromCallable(() -> Map.entry(Files.size(task.file()), Files.getLastModifiedTime(task.file()).toMillis()))
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(stat -> webClient.put()
+                        .uri(task.target().uri() + REPLICA_PATH + "?fileLocation={fileLocation}", task.fileLocation())
+                        .headers(headers -> {
+                            clusterRing.applyPeerHeaders(headers);
+                            headers.set(MODIFIED_HEADER, String.valueOf(stat.getValue()));
+                            if (compressed) {
+                                headers.set(HttpHeaders.CONTENT_ENCODING, ContentCompressionService.GZIP_ENCODING);
+                            }
+                        })
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .contentLength(stat.getKey())
+                        .body(BodyInserters.fromDataBuffers(
+                                DataBufferUtils.read(task.file(), DefaultDataBufferFactory.sharedInstance, READ_BUFFER_SIZE)))
+                        .retrieve()
+                        .toBodilessEntity())
+                .publishOn(Schedulers.boundedElastic())
+                .doOnSuccess(response -> markHolders(task.fileLocation(), List.of(clusterRing.selfId(), task.target().instanceId())))
+                .then();
+    }
+
+    private Mono<Void> delete(ReplicationTask task) {
+        return webClient.delete()
+                .uri(task.target().uri() + REPLICA_PATH + "?fileLocation={fileLocation}", task.fileLocation())
+                .headers(clusterRing::applyPeerHeaders)
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+    }
+
+    private void markHolders(String fileLocation, Collection<String> instanceIds) {
+        String key = REPLICA_KEY_PREFIX + fileLocation;
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            redis.sAdd(key, instanceIds.toArray(String[]::new));
+            redis.pExpire(key, holderTtlMs());
+            return null;
+        });
+    }
+
+    /**
+     * 보유 노드 기록 TTL (복구 검사마다 갱신되며, 디렉토리 단위 삭제로 남은 기록은 자연 만료)
+     */
+    private long holderTtlMs() {
+        return repairIntervalMs * 3;
+    }
+
+    /**
+     * 삭제 기록 TTL (보유 노드 기록보다 길게 두어, 기록이 남은 복제본이 모두 복구 검사를 거친 뒤 만료)
+     */
+    private long deletedTtlMs() {
+        return holderTtlMs() * 2;
+    }
+
+    /**
+     * ring 멤버가 바뀌었거나 복구 주기가 지났으면 복구 검사 실행
+     */
+    @Scheduled(fixedDelayString = "${file.cluster.replication.repair-check-ms:30000}")
+    public void repairIfNeeded() {
+        if (!canPropagate()) {
+            return;
+        }
+        long version = clusterRing.getVersion();
+        long now = System.currentTimeMillis();
+        if (version == lastRepairVersion && now - lastRepairAt < repairIntervalMs) {
+            return;
+        }
+        // 전체 파일을 훑는 작업이므로 업로드/디스플레이 과부하 중에는 다음 검사로 미룸
+        if (uploadAdmissionService.shouldDeferBackgroundWork()) {
+            log.debug("과부하로 복제본 복구 검사를 미룹니다");
+            return;
+        }
+        lastRepairVersion = version;
+        lastRepairAt = now;
+        repair();
+    }
+
+    /**
+     * 로컬 파일마다 보유 노드 기록을 갱신하고, 이 노드가 담당(coordinator)이면 부족한 복제본을 전송
+     * 담당 노드: preference list에서 파일을 가진 첫 노드 (없으면 보유 노드 중 instanceId가 가장 작은 노드)
+     */
+    public void repair() {
+        Set<String> live = clusterRing.getMembers().stream()
+                .map(ClusterRing.Node::instanceId)
+                .collect(Collectors.toSet());
+        String selfId = clusterRing.selfId();
+        int expected = Math.min(factor, live.size());
+        AtomicInteger under = new AtomicInteger();
+        AtomicInteger scheduled = new AtomicInteger();
+
+        List<Path> batch = new ArrayList<>(REPAIR_BATCH_SIZE);
+        Path trash = root.resolve(FileReclaimService.TRASH_DIRECTORY);
+        try (Stream<Path> walk = Files.walk(root)) {
+            // 툼스톤(휴지통)은 삭제된 파일이므로 복제 대상에서 제외
+            walk.filter(file -> !file.startsWith(trash))
+                    .filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().startsWith("."))
+                    .forEach(file -> {
+                        batch.add(file);
+                        if (batch.size() >= REPAIR_BATCH_SIZE) {
+                            repairBatch(batch, live, selfId, expected, under, scheduled);
+                            batch.clear();
+                        }
+                    });
+            if (!batch.isEmpty()) {
+                repairBatch(batch, live, selfId, expected, under, scheduled);
+            }
+        } catch (Exception e) {
+            log.error("복제본 복구 검사 실패: {}", e.getMessage(), e);
+            return;
+        }
+
+        underReplicated.set(under.get());
+        log.info("복제본 복구 검사 완료 - 복제본 부족: {}, 전송 예약: {}", under.get(), scheduled.get());
+    }
+
+    private void repairBatch(List<Path> files, Set<String> live, String selfId, int expected,
+                             AtomicInteger under, AtomicInteger scheduled) {
+        List<String> locations = files.stream()
+                .map(file -> contentCompressionService.logicalLocation(root.relativize(file).toString().replace('\\', '/')))
+                .toList();
+
+        List<Object> memberships = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            locations.forEach(location -> redis.sMembers(REPLICA_KEY_PREFIX + location));
+            return null;
+        });
+
+        // 삭제 기록 조회 (파일 위치와 상위 디렉토리)
+        List<List<String>> deletedKeys = locations.stream().map(ReplicationService::deletedKeys).toList();
+        List<String> deletedValues = stringRedisTemplate.opsForValue()
+                .multiGet(deletedKeys.stream().flatMap(List::stream).toList());
+
+        List<Map.Entry<String, String>> deadHolders = new ArrayList<>();
+        Set<String> deleted = new HashSet<>();
+        int offset = 0;
+        for (int i = 0; i < locations.size(); i++) {
+            String location = locations.get(i);
+            List<String> keys = deletedKeys.get(i);
+            boolean removed = deletedValues != null && isDeleted(keys, deletedValues, offset, lastModified(files.get(i)));
+            offset += keys.size();
+            if (removed) {
+                // 삭제된 파일은 되살리지 않고 이 노드의 사본도 툼스톤 처리
+                deleted.add(location);
+                tombstone(files.get(i));
+                continue;
+            }
+            Set<String> holders = new HashSet<>();
+            if (memberships.get(i) instanceof Collection<?> recorded) {
+                recorded.forEach(id -> holders.add(String.valueOf(id)));
+            }
+            holders.stream().filter(id -> !live.contains(id)).forEach(id -> deadHolders.add(Map.entry(location, id)));
+            holders.retainAll(live);
+            holders.add(selfId);
+
+            if (holders.size() < expected) {
+                under.incrementAndGet();
+            }
+
+            List<ClusterRing.Node> preference = clusterRing.preferenceList(location, factor);
+            String coordinator = preference.stream()
+                    .map(ClusterRing.Node::instanceId)
+                    .filter(holders::contains)
+                    .findFirst()
+                    .orElseGet(() -> holders.stream().sorted().findFirst().orElse(selfId));
+            if (!isActive() || !coordinator.equals(selfId)) {
+                continue;
+            }
+            for (ClusterRing.Node node : preference) {
+                if (!holders.contains(node.instanceId())) {
+                    enqueue(new ReplicationTask(Operation.PUT, location, files.get(i), node));
+                    scheduled.incrementAndGet();
+                }
+            }
+        }
+
+        // 자기 자신 보유 기록 갱신 및 사라진 노드 기록 제거
+        stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection redis = (StringRedisConnection) connection;
+            for (String location : locations) {
+                String key = REPLICA_KEY_PREFIX + location;
+                if (deleted.contains(location)) {
+                    redis.sRem(key, selfId);
+                    continue;
+                }
+                redis.sAdd(key, selfId);
+                redis.pExpire(key, holderTtlMs());
+            }
+            for (Map.Entry<String, String> deadHolder : deadHolders) {
+                redis.sRem(REPLICA_KEY_PREFIX + deadHolder.getKey(), deadHolder.getValue());
+            }
+            return null;
+        });
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void tombstone(Path file) {
+        try {
+            fileReclaimService.tombstone(file);
+            count(Operation.DELETE, "repaired");
+        } catch (IOException e) {
+            log.warn("삭제된 파일의 복제본 정리 실패 - {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void count(Operation operation, String outcome) {
+        counters.computeIfAbsent(operation + ":" + outcome, key -> Counter.builder("cluster.replication")
+                .description("복제 작업 결과")
+                .tag("operation", operation.name().toLowerCase())
+                .tag("outcome", outcome)
+                .register(meterRegistry)).increment();
+    }
+}
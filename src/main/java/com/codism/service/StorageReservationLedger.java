@@ -0,0 +1,257 @@
+package com.codism.service;
+
+import com.codism.exception.InsufficientStorageException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileStore;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 업로드 볼륨 여유 공간 예약 장부
+ * 업로드마다 크기만큼 원자적으로 예약해 동시에 여러 대용량 업로드가 같은 여유 공간을 믿고 쓰다가
+ * 중간에 ENOSPC로 실패하는 일을 막는다 (여유 공간 - 예약 합계 - 최소 여유 공간 기준).
+ * 크기가 큰 파일은 기록 전에 파일 길이를 예약한 크기로 늘려 두고, 예약은 실제로 기록한 만큼 줄인다.
+ */
+@Slf4j
+@Service
+public class StorageReservationLedger {
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    private final MeterRegistry meterRegistry;
+    private final String uploadPath;
+    private final boolean enabled;
+    private final long minFree;
+    private final boolean preallocate;
+    private final long preallocateMinSize;
+
+    private final AtomicLong reserved = new AtomicLong();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    // 가상 스레드에서 여유 공간 조회(statfs) 중 캐리어 스레드가 고정되지 않도록 synchronized 대신 사용
+    private final ReentrantLock reserveLock = new ReentrantLock();
+
+    private FileStore fileStore;
+
+    public StorageReservationLedger(
+            MeterRegistry meterRegistry,
+            @Value("${file.upload-path}") String uploadPath,
+            @Value("${file.reservation.enabled:true}") boolean enabled,
+            @Value("${file.reservation.min-free:1GB}") DataSize minFree,
+            @Value("${file.reservation.preallocate:true}") boolean preallocate,
+            @Value("${file.reservation.preallocate-min-size:64MB}") DataSize preallocateMinSize
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.uploadPath = uploadPath;
+        this.enabled = enabled;
+        this.minFree = minFree.toBytes();
+        this.preallocate = preallocate;
+        this.preallocateMinSize = preallocateMinSize.toBytes();
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        Path root = Paths.get(uploadPath).toAbsolutePath().normalize();
+        Files.createDirectories(root);
+        fileStore = Files.getFileStore(root);
+
+        Gauge.builder("storage.volume.usable", this, StorageReservationLedger::usableSpace)
+                .baseUnit("bytes")
+                .description("업로드 볼륨의 여유 공간")
+                .register(meterRegistry);
+        Gauge.builder("storage.volume.total", this, StorageReservationLedger::totalSpace)
+                .baseUnit("bytes")
+                .description("업로드 볼륨 전체 크기")
+                .register(meterRegistry);
+        Gauge.builder("storage.volume.reserved", reserved, AtomicLong::get)
+                .baseUnit("bytes")
+                .description("예약되었지만 아직 디스크에 기록되지 않은 바이트 수")
+                .register(meterRegistry);
+        Gauge.builder("storage.volume.min_free", () -> minFree)
+                .baseUnit("bytes")
+                .description("예약 시 남겨 두는 최소 여유 공간")
+                .register(meterRegistry);
+        log.info("저장 공간 예약 장부 초기화 - store: {}, minFree: {}, preallocate: {}", fileStore, minFree, preallocate);
+    }
+
+    /**
+     * 업로드 크기만큼 공간 예약 (여유 공간이 부족하면 InsufficientStorageException)
+     * 여유 공간 조회와 예약 합계 갱신이 섞이지 않도록 직렬화한다.
+     *
+     * @param bytes 예약할 크기 (0 이하면 크기를 모르는 것으로 보고 예약하지 않음)
+     */
+    public Reservation reserve(long bytes) {
+        if (!enabled || bytes <= 0) {
+            return new Reservation(0);
+        }
+        reserveLock.lock();
+        try {
+            long usable;
+            try {
+                usable = fileStore.getUsableSpace();
+            } catch (IOException e) {
+                // 여유 공간을 알 수 없으면 막지 않고 예약만 기록
+                log.warn("업로드 볼륨 여유 공간 조회 실패: {}", e.getMessage());
+                usable = Long.MAX_VALUE;
+            }
+            long available = usable - reserved.get() - minFree;
+            if (bytes > available) {
+                count("storage.reservation", "rejected");
+                log.warn("저장 공간 부족으로 업로드 거부 - 요청: {}, 가용: {}, 예약 중: {}", bytes, Math.max(available, 0), reserved.get());
+                throw new InsufficientStorageException("저장 공간이 부족합니다.");
+            }
+            reserved.addAndGet(bytes);
+            count("storage.reservation", "reserved");
+            return new Reservation(bytes);
+        } finally {
+            reserveLock.unlock();
+        }
+    }
+
+    /**
+     * 스트림을 기록하면서 기록한 만큼 예약을 줄임 (기록된 바이트는 이미 볼륨 여유 공간에서 빠지므로 이중 집계 방지)
+     * 선할당한 경우 실제 크기가 예약보다 작으면 끝을 잘라낸다. 실패하면 파일을 지운다.
+     *
+     * @return 기록한 바이트 수
+     */
+    public long write(Reservation reservation, InputStream in, Path target) throws IOException {
+        try (FileChannel channel = FileChannel.open(target,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            preallocate(channel, target, reservation.size());
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+            long written = 0;
+            int read;
+            while ((read = in.read(buffer.array())) != -1) {
+                buffer.clear().limit(read);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                written += read;
+                reservation.consume(read);
+            }
+            if (channel.size() > written) {
+                channel.truncate(written);
+            }
+            return written;
+        } catch (IOException e) {
+            // 지우면 기록한 만큼 여유 공간이 돌아오므로 지우기 전에 판단
+            boolean outOfSpace = isOutOfSpace();
+            Files.deleteIfExists(target);
+            if (outOfSpace) {
+                throw new InsufficientStorageException("저장 공간이 부족합니다.", e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 예약한 크기까지 파일 길이를 미리 늘림 (마지막 바이트를 위치 지정 쓰기, 채널 위치는 그대로)
+     * 파일 시스템에 최종 크기를 먼저 알려 연속 할당을 유도하고, 크기 갱신을 쓰기마다 반복하지 않게 한다.
+     * 블록이 실제로 할당되는지는 파일 시스템에 따라 다르므로(희소 파일) 예약은 기록한 만큼만 줄인다.
+     */
+    private void preallocate(FileChannel channel, Path target, long size) {
+        if (!preallocate || size < preallocateMinSize) {
+            return;
+        }
+        try {
+            channel.write(ByteBuffer.allocate(1), size - 1);
+            count("storage.preallocation", "success");
+        } catch (IOException e) {
+            // 실패해도 일반 쓰기로 진행 (공간 부족이면 이어지는 쓰기에서 다시 실패)
+            count("storage.preallocation", "failed");
+            log.debug("선할당 실패, 일반 쓰기로 진행 - {}: {}", target, e.getMessage());
+        }
+    }
+
+    /**
+     * 쓰기 실패가 공간 부족 때문인지 (예외 메시지는 OS와 로케일마다 다르므로 볼륨 여유 공간으로 판단)
+     */
+    private boolean isOutOfSpace() {
+        try {
+            return fileStore.getUsableSpace() < WRITE_BUFFER_SIZE;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    public long getReserved() {
+        return reserved.get();
+    }
+
+    private double usableSpace() {
+        try {
+            return fileStore.getUsableSpace();
+        } catch (IOException e) {
+            return Double.NaN;
+        }
+    }
+
+    private double totalSpace() {
+        try {
+            return fileStore.getTotalSpace();
+        } catch (IOException e) {
+            return Double.NaN;
+        }
+    }
+
+    private void count(String name, String outcome) {
+        counters.computeIfAbsent(name + ":" + outcome, key -> Counter.builder(name)
+                .description("저장 공간 예약/선할당 결과")
+                .tag("outcome", outcome)
+                .register(meterRegistry)).increment();
+    }
+
+    /**
+     * 업로드 한 건의 예약 (close 시 남은 예약 해제, 실패해도 반드시 닫아야 함)
+     */
+    public final class Reservation implements AutoCloseable {
+
+        private final long size;
+        private long remaining;
+
+        private Reservation(long size) {
+            this.size = size;
+            this.remaining = size;
+        }
+
+        public long size() {
+            return size;
+        }
+
+        /**
+         * 기록한 바이트만큼 예약 감소 (예약보다 많이 기록해도 0 아래로 내려가지 않음)
+         */
+        public synchronized void consume(long bytes) {
+            long released = Math.min(bytes, remaining);
+            if (released > 0) {
+                reserved.addAndGet(-released);
+                remaining -= released;
+            }
+        }
+
+        @Override
+        public synchronized void close() {
+            if (remaining > 0) {
+                reserved.addAndGet(-remaining);
+                remaining = 0;
+            }
+        }
+    }
+}
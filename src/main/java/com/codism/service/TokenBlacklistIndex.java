@@ -0,0 +1,150 @@
+package com.codism.service;
+
+import com.codism.security.DigestBloomFilter;
+import com.codism.security.TokenDigest;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.SubscriptionListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 블랙리스트 토큰 다이제스트의 로컬 Bloom 필터
+ * 대부분의 토큰은 블랙리스트에 없으므로, 필터가 "없음"이라고 답하면 Redis 조회를 생략한다.
+ * 기동 시 Redis SCAN으로 재구성하고, addToBlacklist 발생 시 pub/sub 채널로 모든 노드에 전파한다.
+ * 연결이 끊긴 동안의 이벤트는 다시 받을 수 없으므로 채널을 다시 구독하면 재구성한다.
+ * Bloom 필터는 삭제가 불가능하므로 만료된 항목 정리를 위해 주기적으로 재구성한다.
+ */
+@Slf4j
+@Service
+public class TokenBlacklistIndex {
+
+    static final String BLACKLIST_CHANNEL = "auth:blacklist-events";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+
+    // null이면 아직 구성되지 않은 상태 (모든 토큰을 Redis로 확인)
+    private volatile DigestBloomFilter current;
+    // 재구성 중 도착한 추가 이벤트를 새 필터에도 반영하기 위한 참조
+    private volatile DigestBloomFilter building;
+    // 첫 구독은 init의 재구성으로 충분하므로 재구독부터 재구성
+    private final AtomicBoolean subscribedOnce = new AtomicBoolean();
+
+    public TokenBlacklistIndex(
+            StringRedisTemplate stringRedisTemplate,
+            RedisMessageListenerContainer redisMessageListenerContainer,
+            @Value("${auth.blacklist.bloom.expected-insertions:100000}") long expectedInsertions,
+            @Value("${auth.blacklist.bloom.false-positive-rate:0.001}") double falsePositiveRate
+    ) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisMessageListenerContainer = redisMessageListenerContainer;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @PostConstruct
+    public void init() {
+        redisMessageListenerContainer.addMessageListener(new BlacklistEventListener(), new ChannelTopic(BLACKLIST_CHANNEL));
+        rebuild();
+    }
+
+    /**
+     * 블랙리스트 이벤트 수신, 재구독(연결 복구) 시 놓친 이벤트를 반영하기 위해 재구성
+     */
+    private class BlacklistEventListener implements MessageListener, SubscriptionListener {
+
+        @Override
+        public void onMessage(Message message, byte[] pattern) {
+            add(new String(message.getBody(), StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void onChannelSubscribed(byte[] channel, long count) {
+            if (subscribedOnce.getAndSet(true)) {
+                log.info("블랙리스트 채널 재구독, Bloom 필터를 재구성합니다");
+                rebuild();
+            }
+        }
+    }
+
+    /**
+     * Redis의 블랙리스트 키로 필터 재구성
+     */
+    @Scheduled(fixedDelayString = "${auth.blacklist.bloom.rebuild-interval-ms:3600000}",
+            initialDelayString = "${auth.blacklist.bloom.rebuild-interval-ms:3600000}")
+    public void rebuild() {
+        DigestBloomFilter next = new DigestBloomFilter(expectedInsertions, falsePositiveRate);
+        building = next;
+        long count = 0;
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(RedisAuthService.BLACKLIST_TOKEN_KEY + "*")
+                .count(1000)
+                .build();
+        try (Cursor<String> cursor = stringRedisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                String suffix = cursor.next().substring(RedisAuthService.BLACKLIST_TOKEN_KEY.length());
+                try {
+                    // 이전 형식(토큰 원문) 키는 다이제스트로 변환하여 등록
+                    next.put(isLegacyKey(suffix) ? TokenDigest.bytes(suffix) : TokenDigest.decode(suffix));
+                    count++;
+                } catch (IllegalArgumentException e) {
+                    log.warn("알 수 없는 블랙리스트 키 형식 무시: {}", suffix);
+                }
+            }
+            current = next;
+            log.info("블랙리스트 Bloom 필터 재구성 완료 - 항목 수: {}", count);
+        } catch (Exception e) {
+            log.error("블랙리스트 Bloom 필터 재구성 실패 - Error: {}", e.getMessage());
+        } finally {
+            building = null;
+        }
+    }
+
+    /**
+     * 다이제스트를 필터에 추가 (pub/sub 수신 또는 로컬 추가)
+     */
+    public void add(String tokenDigest) {
+        try {
+            byte[] digest = TokenDigest.decode(tokenDigest);
+            DigestBloomFilter filter = current;
+            if (filter != null) {
+                filter.put(digest);
+            }
+            DigestBloomFilter next = building;
+            if (next != null) {
+                next.put(digest);
+            }
+        } catch (IllegalArgumentException e) {
+            log.warn("잘못된 블랙리스트 이벤트 무시: {}", tokenDigest);
+        }
+    }
+
+    /**
+     * 블랙리스트에 있을 가능성이 있는지 확인 (false면 확실히 없음)
+     */
+    public boolean mightContain(byte[] tokenDigest) {
+        DigestBloomFilter filter = current;
+        return filter == null || filter.mightContain(tokenDigest);
+    }
+
+    /**
+     * 토큰 원문을 키로 쓰던 이전 형식인지 확인 (JWT는 '.'을 포함하고 다이제스트는 포함하지 않음)
+     */
+    static boolean isLegacyKey(String suffix) {
+        return suffix.indexOf('.') >= 0;
+    }
+}
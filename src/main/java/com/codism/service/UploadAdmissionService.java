@@ -0,0 +1,219 @@
+package com.codism.service;
+
+import com.codism.metrics.StorageMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 업로드 진입 제어 (처리 중인 업로드 바이트, 디스크 쓰기 중인 업로드 수, 검수 대기 수 기준)
+ * 한도를 넘으면 멀티파트 본문을 읽기 전에 거부하고, 최근 처리 속도로 계산한 재시도 시간을 돌려준다.
+ * 디스플레이는 제한하지 않으며, 과부하 중에는 백그라운드 작업(회수, 복제 복구)을 미뤄 조회에 자원을 양보한다.
+ */
+@Slf4j
+@Service
+public class UploadAdmissionService {
+
+    public static final String REASON_BYTES = "inflight_bytes";
+    public static final String REASON_DISK = "disk_writes";
+    public static final String REASON_MODERATION = "moderations";
+
+    // 지수 이동 평균 가중치 (최근 표본 비중)
+    private static final double EWMA_WEIGHT = 0.2;
+
+    /**
+     * 진입 판정 결과 (거부 시 reason과 Retry-After 초)
+     */
+    public record Admission(boolean admitted, String reason, long retryAfterSeconds) {
+
+        static final Admission ADMITTED = new Admission(true, null, 0);
+    }
+
+    private final StorageMetrics storageMetrics;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final long maxInflightBytes;
+    private final int maxDiskWrites;
+    private final int maxModerations;
+    private final long minRetryAfterSeconds;
+    private final long maxRetryAfterSeconds;
+    private final int displayPriorityThreshold;
+
+    private final AtomicLong inflightBytes = new AtomicLong();
+    private final AtomicInteger inflightUploads = new AtomicInteger();
+    private final AtomicInteger diskWrites = new AtomicInteger();
+    private final AtomicInteger moderations = new AtomicInteger();
+
+    // 최근 업로드당 처리 속도(bytes/s)와 단계별 소요 시간(초)
+    private volatile double uploadBytesPerSecond;
+    private volatile double diskWriteSeconds;
+    private volatile double moderationSeconds;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public UploadAdmissionService(
+            StorageMetrics storageMetrics,
+            MeterRegistry meterRegistry,
+            @Value("${file.admission.enabled:true}") boolean enabled,
+            @Value("${file.admission.max-inflight-bytes:512MB}") DataSize maxInflightBytes,
+            @Value("${file.admission.max-disk-writes:16}") int maxDiskWrites,
+            @Value("${file.admission.max-moderations:32}") int maxModerations,
+            @Value("${file.admission.min-retry-after-seconds:1}") long minRetryAfterSeconds,
+            @Value("${file.admission.max-retry-after-seconds:30}") long maxRetryAfterSeconds,
+            @Value("${file.admission.display-priority-threshold:64}") int displayPriorityThreshold
+    ) {
+        this.storageMetrics = storageMetrics;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.maxInflightBytes = maxInflightBytes.toBytes();
+        this.maxDiskWrites = maxDiskWrites;
+        this.maxModerations = maxModerations;
+        this.minRetryAfterSeconds = minRetryAfterSeconds;
+        this.maxRetryAfterSeconds = maxRetryAfterSeconds;
+        this.displayPriorityThreshold = displayPriorityThreshold;
+
+        Gauge.builder("upload.admission.inflight.bytes", inflightBytes, AtomicLong::get)
+                .baseUnit("bytes")
+                .description("진입을 허용해 처리 중인 업로드 바이트 수 (Content-Length 기준)")
+                .register(meterRegistry);
+        Gauge.builder("upload.admission.disk_writes", diskWrites, AtomicInteger::get)
+                .description("디스크에 쓰는 중인 업로드 수")
+                .register(meterRegistry);
+        Gauge.builder("upload.admission.moderations", moderations, AtomicInteger::get)
+                .description("검수 중인 업로드 수")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 업로드 진입 판정 (허용되면 release로 반드시 반환)
+     *
+     * @param contentLength 요청 Content-Length (모르면 0 이하)
+     */
+    public Admission tryAdmit(long contentLength) {
+        long bytes = Math.max(contentLength, 0);
+        if (!enabled) {
+            reserve(bytes);
+            return Admission.ADMITTED;
+        }
+
+        Admission rejection = null;
+        int writing = diskWrites.get();
+        int moderating = moderations.get();
+        if (writing >= maxDiskWrites) {
+            rejection = reject(REASON_DISK, drainSeconds(writing - maxDiskWrites + 1, maxDiskWrites, diskWriteSeconds));
+        } else if (moderating >= maxModerations) {
+            rejection = reject(REASON_MODERATION, drainSeconds(moderating - maxModerations + 1, maxModerations, moderationSeconds));
+        } else {
+            long current;
+            do {
+                current = inflightBytes.get();
+                // 처리 중인 업로드가 없으면 한도보다 큰 파일도 받음 (영원히 거부되지 않도록)
+                if (current > 0 && current + bytes > maxInflightBytes) {
+                    rejection = reject(REASON_BYTES, bytesDrainSeconds(current + bytes - maxInflightBytes));
+                    break;
+                }
+            } while (!inflightBytes.compareAndSet(current, current + bytes));
+            if (rejection == null) {
+                inflightUploads.incrementAndGet();
+            }
+        }
+
+        count(rejection == null ? "admitted" : "rejected", rejection == null ? "none" : rejection.reason());
+        return rejection != null ? rejection : Admission.ADMITTED;
+    }
+
+    /**
+     * 허용된 업로드 종료 (처리 속도 갱신)
+     */
+    public void release(long contentLength, long elapsedNanos) {
+        long bytes = Math.max(contentLength, 0);
+        inflightBytes.addAndGet(-bytes);
+        inflightUploads.decrementAndGet();
+        if (bytes > 0 && elapsedNanos > 0) {
+            uploadBytesPerSecond = ewma(uploadBytesPerSecond, bytes / (elapsedNanos / 1e9));
+        }
+    }
+
+    private void reserve(long bytes) {
+        inflightBytes.addAndGet(bytes);
+        inflightUploads.incrementAndGet();
+    }
+
+    public void diskWriteStarted() {
+        diskWrites.incrementAndGet();
+    }
+
+    public void diskWriteFinished(long elapsedNanos) {
+        diskWrites.decrementAndGet();
+        diskWriteSeconds = ewma(diskWriteSeconds, elapsedNanos / 1e9);
+    }
+
+    public void moderationStarted() {
+        moderations.incrementAndGet();
+    }
+
+    public void moderationFinished(long elapsedNanos) {
+        moderations.decrementAndGet();
+        moderationSeconds = ewma(moderationSeconds, elapsedNanos / 1e9);
+    }
+
+    /**
+     * 백그라운드 작업(회수, 복제 복구)을 미뤄야 하는지 (업로드 한도 근접 또는 디스플레이 요청 과다)
+     */
+    public boolean shouldDeferBackgroundWork() {
+        if (!enabled) {
+            return false;
+        }
+        return diskWrites.get() >= maxDiskWrites
+                || moderations.get() >= maxModerations
+                || inflightBytes.get() >= maxInflightBytes
+                || (displayPriorityThreshold > 0
+                && storageMetrics.inFlight(StorageMetrics.OP_DISPLAY).get() >= displayPriorityThreshold);
+    }
+
+    /**
+     * 초과분을 비우는 데 걸리는 예상 시간 (slots개가 병렬로 처리, 건당 평균 seconds)
+     */
+    private double drainSeconds(int excess, int slots, double seconds) {
+        return excess * seconds / Math.max(1, slots);
+    }
+
+    /**
+     * 초과 바이트를 비우는 데 걸리는 예상 시간 (업로드당 처리 속도 x 처리 중인 업로드 수)
+     */
+    private double bytesDrainSeconds(long excessBytes) {
+        double drainRate = uploadBytesPerSecond * Math.max(1, inflightUploads.get());
+        return drainRate > 0 ? excessBytes / drainRate : maxRetryAfterSeconds;
+    }
+
+    private Admission reject(String reason, double seconds) {
+        long retryAfter = Math.max(minRetryAfterSeconds, Math.min(maxRetryAfterSeconds, (long) Math.ceil(seconds)));
+        log.debug("업로드 진입 거부 - reason: {}, retryAfter: {}s", reason, retryAfter);
+        return new Admission(false, reason, retryAfter);
+    }
+
+    private static double ewma(double current, double sample) {
+        return current == 0 ? sample : current + EWMA_WEIGHT * (sample - current);
+    }
+
+    private void count(String outcome, String reason) {
+        counters.computeIfAbsent(outcome + ":" + reason, key -> Counter.builder("upload.admission")
+                .description("업로드 진입 판정 결과")
+                .tag("outcome", outcome)
+                .tag("reason", reason)
+                .register(meterRegistry)).increment();
+    }
+}
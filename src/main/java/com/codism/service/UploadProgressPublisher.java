@@ -0,0 +1,161 @@
+package com.codism.service;
+
+import com.codism.model.dto.UploadProgressEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 업로드 진행 상황을 사용자별 STOMP 큐(/user/queue/uploads)로 전송
+ * 전송 중 바이트 수는 업로드별 최신 값만 보관했다가 주기적으로 한 번씩 보내고(합치기),
+ * 검수/저장/실패 같은 상태 변경은 즉시 보낸다.
+ * uploadId는 클라이언트가 보내는 값이므로 사용자별로 구분하고,
+ * 종료 상태(STORED/REJECTED/FAILED)를 보낸 업로드에는 더 이상 진행률을 보내지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UploadProgressPublisher {
+
+    public static final String DESTINATION = "/queue/uploads";
+    public static final String UPLOAD_ID_HEADER = "X-Upload-Id";
+
+    private final SimpMessagingTemplate messagingTemplate;
+
+    // 키: userCd + uploadId, 값: 업로드별 전송 상태
+    private final Map<UploadKey, UploadState> uploads = new ConcurrentHashMap<>();
+
+    /**
+     * 전송된 바이트 수 갱신 (다음 flush 때 최신 값만 전송)
+     */
+    public void progress(String userCd, String uploadId, String fileName, long bytesTransferred, long totalBytes) {
+        UploadState state = uploads.computeIfAbsent(new UploadKey(userCd, uploadId), key -> new UploadState());
+        state.lock.lock();
+        try {
+            if (!state.finished) {
+                state.pending = new PendingProgress(fileName, bytesTransferred, totalBytes);
+            }
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    public void moderated(String userCd, String uploadId, String fileName, String verdict) {
+        publish(userCd, UploadProgressEvent.builder()
+                .uploadId(uploadId)
+                .fileName(fileName)
+                .status(UploadProgressEvent.Status.MODERATED)
+                .verdict(verdict));
+    }
+
+    public void stored(String userCd, String uploadId, String fileName, String fileLocation, long totalBytes) {
+        publish(userCd, UploadProgressEvent.builder()
+                .uploadId(uploadId)
+                .fileName(fileName)
+                .status(UploadProgressEvent.Status.STORED)
+                .fileLocation(fileLocation)
+                .bytesTransferred(totalBytes)
+                .totalBytes(totalBytes));
+    }
+
+    public void rejected(String userCd, String uploadId, String fileName, String message) {
+        publish(userCd, UploadProgressEvent.builder()
+                .uploadId(uploadId)
+                .fileName(fileName)
+                .status(UploadProgressEvent.Status.REJECTED)
+                .message(message));
+    }
+
+    public void failed(String userCd, String uploadId, String fileName, String message) {
+        publish(userCd, UploadProgressEvent.builder()
+                .uploadId(uploadId)
+                .fileName(fileName)
+                .status(UploadProgressEvent.Status.FAILED)
+                .message(message));
+    }
+
+    /**
+     * 상태 변경 이벤트는 즉시 전송 (대기 중인 진행률은 더 이상 의미가 없으므로 버림)
+     * flush와 같은 잠금 안에서 보내므로 종료 이벤트 뒤에 RECEIVING이 도착하지 않음
+     */
+    private void publish(String userCd, UploadProgressEvent.UploadProgressEventBuilder builder) {
+        UploadProgressEvent event = builder.timestamp(System.currentTimeMillis()).build();
+        UploadState state = uploads.get(new UploadKey(userCd, event.getUploadId()));
+        if (state == null) {
+            send(userCd, event);
+            return;
+        }
+        state.lock.lock();
+        try {
+            state.pending = null;
+            if (event.getStatus() != UploadProgressEvent.Status.MODERATED) {
+                state.finished = true;
+            }
+            send(userCd, event);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * 합쳐진 진행률 전송
+     */
+    @Scheduled(fixedDelayString = "${file.progress.interval-ms:250}")
+    public void flush() {
+        if (uploads.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Map.Entry<UploadKey, UploadState> entry : uploads.entrySet()) {
+            UploadKey key = entry.getKey();
+            UploadState state = entry.getValue();
+            state.lock.lock();
+            try {
+                PendingProgress progress = state.pending;
+                if (state.finished || progress == null) {
+                    // 끝났거나 새 진행률이 없는 업로드는 정리 (다음 progress 호출 때 다시 생성)
+                    uploads.remove(key, state);
+                    continue;
+                }
+                state.pending = null;
+                send(key.userCd(), UploadProgressEvent.builder()
+                        .uploadId(key.uploadId())
+                        .fileName(progress.fileName())
+                        .status(UploadProgressEvent.Status.RECEIVING)
+                        .bytesTransferred(progress.bytesTransferred())
+                        .totalBytes(progress.totalBytes())
+                        .timestamp(now)
+                        .build());
+            } finally {
+                state.lock.unlock();
+            }
+        }
+    }
+
+    private void send(String userCd, UploadProgressEvent event) {
+        try {
+            messagingTemplate.convertAndSendToUser(userCd, DESTINATION, event);
+        } catch (Exception e) {
+            // 진행 알림 실패가 업로드를 실패시키지 않도록 로그만 남김
+            log.debug("업로드 진행 알림 전송 실패 - uploadId: {}, Error: {}", event.getUploadId(), e.getMessage());
+        }
+    }
+
+    private record UploadKey(String userCd, String uploadId) {
+    }
+
+    private record PendingProgress(String fileName, long bytesTransferred, long totalBytes) {
+    }
+
+    private static final class UploadState {
+        private final ReentrantLock lock = new ReentrantLock();
+        private PendingProgress pending;
+        private boolean finished;
+    }
+}
@@ -0,0 +1,289 @@
+package com.codism.service;
+
+import com.codism.io.PathMultipartFile;
+import com.netflix.appinfo.ApplicationInfoManager;
+import com.netflix.appinfo.InstanceInfo;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 기동 직후 워밍업 (JWT 파싱, Redis, 검수, 파일 I/O, HTTP 디스플레이 경로를 합성 요청으로 실행)
+ * Eureka에는 STARTING 상태로 등록되고 워밍업이 끝난 뒤 UP으로 바뀌어야 트래픽을 받는다.
+ * 진행 상태는 WarmUpHealthIndicator(/actuator/health/readiness)로 노출한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class WarmUpService {
+
+    // 워밍업 파일은 숨김 디렉토리/파일로 만들어 복제 복구 대상에서 제외
+    private static final String WARM_UP_DIRECTORY = ".warmup";
+    // "."으로 시작하는 사용자 코드는 인증에서 거부되므로 실제 사용자와 겹치지 않음 (JwtPrincipal.isValidUserCd)
+    private static final String WARM_UP_USER = ".warmup";
+
+    public enum State {
+        PENDING, RUNNING, COMPLETED, SKIPPED
+    }
+
+    private final JwtService jwtService;
+    private final RedisAuthService redisAuthService;
+    private final NSFWDetectionService nsfwDetectionService;
+    private final FileStorageService fileStorageService;
+    private final ClusterRing clusterRing;
+    private final WebClient webClient;
+    private final ObjectProvider<ApplicationInfoManager> applicationInfoManager;
+
+    @Value("${file.warm-up.enabled:true}")
+    private boolean enabled;
+
+    @Value("${file.warm-up.jwt-iterations:500}")
+    private int jwtIterations;
+
+    @Value("${file.warm-up.redis-iterations:200}")
+    private int redisIterations;
+
+    @Value("${file.warm-up.file-iterations:50}")
+    private int fileIterations;
+
+    @Value("${file.warm-up.file-size:262144}")
+    private int fileSize;
+
+    @Value("${file.warm-up.http-requests:20}")
+    private int httpRequests;
+
+    @Value("${file.warm-up.moderation-calls:0}")
+    private int moderationCalls;
+
+    @Value("${file.warm-up.timeout-ms:120000}")
+    private long timeoutMs;
+
+    private volatile State state = State.PENDING;
+    // 단계별 결과 (단계 이름 -> 소요시간/반복 횟수/오류)
+    private final Map<String, Map<String, Object>> steps = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    private long deadline;
+
+    public State getState() {
+        return state;
+    }
+
+    public Map<String, Map<String, Object>> getSteps() {
+        synchronized (steps) {
+            return new LinkedHashMap<>(steps);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        ConfigurableApplicationContext context = event.getApplicationContext();
+        if (!enabled) {
+            state = State.SKIPPED;
+            markUp(context);
+            return;
+        }
+
+        int port = context.getEnvironment().getProperty("local.server.port", Integer.class, 0);
+        Thread thread = new Thread(() -> run(context, port), "warm-up");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void run(ConfigurableApplicationContext context, int port) {
+        state = State.RUNNING;
+        long startedAt = System.currentTimeMillis();
+        deadline = startedAt + timeoutMs;
+        String token = jwtService.generateAccessToken(WARM_UP_USER, null, Boolean.FALSE);
+        try {
+            step("jwt", jwtIterations, this::warmUpJwt);
+            step("redis", redisIterations, iterations -> warmUpRedis(token, iterations));
+            // lazy-init이면 여기서 Vision 클라이언트 생성 (호출 없이 채널/인증만 준비)
+            step("vision-client", 1, iterations -> nsfwDetectionService.initializeClient() ? 1 : 0);
+            step("moderation", moderationCalls, this::warmUpModeration);
+            step("file", fileIterations, this::warmUpFiles);
+            step("http", port > 0 ? httpRequests : 0, iterations -> warmUpHttp(port, token, iterations));
+        } finally {
+            cleanUp();
+            state = State.COMPLETED;
+            log.info("워밍업 완료 - {}ms, 단계: {}", System.currentTimeMillis() - startedAt, getSteps());
+            markUp(context);
+        }
+    }
+
+    /**
+     * 단계 실행 (실패하거나 제한 시간을 넘겨도 다음 단계로 진행, 워밍업 실패로 기동을 막지는 않음)
+     */
+    private void step(String name, int iterations, WarmUpStep step) {
+        if (iterations <= 0) {
+            return;
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        long startedAt = System.nanoTime();
+        try {
+            if (System.currentTimeMillis() >= deadline) {
+                result.put("skipped", "timeout");
+                return;
+            }
+            result.put("iterations", step.run(iterations));
+        } catch (Exception e) {
+            log.warn("워밍업 단계 실패 - step: {}, error: {}", name, e.getMessage());
+            result.put("error", e.getMessage());
+        } finally {
+            result.put("durationMs", (System.nanoTime() - startedAt) / 1_000_000);
+            steps.put(name, result);
+        }
+    }
+
+    /**
+     * 서명/검증 경로 (토큰마다 새로 발급해 principal 캐시 적중 없이 실제 검증을 반복)
+     */
+    private int warmUpJwt(int iterations) {
+        int done = 0;
+        for (; done < iterations && !expired(); done++) {
+            String token = jwtService.generateAccessToken(WARM_UP_USER + "-" + done, null, Boolean.FALSE);
+            jwtService.parsePrincipal(token);
+        }
+        return done;
+    }
+
+    /**
+     * 인증 필터와 같은 Redis 조회 경로 (커넥션 수립, near-cache, 서킷 브레이커 지연 통계)
+     */
+    private int warmUpRedis(String token, int iterations) {
+        redisAuthService.storeAccessToken(WARM_UP_USER, token, timeoutMs);
+        int done = 0;
+        try {
+            for (; done < iterations && !expired(); done++) {
+                redisAuthService.getAccessToken(WARM_UP_USER);
+                redisAuthService.checkAccessToken(WARM_UP_USER, token);
+            }
+        } finally {
+            redisAuthService.deleteUserTokens(WARM_UP_USER);
+        }
+        return done;
+    }
+
+    /**
+     * Vision API 실제 호출 (gRPC 채널/인증 토큰 준비, 호출마다 과금되므로 기본값은 0)
+     */
+    private int warmUpModeration(int iterations) throws IOException {
+        Path image = Files.createTempFile("warmup", ".png");
+        try {
+            BufferedImage pixels = new BufferedImage(64, 64, BufferedImage.TYPE_INT_RGB);
+            ImageIO.write(pixels, "png", image.toFile());
+            int done = 0;
+            for (; done < iterations && !expired(); done++) {
+                nsfwDetectionService.isNSFW(new PathMultipartFile("file", "warmup.png", "image/png", image));
+            }
+            return done;
+        } finally {
+            Files.deleteIfExists(image);
+        }
+    }
+
+    /**
+     * 저장(임시 파일 → 원자적 이동)과 조회 경로
+     */
+    private int warmUpFiles(int iterations) throws IOException {
+        byte[] content = new byte[fileSize];
+        ThreadLocalRandom.current().nextBytes(content);
+        byte[] buffer = new byte[64 * 1024];
+        int done = 0;
+        for (; done < iterations && !expired(); done++) {
+            String fileLocation = WARM_UP_DIRECTORY + "/." + UUID.randomUUID() + ".bin";
+            fileStorageService.storeReplica(fileLocation, new ByteArrayInputStream(content));
+            Resource resource = fileStorageService.loadFileAsResource(fileLocation);
+            try (InputStream in = resource.getInputStream()) {
+                while (in.read(buffer) != -1) {
+                    // 끝까지 읽기만 한다
+                }
+            }
+            Files.deleteIfExists(fileStorageService.resolveLocation(fileLocation));
+        }
+        return done;
+    }
+
+    /**
+     * 자기 자신에게 디스플레이 요청 (필터 체인, 컨트롤러, 응답 쓰기 경로)
+     */
+    private int warmUpHttp(int port, String token, int iterations) throws IOException {
+        String fileLocation = WARM_UP_DIRECTORY + "/.display-" + UUID.randomUUID() + ".bin";
+        byte[] content = new byte[fileSize];
+        ThreadLocalRandom.current().nextBytes(content);
+        fileStorageService.storeReplica(fileLocation, new ByteArrayInputStream(content));
+
+        int done = 0;
+        for (; done < iterations && !expired(); done++) {
+            try {
+                webClient.get()
+                        .uri("http://localhost:{port}/api/v1/display?fileLocation={fileLocation}", port, fileLocation)
+                        .headers(headers -> {
+                            headers.set(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+                            clusterRing.applyPeerHeaders(headers);
+                        })
+                        .retrieve()
+                        .toBodilessEntity()
+                        .block(Duration.ofSeconds(10));
+            } catch (WebClientResponseException e) {
+                // 요청 제한(429) 등도 경로는 워밍업되므로 계속 진행
+                log.debug("워밍업 디스플레이 응답 - status: {}", e.getStatusCode());
+            }
+        }
+        return done;
+    }
+
+    private void cleanUp() {
+        try {
+            FileSystemUtils.deleteRecursively(fileStorageService.resolveLocation(WARM_UP_DIRECTORY));
+        } catch (IOException e) {
+            log.warn("워밍업 파일 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 트래픽 수신 가능 상태로 전환 (readiness, Eureka 상태 UP)
+     */
+    private void markUp(ConfigurableApplicationContext context) {
+        AvailabilityChangeEvent.publish(context, ReadinessState.ACCEPTING_TRAFFIC);
+        ApplicationInfoManager infoManager = applicationInfoManager.getIfAvailable();
+        if (infoManager != null) {
+            infoManager.setInstanceStatus(InstanceInfo.InstanceStatus.UP);
+            log.info("Eureka 상태 UP 전환 - instance: {}", infoManager.getInfo().getInstanceId());
+        }
+    }
+
+    private boolean expired() {
+        return System.currentTimeMillis() >= deadline;
+    }
+
+    @FunctionalInterface
+    private interface WarmUpStep {
+        int run(int iterations) throws Exception;
+    }
+}
@@ -0,0 +1,65 @@
+package com.codism.io;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ThrottledInputStreamTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void acquireWaitsUntilTheDeadlineDespiteEarlyWakeups() throws InterruptedException {
+        // 버스트 없이 초당 1000 bytes, 200 bytes는 200ms
+        ByteRateLimiter limiter = new ByteRateLimiter(1000, 0);
+        Thread waiter = Thread.currentThread();
+        Thread waker = new Thread(() -> {
+            // 대기 중인 스레드를 일찍 깨워도 예약 시각까지 다시 대기해야 함
+            for (int i = 0; i < 5; i++) {
+                LockSupport.parkNanos(20 * MILLIS);
+                LockSupport.unpark(waiter);
+            }
+        });
+
+        long startedAt = System.nanoTime();
+        waker.start();
+        limiter.acquire(200);
+        long elapsed = System.nanoTime() - startedAt;
+        waker.join();
+
+        assertThat(elapsed).isGreaterThanOrEqualTo(190 * MILLIS);
+    }
+
+    @Test
+    void skipIsThrottled() throws IOException {
+        ByteRateLimiter limiter = new ByteRateLimiter(1000, 0);
+
+        long startedAt = System.nanoTime();
+        try (ThrottledInputStream in = new ThrottledInputStream(new ByteArrayInputStream(new byte[1000]), limiter)) {
+            in.skipNBytes(200);
+        }
+
+        assertThat(System.nanoTime() - startedAt).isGreaterThanOrEqualTo(190 * MILLIS);
+    }
+
+    @Test
+    void interruptStopsWaiting() {
+        ByteRateLimiter limiter = new ByteRateLimiter(1000, 0);
+        Thread.currentThread().interrupt();
+        try {
+            long startedAt = System.nanoTime();
+            limiter.acquire(10_000);
+
+            // 10초를 기다리지 않고 인터럽트 상태를 유지한 채 반환
+            assertThat(System.nanoTime() - startedAt).isLessThan(TimeUnit.SECONDS.toNanos(1));
+            assertThat(Thread.currentThread().isInterrupted()).isTrue();
+        } finally {
+            Thread.interrupted();
+        }
+    }
+}
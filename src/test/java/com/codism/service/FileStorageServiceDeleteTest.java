@@ -0,0 +1,218 @@
+package com.codism.service;
+
+import com.codism.exception.CustomException;
+import com.codism.metrics.StorageMetrics;
+import com.codism.security.JwtPrincipal;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileStorageServiceDeleteTest {
+
+    @TempDir
+    Path uploadPath;
+
+    private FileReclaimService fileReclaimService;
+    private FileStorageService fileStorageService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StorageMetrics storageMetrics = new StorageMetrics(meterRegistry);
+        ClusterRing clusterRing = new ClusterRing(null, null, meterRegistry, false, "file-storage", 128, "");
+        ContentCompressionService contentCompressionService = new ContentCompressionService(meterRegistry, true, 1,
+                DataSize.ofKilobytes(1), new String[]{"txt"});
+        UploadAdmissionService uploadAdmissionService = new UploadAdmissionService(storageMetrics, meterRegistry, false,
+                DataSize.ofMegabytes(512), 16, 32, 1, 30, 0);
+
+        fileReclaimService = new FileReclaimService(new MockEnvironment(), uploadAdmissionService);
+        ReflectionTestUtils.setField(fileReclaimService, "uploadPath", uploadPath.toString());
+        ReflectionTestUtils.setField(fileReclaimService, "batchSize", 500);
+        ReflectionTestUtils.setField(fileReclaimService, "parallelism", 1);
+        fileReclaimService.init();
+
+        fileStorageService = new FileStorageService(
+                new JwtService("unitTestSecretKeyForFileStorageServiceDeleteTest", 3_600_000, 604_800_000, 100),
+                null,
+                fileReclaimService,
+                new BandwidthThrottleService(0, 0, 1.0),
+                storageMetrics,
+                null,
+                new FileEventLog(null, meterRegistry, "file:events", 100_000, 10_000),
+                clusterRing,
+                new ReplicationService(clusterRing, null, null, meterRegistry, contentCompressionService,
+                        uploadAdmissionService, fileReclaimService, uploadPath.toString(), 1, 1, 16, 3_600_000),
+                contentCompressionService,
+                uploadAdmissionService,
+                new StorageReservationLedger(meterRegistry, uploadPath.toString(), false,
+                        DataSize.ofGigabytes(1), false, DataSize.ofMegabytes(64)),
+                new MissingFileCache(meterRegistry, true, 1000, 60_000));
+        ReflectionTestUtils.setField(fileStorageService, "uploadPath", uploadPath.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        fileReclaimService.cleanup();
+    }
+
+    @Test
+    void deletesOwnFileIntoTrash() throws IOException {
+        Path file = createFile("alice/img/a.png");
+
+        fileStorageService.deleteFile(request("alice"), "alice/img/a.png");
+
+        assertThat(file).doesNotExist();
+        try (var trash = Files.list(uploadPath.resolve(FileReclaimService.TRASH_DIRECTORY))) {
+            assertThat(trash).hasSize(1);
+        }
+    }
+
+    @Test
+    void rejectsTraversalIntoAnotherUser() throws IOException {
+        Path file = createFile("bob/img/b.png");
+
+        assertForbidden(() -> fileStorageService.deleteFile(request("alice"), "alice/../bob/img/b.png"));
+        assertThat(file).exists();
+    }
+
+    @Test
+    void rejectsSiblingWithSamePrefix() throws IOException {
+        // 문자열 접두사로는 alice 소유처럼 보이는 경로
+        Path file = createFile("alice2/img/c.png");
+
+        assertForbidden(() -> fileStorageService.deleteFile(request("alice"), "alice2/img/c.png"));
+        assertThat(file).exists();
+    }
+
+    @Test
+    void rejectsUserRootItself() throws IOException {
+        Path file = createFile("alice/img/a.png");
+
+        assertForbidden(() -> fileStorageService.deleteFile(request("alice"), "alice/img/.."));
+        assertThat(file).exists();
+    }
+
+    @Test
+    void rejectsDirectoryThroughSingleDelete() throws IOException {
+        Path file = createFile("alice/img/a.png");
+
+        assertThatThrownBy(() -> fileStorageService.deleteFile(request("alice"), "alice/img"))
+                .isInstanceOfSatisfying(CustomException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThat(file).exists();
+    }
+
+    @Test
+    void rejectsUserCdThatEscapesTheRoot() throws IOException {
+        Path file = createFile("bob/img/b.png");
+
+        assertThatThrownBy(() -> fileStorageService.deleteFile(request(".."), "../bob/img/b.png"))
+                .isInstanceOf(CustomException.class);
+        assertThat(file).exists();
+    }
+
+    @Test
+    void bulkDeleteRejectsDivisionWithPathSeparators() throws IOException {
+        Path file = createFile("bob/img/b.png");
+
+        for (String division : List.of("../bob", "img/../../bob", "..", "img\\..\\..\\bob")) {
+            assertThatThrownBy(() -> fileStorageService.deleteFiles(request("alice"), null, division))
+                    .isInstanceOfSatisfying(CustomException.class,
+                            e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+        }
+        assertThat(file).exists();
+    }
+
+    @Test
+    void bulkDeleteRemovesOwnDivision() throws IOException {
+        Path file = createFile("alice/img/a.png");
+
+        Map<String, Object> result = fileStorageService.deleteFiles(request("alice"), null, "img");
+
+        assertThat(result.get("deleted")).isEqualTo(List.of("alice/img"));
+        assertThat(file).doesNotExist();
+    }
+
+    @Test
+    void bulkDeleteRejectsAnotherUsersFile() throws IOException {
+        Path own = createFile("alice/img/a.png");
+        Path other = createFile("bob/img/b.png");
+
+        assertForbidden(() -> fileStorageService.deleteFiles(request("alice"),
+                List.of("alice/img/a.png", "alice/../bob/img/b.png"), null));
+        // 모든 경로를 먼저 확인하므로 앞선 본인 파일도 삭제되지 않음
+        assertThat(other).exists();
+        assertThat(own).exists();
+    }
+
+    @Test
+    void bulkDeleteChecksLocationsBeforeDeletingDivision() throws IOException {
+        Path own = createFile("alice/img/a.png");
+        Path other = createFile("bob/img/b.png");
+
+        assertForbidden(() -> fileStorageService.deleteFiles(request("alice"),
+                List.of("alice/../bob/img/b.png"), "img"));
+        // division도 파일 위치 확인이 끝나기 전에는 삭제하지 않음
+        assertThat(own).exists();
+        assertThat(other).exists();
+        assertTrashEmpty();
+    }
+
+    @Test
+    void bulkDeleteRejectsDirectoryBeforeDeletingAnything() throws IOException {
+        Path own = createFile("alice/img/a.png");
+        createFile("alice/docs/d.txt");
+
+        assertThatThrownBy(() -> fileStorageService.deleteFiles(request("alice"),
+                List.of("alice/img/a.png", "alice/docs"), null))
+                .isInstanceOfSatisfying(CustomException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThat(own).exists();
+        assertTrashEmpty();
+    }
+
+    private void assertTrashEmpty() throws IOException {
+        try (var trash = Files.list(uploadPath.resolve(FileReclaimService.TRASH_DIRECTORY))) {
+            assertThat(trash).isEmpty();
+        }
+    }
+
+    private Path createFile(String location) throws IOException {
+        Path file = uploadPath.resolve(location);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, location);
+        return file;
+    }
+
+    private MockHttpServletRequest request(String userCd) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(JwtPrincipal.REQUEST_ATTRIBUTE, new JwtPrincipal("digest", userCd, null, Boolean.FALSE,
+                "ACCESS", new Date(System.currentTimeMillis() + 60_000)));
+        return request;
+    }
+
+    private void assertForbidden(ThrowingCallable call) {
+        assertThatThrownBy(call)
+                .isInstanceOfSatisfying(CustomException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.FORBIDDEN));
+    }
+}
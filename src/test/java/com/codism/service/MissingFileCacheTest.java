@@ -0,0 +1,72 @@
+package com.codism.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MissingFileCacheTest {
+
+    private final MissingFileCache cache = new MissingFileCache(new SimpleMeterRegistry(), true, 1000, 60_000);
+
+    @Test
+    void remembersMissingLocationUntilStored() {
+        cache.markMissing("user/a.png", cache.epoch());
+        assertThat(cache.isMissing("user/a.png")).isTrue();
+
+        cache.stored("user/a.png");
+        assertThat(cache.isMissing("user/a.png")).isFalse();
+    }
+
+    @Test
+    void storeDuringLookupPreventsRecording() {
+        // 파일 시스템 확인 직전에 epoch를 읽고, 확인하는 사이에 같은 위치가 저장된 경우
+        long epoch = cache.epoch();
+        cache.stored("user/a.png");
+        cache.markMissing("user/a.png", epoch);
+
+        assertThat(cache.isMissing("user/a.png")).isFalse();
+    }
+
+    @Test
+    void storeOfAnotherLocationAlsoPreventsRecording() {
+        // epoch는 위치별이 아니므로 다른 위치의 저장도 기록을 막음 (보수적으로 놓침)
+        long epoch = cache.epoch();
+        cache.stored("user/b.png");
+        cache.markMissing("user/a.png", epoch);
+
+        assertThat(cache.isMissing("user/a.png")).isFalse();
+    }
+
+    @Test
+    void clusterMissIsInvalidatedByCreatedElsewhere() {
+        long epoch = cache.epoch();
+        cache.markMissingInCluster("user/a.png", epoch);
+        assertThat(cache.isMissingInCluster("user/a.png")).isTrue();
+        // 로컬 기록과는 별개
+        assertThat(cache.isMissing("user/a.png")).isFalse();
+
+        // 다른 노드의 생성 이벤트
+        cache.stored("user/a.png");
+        assertThat(cache.isMissingInCluster("user/a.png")).isFalse();
+    }
+
+    @Test
+    void createdEventDuringPeerFanOutPreventsClusterRecord() {
+        long epoch = cache.epoch();
+        cache.stored("user/a.png");
+        cache.markMissingInCluster("user/a.png", epoch);
+
+        assertThat(cache.isMissingInCluster("user/a.png")).isFalse();
+    }
+
+    @Test
+    void disabledCacheNeverReportsMissing() {
+        MissingFileCache disabled = new MissingFileCache(new SimpleMeterRegistry(), false, 1000, 60_000);
+        disabled.markMissing("user/a.png", disabled.epoch());
+        disabled.markMissingInCluster("user/a.png", disabled.epoch());
+
+        assertThat(disabled.isMissing("user/a.png")).isFalse();
+        assertThat(disabled.isMissingInCluster("user/a.png")).isFalse();
+    }
+}
@@ -0,0 +1,118 @@
+package com.codism.service;
+
+import io.netty.resolver.AddressResolver;
+import io.netty.util.concurrent.DefaultEventExecutor;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PublicAddressResolverGroupTest {
+
+    private static final String HOST = "files.example.com";
+
+    @Test
+    void rebindingToInternalAddressIsBlockedAtConnectTime() throws UnknownHostException {
+        // DNS rebinding 대역: 첫 조회는 공인 주소, 같은 호스트의 다음 조회(재연결, 리다이렉트)는 루프백
+        InetAddress publicAddress = InetAddress.getByAddress(HOST, new byte[]{93, (byte) 184, (byte) 216, 34});
+        InetAddress loopback = InetAddress.getByAddress(HOST, new byte[]{127, 0, 0, 1});
+        AtomicInteger lookups = new AtomicInteger();
+        PublicAddressResolverGroup group = new PublicAddressResolverGroup(
+                host -> new InetAddress[]{lookups.getAndIncrement() == 0 ? publicAddress : loopback});
+
+        EventExecutor executor = new DefaultEventExecutor();
+        try (group) {
+            AddressResolver<InetSocketAddress> resolver = group.getResolver(executor);
+
+            Future<InetSocketAddress> first = resolver.resolve(InetSocketAddress.createUnresolved(HOST, 443)).awaitUninterruptibly();
+            assertThat(first.isSuccess()).isTrue();
+            assertThat(first.getNow().getAddress()).isEqualTo(publicAddress);
+            assertThat(first.getNow().getPort()).isEqualTo(443);
+
+            Future<InetSocketAddress> second = resolver.resolve(InetSocketAddress.createUnresolved(HOST, 443)).awaitUninterruptibly();
+            assertThat(second.isSuccess()).isFalse();
+            assertThat(second.cause()).isInstanceOf(PublicAddressResolverGroup.BlockedAddressException.class);
+        } finally {
+            executor.shutdownGracefully(0, 0, TimeUnit.SECONDS);
+        }
+        assertThat(lookups).hasValue(2);
+    }
+
+    @Test
+    void anyInternalAnswerBlocksTheHost() throws UnknownHostException {
+        InetAddress publicAddress = InetAddress.getByAddress(HOST, new byte[]{8, 8, 8, 8});
+        InetAddress metadata = InetAddress.getByAddress(HOST, new byte[]{(byte) 169, (byte) 254, (byte) 169, (byte) 254});
+        PublicAddressResolverGroup group = new PublicAddressResolverGroup(
+                host -> new InetAddress[]{publicAddress, metadata});
+
+        assertThatThrownBy(() -> group.resolvePublic(HOST))
+                .isInstanceOf(PublicAddressResolverGroup.BlockedAddressException.class);
+    }
+
+    @Test
+    void emptyAnswerIsUnknownHost() {
+        PublicAddressResolverGroup group = new PublicAddressResolverGroup(host -> new InetAddress[0]);
+
+        assertThatThrownBy(() -> group.resolvePublic(HOST))
+                .isInstanceOf(UnknownHostException.class)
+                .isNotInstanceOf(PublicAddressResolverGroup.BlockedAddressException.class);
+    }
+
+    @Test
+    void internalIpv4Ranges() throws UnknownHostException {
+        for (String address : new String[]{"0.0.0.0", "0.1.2.3", "127.0.0.1", "10.1.2.3", "172.16.0.1",
+                "192.168.1.1", "100.64.0.1", "169.254.169.254", "224.0.0.1", "240.0.0.1", "255.255.255.255"}) {
+            assertThat(PublicAddressResolverGroup.isInternal(InetAddress.getByName(address)))
+                    .as(address).isTrue();
+        }
+        for (String address : new String[]{"8.8.8.8", "93.184.216.34", "100.128.0.1", "172.32.0.1"}) {
+            assertThat(PublicAddressResolverGroup.isInternal(InetAddress.getByName(address)))
+                    .as(address).isFalse();
+        }
+    }
+
+    @Test
+    void internalIpv6Ranges() throws UnknownHostException {
+        for (String address : new String[]{"::", "::1", "fe80::1", "fc00::1", "fd12:3456::1", "ff02::1"}) {
+            assertThat(PublicAddressResolverGroup.isInternal(InetAddress.getByName(address)))
+                    .as(address).isTrue();
+        }
+        assertThat(PublicAddressResolverGroup.isInternal(InetAddress.getByName("2001:4860:4860::8888"))).isFalse();
+    }
+
+    @Test
+    void ipv4EmbeddedInIpv6IsJudgedByTheInnerAddress() throws UnknownHostException {
+        // InetAddress.getByName은 ::ffff:a.b.c.d를 Inet4Address로 바꾸므로 바이트로 직접 생성
+        assertThat(PublicAddressResolverGroup.isInternal(ipv6(true, 127, 0, 0, 1))).isTrue();
+        assertThat(PublicAddressResolverGroup.isInternal(ipv6(true, 0, 0, 0, 0))).isTrue();
+        assertThat(PublicAddressResolverGroup.isInternal(ipv6(true, 10, 0, 0, 1))).isTrue();
+        assertThat(PublicAddressResolverGroup.isInternal(ipv6(false, 169, 254, 169, 254))).isTrue();
+        assertThat(PublicAddressResolverGroup.isInternal(ipv6(true, 8, 8, 8, 8))).isFalse();
+        assertThat(PublicAddressResolverGroup.isInternal(ipv6(false, 8, 8, 8, 8))).isFalse();
+    }
+
+    /**
+     * ::ffff:a.b.c.d (mapped) 또는 ::a.b.c.d (compatible)
+     */
+    private static Inet6Address ipv6(boolean mapped, int a, int b, int c, int d) throws UnknownHostException {
+        byte[] bytes = new byte[16];
+        if (mapped) {
+            bytes[10] = (byte) 0xff;
+            bytes[11] = (byte) 0xff;
+        }
+        bytes[12] = (byte) a;
+        bytes[13] = (byte) b;
+        bytes[14] = (byte) c;
+        bytes[15] = (byte) d;
+        return Inet6Address.getByAddress(null, bytes, null);
+    }
+}
@@ -0,0 +1,124 @@
+package com.codism.service;
+
+import com.codism.exception.RedisUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RedisCircuitBreakerTest {
+
+    private static final long NEVER_RETRY_MS = 60_000;
+
+    @Test
+    void opensWhenFailureRateExceedsThreshold() {
+        RedisCircuitBreaker breaker = breaker(NEVER_RETRY_MS, 2);
+
+        fail(breaker);
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+        fail(breaker);
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+
+        // OPEN 동안에는 Redis를 호출하지 않고 즉시 실패
+        AtomicInteger calls = new AtomicInteger();
+        assertThatThrownBy(() -> breaker.execute(calls::incrementAndGet))
+                .isInstanceOf(RedisUnavailableException.class);
+        assertThat(calls).hasValue(0);
+        assertThat(breaker.isCallPermitted()).isFalse();
+    }
+
+    @Test
+    void closesAfterAllHalfOpenTrialsSucceed() {
+        RedisCircuitBreaker breaker = breaker(0, 2);
+        open(breaker);
+
+        breaker.execute(() -> "ok");
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.HALF_OPEN);
+        breaker.execute(() -> "ok");
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void reopensWhenHalfOpenTrialFails() {
+        RedisCircuitBreaker breaker = breaker(0, 2);
+        open(breaker);
+
+        breaker.execute(() -> "ok");
+        fail(breaker);
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void rejectsOnceHalfOpenPermitsAreTaken() {
+        RedisCircuitBreaker breaker = breaker(0, 1);
+        open(breaker);
+
+        // 시험 호출이 끝나기 전에 들어온 호출은 거부
+        assertThatThrownBy(() -> breaker.execute(() -> breaker.execute(() -> "nested")))
+                .isInstanceOf(RedisUnavailableException.class);
+    }
+
+    @Test
+    void nonRedisExceptionReturnsHalfOpenPermit() {
+        RedisCircuitBreaker breaker = breaker(0, 1);
+        open(breaker);
+
+        assertThatThrownBy(() -> breaker.execute(() -> {
+            throw new IllegalStateException("응답 변환 실패");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.HALF_OPEN);
+
+        // 반환된 허용으로 다음 시험 호출이 가능해야 함
+        breaker.execute(() -> "ok");
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void cancelledMonoReturnsHalfOpenPermit() {
+        RedisCircuitBreaker breaker = breaker(0, 1);
+        open(breaker);
+
+        Disposable subscription = breaker.executeMono(Mono::never).subscribe();
+        subscription.dispose();
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.HALF_OPEN);
+
+        assertThat(breaker.executeMono(() -> Mono.just("ok")).block()).isEqualTo("ok");
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void monoRedisErrorReopens() {
+        RedisCircuitBreaker breaker = breaker(0, 2);
+        open(breaker);
+
+        assertThatThrownBy(() -> breaker.executeMono(() -> Mono.error(new RedisConnectionFailureException("down"))).block())
+                .isInstanceOf(RedisConnectionFailureException.class);
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+
+    /**
+     * 창 4건, 최소 2건, 실패율 50%에서 OPEN
+     */
+    private RedisCircuitBreaker breaker(long openDurationMs, int halfOpenPermits) {
+        return new RedisCircuitBreaker(new SimpleMeterRegistry(), 4, 2, 0.5, openDurationMs, halfOpenPermits,
+                50, 5000, 3.0);
+    }
+
+    private void open(RedisCircuitBreaker breaker) {
+        fail(breaker);
+        fail(breaker);
+        assertThat(breaker.getState()).isEqualTo(RedisCircuitBreaker.State.OPEN);
+    }
+
+    private void fail(RedisCircuitBreaker breaker) {
+        assertThatThrownBy(() -> breaker.execute(() -> {
+            throw new RedisConnectionFailureException("down");
+        })).isInstanceOf(RedisConnectionFailureException.class);
+    }
+}
@@ -0,0 +1,262 @@
+package com.codism.service;
+
+import com.codism.config.WebClientConfig;
+import com.codism.config.error.entity.ApiException;
+import com.codism.config.error.type.ErrorCode;
+import com.codism.exception.CustomException;
+import com.codism.metrics.StorageMetrics;
+import com.codism.model.dto.UploadProgressEvent;
+import com.codism.security.JwtPrincipal;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpStatus;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 로컬 HTTP 서버를 원격 서버 대역으로 사용 (allow-private-hosts)
+ */
+class RemoteFileImportServiceTest {
+
+    private static final byte[] PNG = bytes(new int[]{0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n', 0, 0, 0, 13}, 2048);
+    private static final byte[] JPEG = bytes(new int[]{0xff, 0xd8, 0xff, 0xe0}, 512);
+
+    @TempDir
+    Path uploadPath;
+
+    private HttpServer server;
+    private JwtService jwtService;
+    private FileReclaimService fileReclaimService;
+    private FileStorageService fileStorageService;
+    private StorageReservationLedger storageReservationLedger;
+    private final List<UploadProgressEvent> events = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.start();
+
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        StorageMetrics storageMetrics = new StorageMetrics(meterRegistry);
+        ClusterRing clusterRing = new ClusterRing(null, null, meterRegistry, false, "file-storage", 128, "");
+        ContentCompressionService contentCompressionService = new ContentCompressionService(meterRegistry, true, 1,
+                DataSize.ofKilobytes(1), new String[]{"txt"});
+        UploadAdmissionService uploadAdmissionService = new UploadAdmissionService(storageMetrics, meterRegistry, false,
+                DataSize.ofMegabytes(512), 16, 32, 1, 30, 0);
+
+        fileReclaimService = new FileReclaimService(new MockEnvironment(), uploadAdmissionService);
+        ReflectionTestUtils.setField(fileReclaimService, "uploadPath", uploadPath.toString());
+        ReflectionTestUtils.setField(fileReclaimService, "batchSize", 500);
+        ReflectionTestUtils.setField(fileReclaimService, "parallelism", 1);
+        fileReclaimService.init();
+
+        storageReservationLedger = new StorageReservationLedger(meterRegistry, uploadPath.toString(), true,
+                DataSize.ofBytes(0), false, DataSize.ofMegabytes(64));
+        storageReservationLedger.init();
+
+        // 진행 알림은 채널에 전달된 이벤트로 확인
+        SimpMessagingTemplate messagingTemplate = new SimpMessagingTemplate((Message<?> message, long timeout) -> {
+            events.add((UploadProgressEvent) message.getPayload());
+            return true;
+        });
+
+        jwtService = new JwtService("unitTestSecretKeyForRemoteFileImportServiceTest", 3_600_000, 604_800_000, 100);
+        fileStorageService = new FileStorageService(
+                jwtService,
+                new NSFWDetectionService(storageMetrics, null),
+                fileReclaimService,
+                new BandwidthThrottleService(0, 0, 1.0),
+                storageMetrics,
+                new UploadProgressPublisher(messagingTemplate),
+                new FileEventLog(null, meterRegistry, "file:events", 100_000, 10_000),
+                clusterRing,
+                new ReplicationService(clusterRing, null, null, meterRegistry, contentCompressionService,
+                        uploadAdmissionService, fileReclaimService, uploadPath.toString(), 1, 1, 16, 3_600_000),
+                contentCompressionService,
+                uploadAdmissionService,
+                storageReservationLedger,
+                new MissingFileCache(meterRegistry, true, 1000, 60_000));
+        ReflectionTestUtils.setField(fileStorageService, "uploadPath", uploadPath.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+        fileReclaimService.cleanup();
+    }
+
+    @Test
+    void importsImageIntoDivision() throws Exception {
+        // 선언된 형식보다 매직 바이트 판별이 우선
+        serve("/img/cat", 200, "application/octet-stream", PNG, false);
+
+        Map<String, Object> result = service(true, DataSize.ofKilobytes(64)).importFromUrl(request(), "img", url("/img/cat"));
+
+        String fileLocation = (String) result.get("fileLocation");
+        assertThat(fileLocation).startsWith("alice/img/").endsWith("cat.png");
+        assertThat(uploadPath.resolve(fileLocation)).hasBinaryContent(PNG);
+        assertThat(result.get("size")).isEqualTo((long) PNG.length);
+        assertThat(result.get("contentType")).isEqualTo("image/png");
+        assertThat(result.get("sha256")).isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(PNG)));
+        assertThat(events).extracting(UploadProgressEvent::getStatus).contains(UploadProgressEvent.Status.STORED);
+        assertNothingStaged();
+    }
+
+    @Test
+    void followsRedirects() throws IOException {
+        redirect("/old", "/img/dog.jpg");
+        serve("/img/dog.jpg", 200, "text/html", JPEG, true);
+
+        Map<String, Object> result = service(true, DataSize.ofKilobytes(64)).importFromUrl(request(), "img", url("/old"));
+
+        assertThat(result.get("sourceUrl")).isEqualTo(url("/img/dog.jpg"));
+        assertThat(result.get("contentType")).isEqualTo("image/jpeg");
+        assertThat(uploadPath.resolve((String) result.get("fileLocation"))).hasBinaryContent(JPEG);
+    }
+
+    @Test
+    void rejectsTooManyRedirects() throws IOException {
+        redirect("/loop", "/loop");
+
+        assertThatThrownBy(() -> service(true, DataSize.ofKilobytes(64)).importFromUrl(request(), "img", url("/loop")))
+                .isInstanceOfSatisfying(CustomException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertNothingStaged();
+    }
+
+    @Test
+    void rejectsDeclaredLengthOverLimit() throws IOException {
+        serve("/big.png", 200, "image/png", PNG, false);
+
+        assertApiError(ErrorCode.PAYLOAD_TOO_LARGE,
+                () -> service(true, DataSize.ofKilobytes(1)).importFromUrl(request(), "img", url("/big.png")));
+        assertNothingStaged();
+    }
+
+    @Test
+    void rejectsStreamedBodyOverLimit() throws IOException {
+        // Content-Length 없이(chunked) 보내면 받는 도중에 중단
+        serve("/big.png", 200, "image/png", PNG, true);
+
+        assertApiError(ErrorCode.PAYLOAD_TOO_LARGE,
+                () -> service(true, DataSize.ofKilobytes(1)).importFromUrl(request(), "img", url("/big.png")));
+        assertNothingStaged();
+    }
+
+    @Test
+    void rejectsNonImage() throws IOException {
+        serve("/notes.txt", 200, "text/plain", "hello".getBytes(StandardCharsets.UTF_8), false);
+
+        assertApiError(ErrorCode.UNSUPPORTED_MEDIA_TYPE,
+                () -> service(true, DataSize.ofKilobytes(64)).importFromUrl(request(), "img", url("/notes.txt")));
+        assertNothingStaged();
+    }
+
+    @Test
+    void rejectsDivisionOutsideUserRoot() {
+        assertThatThrownBy(() -> service(true, DataSize.ofKilobytes(64)).importFromUrl(request(), "../bob", url("/img/cat")))
+                .isInstanceOfSatisfying(CustomException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST));
+        assertThat(uploadPath.resolve("bob")).doesNotExist();
+    }
+
+    @Test
+    void refusesLoopbackUnlessPrivateHostsAllowed() throws IOException {
+        serve("/img/cat", 200, "image/png", PNG, false);
+
+        assertThatThrownBy(() -> service(false, DataSize.ofKilobytes(64)).importFromUrl(request(), "img", url("/img/cat")))
+                .isInstanceOfSatisfying(CustomException.class,
+                        e -> assertThat(e.getStatus()).isEqualTo(HttpStatus.FORBIDDEN));
+        assertNothingStaged();
+    }
+
+    private RemoteFileImportService service(boolean allowPrivateHosts, DataSize maxSize) {
+        return new RemoteFileImportService(new WebClientConfig().webClient(), new PublicAddressResolverGroup(),
+                jwtService, fileStorageService, storageReservationLedger, maxSize, 10_000, 3, allowPrivateHosts, true);
+    }
+
+    private void serve(String path, int status, String contentType, byte[] body, boolean chunked) {
+        server.createContext(path, exchange -> {
+            exchange.getResponseHeaders().set("Content-Type", contentType);
+            exchange.sendResponseHeaders(status, chunked ? 0 : body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+    }
+
+    private void redirect(String path, String location) {
+        server.createContext(path, exchange -> {
+            exchange.getResponseHeaders().set("Location", location);
+            exchange.sendResponseHeaders(302, -1);
+            exchange.close();
+        });
+    }
+
+    private String url(String path) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + path;
+    }
+
+    /**
+     * 실패한 가져오기는 임시 파일과 예약을 남기지 않음
+     */
+    private void assertNothingStaged() throws IOException {
+        assertThat(storageReservationLedger.getReserved()).isZero();
+        Path division = uploadPath.resolve("alice/img");
+        if (Files.isDirectory(division)) {
+            try (var files = Files.list(division)) {
+                assertThat(files).noneMatch(file -> file.getFileName().toString().endsWith(".part"));
+            }
+        }
+    }
+
+    private void assertApiError(ErrorCode errorCode, ThrowingCallable call) {
+        assertThatThrownBy(call)
+                .isInstanceOfSatisfying(ApiException.class, e -> assertThat(e.getErrorCode()).isEqualTo(errorCode));
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(JwtPrincipal.REQUEST_ATTRIBUTE, new JwtPrincipal("digest", "alice", null, Boolean.FALSE,
+                "ACCESS", new Date(System.currentTimeMillis() + 60_000)));
+        return request;
+    }
+
+    /**
+     * 시그니처 뒤를 채워 length 바이트로 만든 파일 내용
+     */
+    private static byte[] bytes(int[] signature, int length) {
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = (byte) (i < signature.length ? signature[i] : i);
+        }
+        return bytes;
+    }
+}
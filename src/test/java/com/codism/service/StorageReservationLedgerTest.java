@@ -0,0 +1,155 @@
+package com.codism.service;
+
+import com.codism.exception.InsufficientStorageException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StorageReservationLedgerTest {
+
+    @TempDir
+    Path uploadPath;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void reservationShrinksAsBytesAreWritten() throws IOException {
+        StorageReservationLedger ledger = ledger(false);
+        byte[] content = new byte[300 * 1024];
+        AtomicLong reservedDuringWrite = new AtomicLong(-1);
+
+        try (StorageReservationLedger.Reservation reservation = ledger.reserve(content.length)) {
+            assertThat(ledger.getReserved()).isEqualTo(content.length);
+            // 본문을 절반쯤 읽었을 때의 예약 합계 기록
+            InputStream in = new FilterInputStream(new ByteArrayInputStream(content)) {
+                private long read;
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    if (read >= content.length / 2 && reservedDuringWrite.get() < 0) {
+                        reservedDuringWrite.set(ledger.getReserved());
+                    }
+                    int n = super.read(buffer, offset, length);
+                    read += Math.max(n, 0);
+                    return n;
+                }
+            };
+            long written = ledger.write(reservation, in, uploadPath.resolve("file.bin"));
+
+            assertThat(written).isEqualTo(content.length);
+            assertThat(reservedDuringWrite.get()).isLessThanOrEqualTo(content.length / 2);
+            // 다 기록하면 닫기 전에도 예약이 남지 않음
+            assertThat(ledger.getReserved()).isZero();
+        }
+        assertThat(ledger.getReserved()).isZero();
+        assertThat(Files.size(uploadPath.resolve("file.bin"))).isEqualTo(content.length);
+    }
+
+    @Test
+    void closeReleasesTheUnwrittenRemainder() throws IOException {
+        StorageReservationLedger ledger = ledger(false);
+
+        StorageReservationLedger.Reservation reservation = ledger.reserve(1000);
+        ledger.write(reservation, new ByteArrayInputStream(new byte[300]), uploadPath.resolve("short.bin"));
+        assertThat(ledger.getReserved()).isEqualTo(700);
+
+        reservation.close();
+        assertThat(ledger.getReserved()).isZero();
+        // 두 번 닫아도 음수가 되지 않음
+        reservation.close();
+        assertThat(ledger.getReserved()).isZero();
+    }
+
+    @Test
+    void concurrentReservationsAreAddedUp() throws IOException {
+        StorageReservationLedger ledger = ledger(false);
+
+        try (StorageReservationLedger.Reservation first = ledger.reserve(100);
+             StorageReservationLedger.Reservation second = ledger.reserve(200)) {
+            assertThat(first.size()).isEqualTo(100);
+            assertThat(second.size()).isEqualTo(200);
+            assertThat(ledger.getReserved()).isEqualTo(300);
+        }
+        assertThat(ledger.getReserved()).isZero();
+    }
+
+    @Test
+    void rejectsWhenFreeSpaceWouldDropBelowMinimum() throws IOException {
+        StorageReservationLedger ledger = new StorageReservationLedger(meterRegistry, uploadPath.toString(), true,
+                DataSize.ofBytes(Long.MAX_VALUE / 2), false, DataSize.ofMegabytes(64));
+        ledger.init();
+
+        assertThatThrownBy(() -> ledger.reserve(1))
+                .isInstanceOf(InsufficientStorageException.class);
+        assertThat(ledger.getReserved()).isZero();
+    }
+
+    @Test
+    void preallocatedFileIsTruncatedToWrittenSize() throws IOException {
+        StorageReservationLedger ledger = ledger(true);
+        Path target = uploadPath.resolve("short.bin");
+
+        try (StorageReservationLedger.Reservation reservation = ledger.reserve(1000)) {
+            long written = ledger.write(reservation, new ByteArrayInputStream(new byte[300]), target);
+
+            assertThat(written).isEqualTo(300);
+            // 선할당해도 예약은 기록한 만큼만 줄어듦
+            assertThat(ledger.getReserved()).isEqualTo(700);
+        }
+        assertThat(Files.size(target)).isEqualTo(300);
+        assertThat(preallocations("success")).isEqualTo(1);
+    }
+
+    @Test
+    void preallocatedFileKeepsFullContent() throws IOException {
+        StorageReservationLedger ledger = ledger(true);
+        Path target = uploadPath.resolve("full.bin");
+        byte[] content = new byte[200 * 1024];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+
+        try (StorageReservationLedger.Reservation reservation = ledger.reserve(content.length)) {
+            ledger.write(reservation, new ByteArrayInputStream(content), target);
+        }
+        // 미리 늘린 마지막 바이트도 실제 내용으로 덮어씀
+        assertThat(target).hasBinaryContent(content);
+    }
+
+    @Test
+    void smallFilesAreNotPreallocated() throws IOException {
+        StorageReservationLedger ledger = new StorageReservationLedger(meterRegistry, uploadPath.toString(), true,
+                DataSize.ofBytes(0), true, DataSize.ofKilobytes(1));
+        ledger.init();
+
+        try (StorageReservationLedger.Reservation reservation = ledger.reserve(16)) {
+            ledger.write(reservation, new ByteArrayInputStream(new byte[16]), uploadPath.resolve("small.bin"));
+        }
+        assertThat(preallocations("success")).isZero();
+    }
+
+    private StorageReservationLedger ledger(boolean preallocate) throws IOException {
+        StorageReservationLedger ledger = new StorageReservationLedger(meterRegistry, uploadPath.toString(), true,
+                DataSize.ofBytes(0), preallocate, DataSize.ofBytes(1));
+        ledger.init();
+        return ledger;
+    }
+
+    private double preallocations(String outcome) {
+        var counter = meterRegistry.find("storage.preallocation").tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
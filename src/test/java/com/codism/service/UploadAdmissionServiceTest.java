@@ -0,0 +1,109 @@
+package com.codism.service;
+
+import com.codism.metrics.StorageMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadAdmissionServiceTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void diskRetryAfterIsExcessTimesAverageWriteOverSlots() {
+        UploadAdmissionService service = service(1000, 2, 32, 1, 30);
+        // 평균 디스크 쓰기 4초
+        service.diskWriteStarted();
+        service.diskWriteFinished(4 * SECOND);
+        service.diskWriteStarted();
+        service.diskWriteStarted();
+
+        // 초과 1건 x 4초 / 2슬롯 = 2초
+        UploadAdmissionService.Admission admission = service.tryAdmit(10);
+        assertThat(admission.admitted()).isFalse();
+        assertThat(admission.reason()).isEqualTo(UploadAdmissionService.REASON_DISK);
+        assertThat(admission.retryAfterSeconds()).isEqualTo(2);
+    }
+
+    @Test
+    void moderationRetryAfterRoundsUp() {
+        UploadAdmissionService service = service(1000, 16, 2, 1, 30);
+        service.moderationStarted();
+        service.moderationFinished(3 * SECOND);
+        service.moderationStarted();
+        service.moderationStarted();
+        service.moderationStarted();
+
+        // 초과 2건 x 3초 / 2슬롯 = 3초
+        UploadAdmissionService.Admission admission = service.tryAdmit(10);
+        assertThat(admission.reason()).isEqualTo(UploadAdmissionService.REASON_MODERATION);
+        assertThat(admission.retryAfterSeconds()).isEqualTo(3);
+
+        // 초과 1건이면 1.5초 -> 2초로 올림
+        service.moderationFinished(3 * SECOND);
+        assertThat(service.tryAdmit(10).retryAfterSeconds()).isEqualTo(2);
+    }
+
+    @Test
+    void bytesRetryAfterUsesObservedThroughput() {
+        UploadAdmissionService service = service(100, 16, 32, 1, 30);
+        // 업로드당 100 bytes/s
+        assertThat(service.tryAdmit(100).admitted()).isTrue();
+        service.release(100, SECOND);
+
+        assertThat(service.tryAdmit(80).admitted()).isTrue();
+        // 80 + 320 - 100 = 300 bytes 초과, 100 bytes/s x 처리 중 1건 = 3초
+        UploadAdmissionService.Admission admission = service.tryAdmit(320);
+        assertThat(admission.admitted()).isFalse();
+        assertThat(admission.reason()).isEqualTo(UploadAdmissionService.REASON_BYTES);
+        assertThat(admission.retryAfterSeconds()).isEqualTo(3);
+    }
+
+    @Test
+    void bytesRetryAfterFallsBackToMaximumWithoutHistory() {
+        UploadAdmissionService service = service(100, 16, 32, 1, 30);
+        assertThat(service.tryAdmit(80).admitted()).isTrue();
+
+        assertThat(service.tryAdmit(80).retryAfterSeconds()).isEqualTo(30);
+    }
+
+    @Test
+    void retryAfterIsClampedToConfiguredRange() {
+        UploadAdmissionService service = service(1000, 1, 32, 5, 10);
+        service.diskWriteStarted();
+        service.diskWriteFinished(SECOND / 10);
+        service.diskWriteStarted();
+        // 0.1초지만 최소 5초
+        assertThat(service.tryAdmit(10).retryAfterSeconds()).isEqualTo(5);
+
+        service.diskWriteFinished(1000 * SECOND);
+        service.diskWriteStarted();
+        // 이동 평균이 크게 늘어도 최대 10초
+        assertThat(service.tryAdmit(10).retryAfterSeconds()).isEqualTo(10);
+    }
+
+    @Test
+    void admitsOversizedUploadWhenIdle() {
+        UploadAdmissionService service = service(100, 16, 32, 1, 30);
+
+        assertThat(service.tryAdmit(1000).admitted()).isTrue();
+        assertThat(service.tryAdmit(1).admitted()).isFalse();
+
+        service.release(1000, SECOND);
+        assertThat(service.tryAdmit(1).admitted()).isTrue();
+    }
+
+    private UploadAdmissionService service(long maxInflightBytes, int maxDiskWrites, int maxModerations,
+                                           long minRetryAfterSeconds, long maxRetryAfterSeconds) {
+        return new UploadAdmissionService(new StorageMetrics(meterRegistry), meterRegistry, true,
+                DataSize.ofBytes(maxInflightBytes), maxDiskWrites, maxModerations,
+                minRetryAfterSeconds, maxRetryAfterSeconds, 0);
+    }
+}
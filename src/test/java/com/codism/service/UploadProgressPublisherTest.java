@@ -0,0 +1,72 @@
+package com.codism.service;
+
+import com.codism.model.dto.UploadProgressEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UploadProgressPublisherTest {
+
+    private final List<Message<?>> sent = new CopyOnWriteArrayList<>();
+    private UploadProgressPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        publisher = new UploadProgressPublisher(new SimpMessagingTemplate((Message<?> message, long timeout) -> {
+            sent.add(message);
+            return true;
+        }));
+    }
+
+    @Test
+    void sameUploadIdFromDifferentUsersIsKeptApart() {
+        publisher.progress("alice", "u1", "a.png", 10, 100);
+        publisher.progress("bob", "u1", "b.png", 20, 200);
+
+        publisher.flush();
+
+        assertThat(sent).hasSize(2);
+        assertThat(sent).extracting(message -> destination(message) + ":" + event(message).getFileName())
+                .containsExactlyInAnyOrder("/user/alice/queue/uploads:a.png", "/user/bob/queue/uploads:b.png");
+    }
+
+    @Test
+    void noProgressAfterTerminalEvent() {
+        publisher.progress("alice", "u1", "a.png", 10, 100);
+        publisher.stored("alice", "u1", "a.png", "alice/img/a.png", 100);
+        // 종료 이벤트 뒤에 늦게 도착한 진행률
+        publisher.progress("alice", "u1", "a.png", 100, 100);
+
+        publisher.flush();
+        publisher.flush();
+
+        assertThat(sent).extracting(message -> event(message).getStatus())
+                .containsExactly(UploadProgressEvent.Status.STORED);
+    }
+
+    @Test
+    void moderationDoesNotEndTheUpload() {
+        publisher.moderated("alice", "u1", "a.png", "SAFE");
+        publisher.progress("alice", "u1", "a.png", 50, 100);
+
+        publisher.flush();
+
+        assertThat(sent).extracting(message -> event(message).getStatus())
+                .containsExactly(UploadProgressEvent.Status.MODERATED, UploadProgressEvent.Status.RECEIVING);
+    }
+
+    private static String destination(Message<?> message) {
+        return SimpMessageHeaderAccessor.getDestination(message.getHeaders());
+    }
+
+    private static UploadProgressEvent event(Message<?> message) {
+        return (UploadProgressEvent) message.getPayload();
+    }
+}